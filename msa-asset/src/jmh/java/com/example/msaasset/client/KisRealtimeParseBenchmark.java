@@ -0,0 +1,62 @@
+package com.example.msaasset.client;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KIS 실시간 체결 파이프 프레임 파싱 (KisWebSocketClient.onMessage -> KisRealtimeParser)
+ * - records: 프레임당 체결 건수 (KIS는 체결이 몰리면 여러 건을 한 프레임으로 보냄)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KisRealtimeParseBenchmark {
+
+    @Param({"1", "4"})
+    public int records;
+
+    private final KisRealtimeParser parser = new KisRealtimeParser();
+    private String domesticFrame;
+    private String foreignFrame;
+
+    @Setup
+    public void setUp() {
+        domesticFrame = frame(KisRealtimeParser.TR_DOMESTIC, KisRealtimeParser.DOMESTIC_FIELD_COUNT,
+                new String[]{"005930", "093354", "71900", "5", "-100", "-0.14", "72023.83", "72100", "72400", "71700",
+                        "71900", "71800", "1", "3052507"});
+        foreignFrame = frame(KisRealtimeParser.TR_FOREIGN, KisRealtimeParser.FOREIGN_FIELD_COUNT,
+                new String[]{"DNASAAPL", "AAPL", "4", "20250228", "20250228", "231502", "20250301", "131502", "180.1000",
+                        "182.5000", "179.8000", "181.3500", "2", "1.2500", "0.69", "181.3400", "181.3600", "120", "300",
+                        "15", "51234567", "9282736455"});
+    }
+
+    @Benchmark
+    public int domestic(Blackhole blackhole) {
+        return parser.parse(domesticFrame, (trId, symbol, price, high, low, changeRate, volume, exchangeTimestamp) -> {
+            blackhole.consume(symbol);
+            blackhole.consume(price + changeRate + volume);
+        });
+    }
+
+    @Benchmark
+    public int foreign(Blackhole blackhole) {
+        return parser.parse(foreignFrame, (trId, symbol, price, high, low, changeRate, volume, exchangeTimestamp) -> {
+            blackhole.consume(symbol);
+            blackhole.consume(price + changeRate + volume);
+        });
+    }
+
+    // "0|TR|건수|f1^f2^..." (값이 없는 필드는 0으로 채움)
+    private String frame(String trId, int fieldCount, String[] leading) {
+        StringJoiner fields = new StringJoiner("^");
+        for (int r = 0; r < records; r++) {
+            for (int i = 0; i < fieldCount; i++) {
+                fields.add(i < leading.length ? leading[i] : "0");
+            }
+        }
+        return "0|" + trId + "|" + String.format("%03d", records) + "|" + fields;
+    }
+}
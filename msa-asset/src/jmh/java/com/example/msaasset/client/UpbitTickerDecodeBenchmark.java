@@ -0,0 +1,50 @@
+package com.example.msaasset.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업비트 ticker 프레임 디코딩 (UpbitClient.onMessage 경로)
+ * - streaming: 현재 UpbitTickerDecoder (필요한 필드만, 재사용 ticker)
+ * - jacksonTree: 기준값, UTF-8 문자열 변환 + readTree
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UpbitTickerDecodeBenchmark {
+
+    private static final byte[] FRAME = ("{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"opening_price\":141830000.0,"
+            + "\"high_price\":142900000.0,\"low_price\":141000000.0,\"trade_price\":142335000.0,"
+            + "\"prev_closing_price\":141830000.00000000,\"acc_trade_price\":98234521234.12345,"
+            + "\"change\":\"RISE\",\"change_price\":505000.00000000,\"signed_change_price\":505000.0,"
+            + "\"change_rate\":0.0035606008,\"signed_change_rate\":0.0035606008,\"ask_bid\":\"BID\","
+            + "\"trade_volume\":0.00021,\"acc_trade_volume\":692.61290133,\"trade_date\":\"20250301\","
+            + "\"trade_time\":\"051502\",\"trade_timestamp\":1740806102120,\"acc_ask_volume\":350.1,"
+            + "\"acc_bid_volume\":342.5,\"highest_52_week_price\":163325000.0,\"highest_52_week_date\":\"2025-01-20\","
+            + "\"lowest_52_week_price\":72100000.0,\"lowest_52_week_date\":\"2024-03-05\",\"market_state\":\"ACTIVE\","
+            + "\"is_trading_suspended\":false,\"delisting_date\":null,\"market_warning\":\"NONE\","
+            + "\"timestamp\":1740806102160,\"acc_trade_price_24h\":204511938393.05,\"acc_trade_volume_24h\":1440.9,"
+            + "\"stream_type\":\"REALTIME\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final UpbitTickerDecoder decoder = new UpbitTickerDecoder();
+    private final UpbitTicker ticker = new UpbitTicker();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public double streaming() throws IOException {
+        decoder.decode(ByteBuffer.wrap(FRAME), ticker);
+        return ticker.getTradePrice() + ticker.getSignedChangeRate();
+    }
+
+    @Benchmark
+    public double jacksonTree() throws IOException {
+        JsonNode data = objectMapper.readTree(StandardCharsets.UTF_8.decode(ByteBuffer.wrap(FRAME)).toString());
+        return data.get("trade_price").asDouble() + data.get("signed_change_rate").asDouble();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.entity.TargetPrice;
+import com.example.msaasset.entity.TargetPriceCondition;
+import com.example.msaasset.entity.TargetPriceKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 틱 한 건에 대한 목표 가격 매칭 (TargetPriceIndex.match)
+ * - targets: 전체 목표 수, SYMBOLS개 종목에 고르게 분포
+ * - ABOVE는 현재가 위, BELOW는 아래 (아직 도달 안 한 목표) + 틱 가격은 기준가 ±0.5% 안에서 움직여 일부만 도달
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TargetPriceMatchBenchmark {
+
+    private static final int SYMBOLS = 100;
+    private static final double BASE_PRICE = 100_000;
+    private static final int TICKS = 1 << 16;
+
+    @Param({"1000", "10000", "100000"})
+    public int targets;
+
+    private final TargetPriceIndex index = new TargetPriceIndex();
+    private final String[] symbols = new String[SYMBOLS];
+    private final int[] tickSymbols = new int[TICKS];
+    private final double[] tickPrices = new double[TICKS];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int s = 0; s < SYMBOLS; s++) {
+            symbols[s] = String.format("%06d", s);
+        }
+
+        List<TargetPrice> rules = new ArrayList<>(targets);
+        for (int i = 0; i < targets; i++) {
+            boolean above = random.nextBoolean();
+            double distance = random.nextDouble(0.001, 0.2);
+            double price = above ? BASE_PRICE * (1 + distance) : BASE_PRICE * (1 - distance);
+            rules.add(new TargetPrice(new TargetPriceKey("user" + i + "@example.com", symbols[i % SYMBOLS]),
+                    price, above ? TargetPriceCondition.ABOVE : TargetPriceCondition.BELOW, "ACTIVE"));
+        }
+        index.rebuild(rules);
+
+        for (int t = 0; t < TICKS; t++) {
+            tickSymbols[t] = random.nextInt(SYMBOLS);
+            tickPrices[t] = BASE_PRICE * (1 + random.nextDouble(-0.005, 0.005));
+        }
+    }
+
+    @Benchmark
+    public int match(Blackhole blackhole) {
+        int t = cursor++ & (TICKS - 1);
+        return index.match(symbols[tickSymbols[t]], tickPrices[t],
+                (userEmail, targetPrice, condition) -> blackhole.consume(userEmail));
+    }
+}
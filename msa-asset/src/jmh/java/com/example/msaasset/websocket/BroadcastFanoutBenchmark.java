@@ -0,0 +1,86 @@
+package com.example.msaasset.websocket;
+
+import com.example.msaasset.feed.SymbolIds;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.service.LivePriceRegistry;
+import com.example.msaasset.service.PriceTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 종목 가격 업데이트를 구독 세션 N개에 전달 (StockPriceWebSocketHandler.broadcastStockPriceUpdate)
+ * - 송신 작업을 호출 스레드에서 바로 실행해, 버퍼 적재 + 직렬화 + 세션 전송까지 한 번에 측정
+ * - protocol: json(단건 price_update, 직렬화 1회 공유) / binary(세션별 차분 인코딩)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BroadcastFanoutBenchmark {
+
+    private static final String SYMBOL = "KRW-BTC";
+
+    @Param({"1", "100", "1000"})
+    public int sessions;
+
+    @Param({"json", "binary"})
+    public String protocol;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HotPathLogs hotPathLogs = new HotPathLogs(new StandardEnvironment());
+    private final List<BenchWebSocketSession> openSessions = new ArrayList<>();
+    private StockPriceWebSocketHandler handler;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new StockPriceWebSocketHandler(objectMapper, new LivePriceRegistry(new PriceTable(new SymbolIds(), false)), new InlineSender(), meterRegistry, hotPathLogs);
+        handler.init();
+        String acceptedProtocol = "binary".equals(protocol) ? BinaryPriceEncoder.SUBPROTOCOL : null;
+        TextMessage subscribe = new TextMessage("{\"type\":\"subscribe\",\"symbol\":\"" + SYMBOL + "\"}");
+        for (int i = 0; i < sessions; i++) {
+            BenchWebSocketSession session = new BenchWebSocketSession("bench-" + i, acceptedProtocol);
+            handler.afterConnectionEstablished(session);
+            handler.handleTextMessage(session, subscribe);
+            openSessions.add(session);
+        }
+    }
+
+    // 핸들러의 세션/구독 맵이 static이라 다음 파라미터 조합 전에 비움
+    @TearDown
+    public void tearDown() {
+        for (BenchWebSocketSession session : openSessions) {
+            handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        }
+        openSessions.clear();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        handler.broadcastStockPriceUpdate(SYMBOL, 142_335_000.0 + (sequence++ & 1023), 0.0035606008);
+    }
+
+    // 송신 풀 대신 호출 스레드에서 바로 전송하는 버퍼
+    private final class InlineSender extends SessionOutboundSender {
+
+        InlineSender() {
+            super(meterRegistry, objectMapper, hotPathLogs);
+        }
+
+        @Override
+        SessionOutbox open(WebSocketSession session) {
+            return new SessionOutbox(session, Runnable::run, null, objectMapper, 256,
+                    OverflowPolicy.DROP_OLDEST, meterRegistry, hotPathLogs.category("broadcast", "updates"));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.msaasset.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가격 업데이트 직렬화 (세션 송신 작업에서 하는 일)
+ * - json: 단건 price_update 메시지 (업데이트마다 새 PriceUpdate -> 첫 세션에서 한 번 직렬화)
+ * - binary: 바이너리 세션 프레임 하나에 batch건 인코딩 (세션별 차분 인코딩)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PriceUpdateSerializeBenchmark {
+
+    @Param({"1", "50"})
+    public int batch;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryPriceEncoder encoder = new BinaryPriceEncoder();
+    private final List<PriceUpdate> updates = new ArrayList<>();
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < batch; i++) {
+            String symbol = "KRW-C" + i;
+            encoder.assignId(symbol);
+            updates.add(new PriceUpdate(symbol, 142_335_000.0 + i, 0.0035606008));
+        }
+    }
+
+    @Benchmark
+    public TextMessage json() throws JsonProcessingException {
+        return new PriceUpdate("KRW-BTC", 142_335_000.0 + (sequence++ & 1023), 0.0035606008).toTextMessage(objectMapper);
+    }
+
+    @Benchmark
+    public BinaryMessage binary() {
+        // 값이 매번 바뀌어야 차분이 0이 되지 않음
+        long step = sequence++ & 1023;
+        for (int i = 0; i < updates.size(); i++) {
+            PriceUpdate previous = updates.get(i);
+            updates.set(i, new PriceUpdate(previous.symbol, 142_335_000.0 + i + step, previous.changeRate));
+        }
+        return encoder.encode(updates);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.msaasset.client;
+
+/**
+ * 문자 구간을 String 생성 없이 double로 변환하는 파서 (실시간 시세 프레임용)
+ * - 유효숫자 15자리 이하 + 10의 22승 이내 지수는 정확히 변환 (Double.parseDouble과 동일 결과)
+ * - 그 외(매우 긴 숫자, 큰 지수)는 Double.parseDouble로 위임
+ */
+final class DecimalParser {
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private DecimalParser() {
+    }
+
+    static double parse(char[] buf, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        if (i >= end) {
+            throw new NumberFormatException("empty number");
+        }
+
+        boolean negative = false;
+        if (buf[i] == '-' || buf[i] == '+') {
+            negative = buf[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+
+        for (; i < end; i++) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // 선행 0은 유효숫자에 포함하지 않음
+                    if (seenDot) exponent--;
+                    continue;
+                }
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (seenDot) exponent--;
+                } else if (!seenDot) {
+                    exponent++;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if ((c == 'e' || c == 'E') && seenDigit) {
+                exponent += parseExponent(buf, i + 1, end);
+                i = end;
+                break;
+            } else {
+                throw new NumberFormatException(new String(buf, offset, length));
+            }
+        }
+
+        if (!seenDigit) {
+            throw new NumberFormatException(new String(buf, offset, length));
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (mantissa < MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+        } else {
+            return Double.parseDouble(new String(buf, offset, length));
+        }
+        return negative ? -value : value;
+    }
+
+    private static int parseExponent(char[] buf, int i, int end) {
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i >= end) {
+            throw new NumberFormatException("empty exponent");
+        }
+        int exponent = 0;
+        for (; i < end; i++) {
+            char c = buf[i];
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("invalid exponent");
+            }
+            exponent = Math.min(exponent * 10 + (c - '0'), 9999);
+        }
+        return negative ? -exponent : exponent;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.msaasset.client;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * KIS 실시간 체결 메시지 파서 ("0|TR_ID|건수|f1^f2^...")
+ * - split/정규식 없이 인덱스 스캔으로 필요한 필드(종목, 현재가, 고가, 저가, 등락률, 누적거래량, 체결 시각)만 변환
+ * - 체결 시각은 한국 시간 기준 epoch ms로 변환 (국내는 체결 시각만 오므로 현재 KST 날짜와 합침), 없거나 형식이 다르면 0
+ * - 건수가 2 이상인 프레임(여러 체결이 한 메시지에 묶여 옴)도 레코드 단위로 모두 처리
+ * - 인스턴스는 스레드 안전하지 않음 (KIS WebSocket 수신 스레드 하나에서만 사용)
+ */
+public final class KisRealtimeParser {
+
+    public static final String TR_DOMESTIC = "H0STCNT0"; // 국내주식 실시간체결가
+    public static final String TR_FOREIGN = "HDFSCNT0";  // 해외주식 실시간지연체결가
+
+    // TR별 레코드당 필드 수 (KIS 문서 기준, 실제 프레임 필드 수로 나누어 떨어지지 않을 때 사용)
+    static final int DOMESTIC_FIELD_COUNT = 46;
+    static final int FOREIGN_FIELD_COUNT = 26;
+
+    // 국내(H0STCNT0) 필드 위치
+    private static final int DOMESTIC_SYMBOL = 0;   // MKSC_SHRN_ISCD
+    private static final int DOMESTIC_TIME = 1;     // STCK_CNTG_HOUR (HHmmss, KST)
+    private static final int DOMESTIC_PRICE = 2;    // STCK_PRPR
+    private static final int DOMESTIC_RATE = 5;     // PRDY_CTRT
+    private static final int DOMESTIC_HIGH = 8;     // STCK_HGPR
+    private static final int DOMESTIC_LOW = 9;      // STCK_LWPR
+    private static final int DOMESTIC_VOLUME = 13;  // ACML_VOL
+
+    // 해외(HDFSCNT0) 필드 위치
+    private static final int FOREIGN_SYMBOL = 1;    // SYMB
+    private static final int FOREIGN_DATE = 6;      // KYMD (yyyyMMdd, 한국 일자)
+    private static final int FOREIGN_TIME = 7;      // KHMS (HHmmss, 한국 시간)
+    private static final int FOREIGN_HIGH = 9;      // HIGH
+    private static final int FOREIGN_LOW = 10;      // LOW
+    private static final int FOREIGN_PRICE = 11;    // LAST
+    private static final int FOREIGN_RATE = 14;     // RATE
+    private static final int FOREIGN_VOLUME = 20;   // TVOL
+
+    // 체결 레코드 한 건씩 전달받는 콜백
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(String trId, String symbol, double price, double high, double low, double changeRate, double volume,
+                      long exchangeTimestamp);
+    }
+
+    private static final long KST_OFFSET_MS = 9 * 3_600_000L;
+    private static final long DAY_MS = 86_400_000L;
+
+    private final SymbolCache symbolCache = new SymbolCache(1024);
+    private final char[] scratch = new char[64];
+
+    // 마지막으로 변환한 해외 체결 일자 (yyyyMMdd) -> 그날 KST 자정 epoch ms (날짜가 바뀔 때만 다시 계산)
+    private int cachedDate = -1;
+    private long cachedDateMillis;
+
+    /**
+     * @return 처리한 레코드 수, 실시간 체결 형식이 아니면 -1
+     */
+    public int parse(String message, RecordHandler handler) {
+        return parse(message, handler, System.currentTimeMillis());
+    }
+
+    // now: 국내 체결 시각에 붙일 KST 날짜 기준 시각
+    int parse(String message, RecordHandler handler, long now) {
+        // 0: 평문, 1: 암호화(체결통보 등, 미지원)
+        if (message.length() < 4 || message.charAt(0) != '0' || message.charAt(1) != '|') {
+            return -1;
+        }
+
+        int trEnd = message.indexOf('|', 2);
+        if (trEnd < 0) return -1;
+
+        String trId;
+        if (message.startsWith(TR_DOMESTIC, 2) && trEnd == 2 + TR_DOMESTIC.length()) {
+            trId = TR_DOMESTIC;
+        } else if (message.startsWith(TR_FOREIGN, 2) && trEnd == 2 + TR_FOREIGN.length()) {
+            trId = TR_FOREIGN;
+        } else {
+            return -1;
+        }
+
+        int countEnd = message.indexOf('|', trEnd + 1);
+        if (countEnd < 0) return -1;
+        int count = parseCount(message, trEnd + 1, countEnd);
+        if (count <= 0) return -1;
+
+        int dataStart = countEnd + 1;
+        int dataEnd = message.length();
+        int fieldsPerRecord = fieldsPerRecord(message, dataStart, dataEnd, count,
+                trId == TR_DOMESTIC ? DOMESTIC_FIELD_COUNT : FOREIGN_FIELD_COUNT);
+
+        return trId == TR_DOMESTIC
+                ? parseRecords(message, dataStart, dataEnd, count, fieldsPerRecord, trId,
+                DOMESTIC_SYMBOL, DOMESTIC_PRICE, DOMESTIC_HIGH, DOMESTIC_LOW, DOMESTIC_RATE, DOMESTIC_VOLUME,
+                -1, DOMESTIC_TIME, now, handler)
+                : parseRecords(message, dataStart, dataEnd, count, fieldsPerRecord, trId,
+                FOREIGN_SYMBOL, FOREIGN_PRICE, FOREIGN_HIGH, FOREIGN_LOW, FOREIGN_RATE, FOREIGN_VOLUME,
+                FOREIGN_DATE, FOREIGN_TIME, now, handler);
+    }
+
+    /**
+     * 해외 체결 KYMD/KHMS (JSON 수신 경로용)
+     * @return KST 기준 epoch ms, 형식이 다르면 0
+     */
+    public long foreignTimestamp(String kymd, String khms) {
+        if (kymd == null || khms == null) return 0L;
+        int date = digits(kymd, 0, kymd.length());
+        return date < 0 ? 0L : timestamp(date, digits(khms, 0, khms.length()), 0L);
+    }
+
+    private int parseRecords(String message, int start, int end, int count, int fieldsPerRecord, String trId,
+                             int symbolIdx, int priceIdx, int highIdx, int lowIdx, int rateIdx, int volumeIdx,
+                             int dateIdx, int timeIdx, long now, RecordHandler handler) {
+        int lastRequired = Math.max(Math.max(symbolIdx, priceIdx), Math.max(Math.max(highIdx, lowIdx), rateIdx));
+        if (fieldsPerRecord <= lastRequired) {
+            return 0;
+        }
+
+        int emitted = 0;
+        int fieldStart = start;
+        int fieldIdx = 0;
+
+        String symbol = null;
+        double price = 0, high = 0, low = 0, rate = 0, volume = 0;
+        int date = -1, time = -1;
+
+        for (int record = 0; record < count && fieldStart <= end; ) {
+            int fieldEnd = message.indexOf('^', fieldStart);
+            if (fieldEnd < 0) fieldEnd = end;
+
+            if (fieldIdx == symbolIdx) {
+                symbol = symbol(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == priceIdx) {
+                price = number(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == highIdx) {
+                high = number(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == lowIdx) {
+                low = number(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == rateIdx) {
+                rate = number(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == volumeIdx) {
+                volume = number(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == dateIdx) {
+                date = digits(message, fieldStart, fieldEnd);
+            } else if (fieldIdx == timeIdx) {
+                time = digits(message, fieldStart, fieldEnd);
+            }
+
+            fieldIdx++;
+            boolean lastField = fieldEnd == end;
+            if (fieldIdx == fieldsPerRecord || lastField) {
+                if (fieldIdx > lastRequired && symbol != null && !symbol.isEmpty()) {
+                    long exchangeTimestamp = dateIdx >= 0 && date < 0 ? 0L : timestamp(date, time, now);
+                    handler.onRecord(trId, symbol, price, high, low, rate, volume, exchangeTimestamp);
+                    emitted++;
+                }
+                record++;
+                fieldIdx = 0;
+                symbol = null;
+                price = high = low = rate = volume = 0;
+                date = time = -1;
+            }
+            if (lastField) break;
+            fieldStart = fieldEnd + 1;
+        }
+        return emitted;
+    }
+
+    // 실제 필드 수가 건수로 나누어 떨어지면 그 값을, 아니면 문서상 필드 수 사용
+    private static int fieldsPerRecord(String message, int start, int end, int count, int documented) {
+        if (count == 1) {
+            return Integer.MAX_VALUE;
+        }
+        int fields = 1;
+        for (int i = start; i < end; i++) {
+            if (message.charAt(i) == '^') fields++;
+        }
+        return fields % count == 0 ? fields / count : documented;
+    }
+
+    // 체결 일자(yyyyMMdd, -1이면 now의 KST 날짜) + 시각(HHmmss) -> epoch ms, 형식이 다르면 0
+    private long timestamp(int date, int time, long now) {
+        int hour = time / 10000, minute = time / 100 % 100, second = time % 100;
+        if (time < 0 || hour > 23 || minute > 59 || second > 59) return 0L;
+        long timeOfDay = hour * 3_600_000L + minute * 60_000L + second * 1000L;
+
+        if (date < 0) {
+            long dayStart = Math.floorDiv(now + KST_OFFSET_MS, DAY_MS) * DAY_MS - KST_OFFSET_MS;
+            long at = dayStart + timeOfDay;
+            // 자정 직전 체결이 자정 후에 도착하면 전날 체결
+            return at > now + 3_600_000L ? at - DAY_MS : at;
+        }
+        if (date != cachedDate) {
+            try {
+                cachedDateMillis = LocalDate.of(date / 10000, date / 100 % 100, date % 100).toEpochDay() * DAY_MS - KST_OFFSET_MS;
+            } catch (DateTimeException e) {
+                return 0L;
+            }
+            cachedDate = date;
+        }
+        return cachedDateMillis + timeOfDay;
+    }
+
+    // 숫자만 있는 필드 (최대 9자리), 비었거나 숫자가 아니면 -1
+    private static int digits(String message, int start, int end) {
+        if (end <= start || end - start > 9) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int parseCount(String message, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            count = count * 10 + (c - '0');
+        }
+        return count;
+    }
+
+    private String symbol(String message, int start, int end) {
+        int length = Math.min(end - start, scratch.length);
+        message.getChars(start, start + length, scratch, 0);
+        return symbolCache.get(scratch, 0, length);
+    }
+
+    // 빈 값/숫자 아닌 값은 0.0 (기존 parseDoubleSafe 동작 유지)
+    private double number(String message, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > scratch.length) {
+            return 0.0;
+        }
+        message.getChars(start, end, scratch, 0);
+        try {
+            return DecimalParser.parse(scratch, 0, length);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.msaasset.client;
+
+import com.example.msaasset.config.AssetRole;
+import com.example.msaasset.dto.MarketDataDTO;
+import com.example.msaasset.feed.TickSource;
+import com.example.msaasset.repository.StockRepository;
+import com.example.msaasset.repository.WatchListRepository;
+import com.example.msaasset.service.IngestMetrics;
+import com.example.msaasset.service.RemoteSubscriberSource;
+import com.example.msaasset.service.TargetPriceIndex;
+import com.example.msaasset.websocket.StockPriceWebSocketHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KIS 실시간 등록 슬롯 스케줄러
+ * - KIS WebSocket은 세션당 실시간 등록 수가 제한되어 있어, 수요가 있는 종목에만 슬롯을 배정
+ * - 수요 점수 = (WebSocket 구독자 x3 + 목표 가격 x2 + 관심 종목 x1) x (1 + 변동성 가중치), 장이 열린 종목만
+ * - WebSocket 구독자는 이 노드의 세션 + edge 노드들이 보고한 세션 수 합 (ingest/edge 분리 구성)
+ * - 이미 슬롯을 가진 종목은 가산점을 받아 점수가 비슷할 때 잦은 교체를 막음
+ * - 슬롯을 못 받은 수요 종목은 데이터가 오래된 순으로 REST 조회로 보완
+ * - 등록/해제 요청과 REST 조회는 전용 스레드(kis-slot-worker)에서 요청 간격을 지연 작업으로 두고 실행
+ *   (공용 @Scheduled 스레드를 재우거나 REST 응답을 기다리며 붙잡지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisSlotScheduler {
+
+    private static final String CHURN_METRIC = "kis.slots.churn";
+
+    private final KisWebSocketClient kisWebSocketClient;
+    private final KisWebSocketService kisWebSocketService;
+    private final KisClient kisClient;
+    private final StockRepository stockRepository;
+    private final WatchListRepository watchListRepository;
+    private final TargetPriceIndex targetPriceIndex;
+    private final StockPriceWebSocketHandler stockPriceWebSocketHandler;
+    private final MeterRegistry meterRegistry;
+    private final IngestMetrics ingestMetrics;
+    private final AssetRole assetRole;
+    private final ObjectProvider<RemoteSubscriberSource> remoteSubscribers;
+
+    @Value("${kis.realtime.max-slots:40}")
+    private int maxSlots;
+
+    // 기존 슬롯 보유 종목 점수 가산 비율 (1.2 = 20%)
+    @Value("${kis.realtime.incumbent-bonus:1.2}")
+    private double incumbentBonus;
+
+    // 한 번의 재배정에서 보낼 최대 등록/해제 요청 수
+    @Value("${kis.realtime.max-changes-per-cycle:10}")
+    private int maxChangesPerCycle;
+
+    @Value("${kis.realtime.request-interval-ms:100}")
+    private long requestIntervalMs;
+
+    @Value("${kis.rest.stale-after-ms:15000}")
+    private long staleAfterMs;
+
+    @Value("${kis.rest.max-per-cycle:10}")
+    private int restMaxPerCycle;
+
+    // 종목 심볼 -> TR_ID (국내/해외 구분, DB 기준)
+    private volatile Map<String, String> universe = Map.of();
+
+    // 종목 심볼 -> 관심 종목 등록 수
+    private volatile Map<String, Integer> watchCounts = Map.of();
+
+    // 현재 실시간 슬롯을 가진 종목 (심볼 -> TR_ID)
+    private final Map<String, String> slotted = new ConcurrentHashMap<>();
+
+    // 마지막 재배정 때 계산한 수요 종목 (점수 내림차순)
+    private volatile List<String> demanded = List.of();
+
+    // 슬롯 상태를 맞춘 연결 세대 번호 (worker 스레드에서만 접근)
+    private int slottedEpoch = -1;
+
+    // 이전 재배정의 등록/해제, 이전 REST 보조 조회가 아직 진행 중인지 (worker 스레드에서만 접근)
+    private boolean slotChangesPending;
+    private boolean pollPending;
+
+    private ScheduledExecutorService worker;
+
+    private Counter restSuccessCounter;
+    private Counter restFailureCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("kis.slots.used", slotted, Map::size)
+                .description("KIS 실시간 등록 슬롯 사용 수")
+                .register(meterRegistry);
+        Gauge.builder("kis.slots.max", this, scheduler -> scheduler.maxSlots)
+                .description("KIS 실시간 등록 슬롯 최대 수")
+                .register(meterRegistry);
+        restSuccessCounter = Counter.builder("kis.rest.fallback.polls")
+                .tag("result", "success")
+                .register(meterRegistry);
+        restFailureCounter = Counter.builder("kis.rest.fallback.polls")
+                .tag("result", "failure")
+                .register(meterRegistry);
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kis-slot-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * 종목 구분(국내/해외)과 관심 종목 수 갱신 (DB 조회, 1분 주기)
+     */
+    @Scheduled(fixedDelayString = "${kis.realtime.demand-refresh-ms:60000}")
+    public void refreshDemandSources() {
+        if (!assetRole.connectsUpstream()) return;
+        try {
+            Map<String, String> symbols = new HashMap<>();
+            stockRepository.findDomesticStockSymbols().forEach(symbol -> symbols.put(symbol, KisRealtimeParser.TR_DOMESTIC));
+            stockRepository.findForeignStockSymbols().forEach(symbol -> symbols.put(symbol, KisRealtimeParser.TR_FOREIGN));
+
+            Map<String, Integer> counts = new HashMap<>();
+            for (Object[] row : watchListRepository.countBySymbol()) {
+                counts.put((String) row[0], ((Number) row[1]).intValue());
+            }
+
+            universe = symbols;
+            watchCounts = counts;
+            log.debug("📌 KIS 수요 소스 갱신: 종목 {}개, 관심 종목 {}개", symbols.size(), counts.size());
+        } catch (Exception e) {
+            log.error("❌ KIS 수요 소스 갱신 실패", e);
+        }
+    }
+
+    /**
+     * 수요 점수로 상위 종목을 골라 실시간 슬롯 재배정 (worker 스레드에서 실행)
+     */
+    @Scheduled(fixedDelayString = "${kis.realtime.rebalance-interval-ms:10000}", initialDelay = 5000)
+    public void rebalance() {
+        if (!assetRole.connectsUpstream()) return;
+        worker.execute(this::rebalanceSlots);
+    }
+
+    /**
+     * 슬롯이 없는 수요 종목 중 데이터가 오래된 종목을 REST로 조회 (worker 스레드에서 실행)
+     */
+    @Scheduled(fixedDelayString = "${kis.rest.poll-interval-ms:5000}", initialDelay = 10000)
+    public void pollUnslottedSymbols() {
+        if (!assetRole.connectsUpstream()) return;
+        worker.execute(this::pollStaleSymbols);
+    }
+
+    private void rebalanceSlots() {
+        // 이전 재배정의 등록/해제가 끝나기 전에는 새로 계산하지 않음 (같은 종목 중복 등록 방지)
+        if (slotChangesPending) return;
+        if (universe.isEmpty()) {
+            refreshDemandSources();
+        }
+
+        Map<String, Double> scores = computeScores();
+        List<String> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        demanded = ranked;
+
+        if (!kisWebSocketClient.isOpen()) {
+            // 연결이 없으면 모든 수요 종목을 REST 보조 조회가 담당
+            if (!slotted.isEmpty()) {
+                countChurn("reset", slotted.size());
+                slotted.clear();
+            }
+            return;
+        }
+
+        int epoch = kisWebSocketClient.getConnectionEpoch();
+        if (epoch != slottedEpoch) {
+            // 새 연결에는 등록된 종목이 없음
+            if (!slotted.isEmpty()) {
+                countChurn("reset", slotted.size());
+                slotted.clear();
+            }
+            slottedEpoch = epoch;
+        }
+
+        Set<String> target = new LinkedHashSet<>(ranked.subList(0, Math.min(maxSlots, ranked.size())));
+
+        List<String> toRemove = new ArrayList<>();
+        for (String symbol : slotted.keySet()) {
+            if (!target.contains(symbol)) toRemove.add(symbol);
+        }
+        List<String> toAdd = new ArrayList<>();
+        for (String symbol : target) {
+            if (!slotted.containsKey(symbol)) toAdd.add(symbol);
+        }
+        if (toRemove.isEmpty() && toAdd.isEmpty()) {
+            return;
+        }
+
+        String approvalKey = kisWebSocketService.getApprovalKey();
+        int budget = maxChangesPerCycle;
+        int projected = slotted.size();
+        List<Runnable> steps = new ArrayList<>();
+
+        // 해제 먼저 (슬롯 한도 초과 방지)
+        for (String symbol : toRemove) {
+            if (budget-- <= 0) break;
+            projected--;
+            steps.add(() -> {
+                if (kisWebSocketClient.getConnectionEpoch() != epoch) return; // 재연결됨, 다음 재배정에서 다시 계산
+                kisWebSocketClient.unsubscribeStock(approvalKey, slotted.get(symbol), symbol);
+                slotted.remove(symbol);
+                countChurn("unsubscribe", 1);
+            });
+        }
+        for (String symbol : toAdd) {
+            if (budget-- <= 0 || projected >= maxSlots) break;
+            projected++;
+            String trId = universe.get(symbol);
+            steps.add(() -> {
+                if (kisWebSocketClient.getConnectionEpoch() != epoch) return;
+                kisWebSocketClient.subscribeStock(approvalKey, trId, symbol);
+                slotted.put(symbol, trId);
+                countChurn("subscribe", 1);
+            });
+        }
+
+        slotChangesPending = true;
+        runPaced(steps.iterator(), () -> {
+            slotChangesPending = false;
+            log.info("🔄 KIS 실시간 슬롯 재배정: 사용 {}/{}, 수요 종목 {}개, 해제 {}개, 등록 {}개",
+                    slotted.size(), maxSlots, ranked.size(), toRemove.size(), toAdd.size());
+        });
+    }
+
+    private void pollStaleSymbols() {
+        if (pollPending) return;
+        long now = System.currentTimeMillis();
+        List<String> stale = new ArrayList<>();
+        for (String symbol : demanded) {
+            if (slotted.containsKey(symbol)) continue;
+            if (now - lastTickAt(symbol) >= staleAfterMs) stale.add(symbol);
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        // 오래된 순서로 제한 개수만 조회
+        stale.sort(Comparator.comparingLong(this::lastTickAt));
+        List<Runnable> steps = new ArrayList<>();
+        for (String symbol : stale.subList(0, Math.min(restMaxPerCycle, stale.size()))) {
+            steps.add(() -> {
+                try {
+                    MarketDataDTO marketData = KisRealtimeParser.TR_DOMESTIC.equals(universe.get(symbol))
+                            ? kisClient.getDomesticStockPrice(symbol)
+                            : kisClient.getForeignStockPrice(symbol);
+                    ingestMetrics.received(TickSource.KIS_REST);
+                    kisWebSocketClient.processMarketData(marketData, TickSource.KIS_REST);
+                    restSuccessCounter.increment();
+                } catch (Exception e) {
+                    restFailureCounter.increment();
+                    log.warn("⚠ [{}] REST 보조 조회 실패: {}", symbol, e.getMessage());
+                }
+            });
+        }
+        pollPending = true;
+        runPaced(steps.iterator(), () -> pollPending = false);
+    }
+
+    // worker 스레드에서 단계를 하나씩 실행하고, 다음 단계는 requestIntervalMs 뒤 지연 작업으로 예약
+    private void runPaced(Iterator<Runnable> steps, Runnable onDone) {
+        if (steps.hasNext()) {
+            try {
+                steps.next().run();
+            } catch (Exception e) {
+                log.warn("⚠ KIS 슬롯 작업 실패: {}", e.getMessage());
+            }
+        }
+        if (steps.hasNext()) {
+            worker.schedule(() -> runPaced(steps, onDone), requestIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            onDone.run();
+        }
+    }
+
+    public Set<String> getSlottedSymbols() {
+        return Collections.unmodifiableSet(slotted.keySet());
+    }
+
+    // 장이 열린 종목만 수요 점수 계산
+    private Map<String, Double> computeScores() {
+        boolean domesticOpen = kisClient.isDomesticMarketOpen();
+        boolean usOpen = kisClient.isUSMarketOpen();
+
+        Map<String, Integer> subscribers = new HashMap<>();
+        for (String symbol : stockPriceWebSocketHandler.getSubscribedSymbols()) {
+            subscribers.merge(symbol, stockPriceWebSocketHandler.getSubscriberCount(symbol), Integer::sum);
+        }
+        remoteSubscribers.forEach(source -> source.subscriberCounts().forEach((symbol, count) -> subscribers.merge(symbol, count, Integer::sum)));
+
+        Set<String> candidates = new HashSet<>(subscribers.keySet());
+        candidates.addAll(targetPriceIndex.symbols());
+        candidates.addAll(watchCounts.keySet());
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String symbol : candidates) {
+            String trId = universe.get(symbol);
+            if (trId == null) continue; // 업비트 등 KIS 대상 아님
+            boolean open = KisRealtimeParser.TR_DOMESTIC.equals(trId) ? domesticOpen : usOpen;
+            if (!open) continue;
+
+            int demand = 3 * subscribers.getOrDefault(symbol, 0)
+                    + 2 * targetPriceIndex.count(symbol)
+                    + watchCounts.getOrDefault(symbol, 0);
+            if (demand <= 0) continue;
+
+            KisWebSocketClient.SymbolFeedState state = kisWebSocketClient.getFeedState(symbol);
+            double volatility = state != null ? Math.min(Math.abs(state.getChangeRate()), 10.0) : 0.0;
+            double score = demand * (1.0 + volatility / 5.0);
+            if (slotted.containsKey(symbol)) {
+                score *= incumbentBonus;
+            }
+            scores.put(symbol, score);
+        }
+        return scores;
+    }
+
+    private long lastTickAt(String symbol) {
+        KisWebSocketClient.SymbolFeedState state = kisWebSocketClient.getFeedState(symbol);
+        return state != null ? state.getLastTickAt() : 0L;
+    }
+
+    private void countChurn(String action, int amount) {
+        meterRegistry.counter(CHURN_METRIC, "action", action).increment(amount);
+    }
+}
@@ -1,132 +1,95 @@
 package com.example.msaasset.client;
 
+import com.example.msaasset.config.AssetRole;
 import com.example.msaasset.dto.MarketDataDTO;
-import com.example.msaasset.entity.TargetPriceCondition;
-import com.example.msaasset.kafka.KafkaProducer;
+import com.example.msaasset.feed.FeedAdapter;
+import com.example.msaasset.feed.Tick;
+import com.example.msaasset.feed.TickPipeline;
+import com.example.msaasset.feed.TickSource;
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
 import com.example.msaasset.repository.StockRepository;
+import com.example.msaasset.service.IngestMetrics;
 import com.example.msaasset.service.StockService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.util.*;
-import java.util.concurrent.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
-public class KisWebSocketClient extends WebSocketClient {
-    private static final String REAL_URL = "ws://ops.koreainvestment.com:21000";
-    private final KafkaProducer kafkaProducerClient;
+public class KisWebSocketClient extends WebSocketClient implements FeedAdapter {
     private final KisWebSocketService kisWebSocketService;
     private final StockService stockService;
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Queue<String> subscriptionQueue = new LinkedList<>();
     private final StockRepository stockRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TickPipeline tickPipeline;
+    private final IngestMetrics ingestMetrics;
+    // 틱마다 지나가는 경로 로그 (샘플링 + 종목별 출력 제한 + 주기 요약)
+    private final HotPathLog hotLog;
+
+    // 수신 스레드 전용 실시간 데이터 파서
+    private final KisRealtimeParser realtimeParser = new KisRealtimeParser();
+    private final KisRealtimeParser.RecordHandler realtimeRecordHandler = this::onRealtimeRecord;
+    // 수신 스레드 전용 재사용 틱 (REST 보조 조회/리플레이는 호출마다 새 틱)
+    private final Tick tick = new Tick();
+
+    // 연결 세대 번호 (onOpen마다 증가) + 종목별 마지막 수신 상태
+    private final AtomicInteger connectionEpoch = new AtomicInteger();
+    private final Map<String, SymbolFeedState> feedStates = new ConcurrentHashMap<>();
 
     @Autowired
-    public KisWebSocketClient(KafkaProducer kafkaProducerClient, KisWebSocketService kisWebSocketService, StockService stockService, StockRepository stockRepository, RedisTemplate<String,Object> redisTemplate, KafkaTemplate<String, String> kafkaTemplate) throws Exception {
-        super(new URI(REAL_URL));
-        this.kafkaProducerClient = kafkaProducerClient;
+    public KisWebSocketClient(KisWebSocketService kisWebSocketService, StockService stockService, StockRepository stockRepository, TickPipeline tickPipeline, AssetRole assetRole, IngestMetrics ingestMetrics, HotPathLogs hotPathLogs,
+                              @Value("${kis.websocket-url:ws://ops.koreainvestment.com:21000}") String websocketUrl) throws Exception {
+        super(new URI(websocketUrl));
         this.kisWebSocketService = kisWebSocketService;
         this.stockService = stockService;
         this.stockRepository = stockRepository;
-        this.redisTemplate = redisTemplate;
-        this.kafkaTemplate = kafkaTemplate;
-        connectBlocking(); // WebSocket 연결
+        this.tickPipeline = tickPipeline;
+        this.ingestMetrics = ingestMetrics;
+        this.hotLog = hotPathLogs.category("kis", "ticks");
+        if (assetRole.connectsUpstream()) {
+            connectBlocking(); // WebSocket 연결
+        } else {
+            log.info("⏸ 업스트림 연결 안 함 ({}) - KIS WebSocket 연결 생략", assetRole.getRole());
+        }
     }
 
     @Override
-    public void onOpen(ServerHandshake handshake) {
-        log.info("✅ WebSocket 연결 성공!");
-        String approvalKey = kisWebSocketService.getApprovalKey(); // API 접근 키 발급
-
-        //  DB에서 직접 종목 조회
-        List<String> domesticStocks = stockRepository.findDomesticStockSymbols();
-        List<String> foreignStocks = stockRepository.findForeignStockSymbols();
-
-        log.info("📌 국내 주식 개수: {}", domesticStocks.size());
-        log.info("📌 해외 주식 개수: {}", foreignStocks.size());
-
-        startSubscriptionCycle(approvalKey, domesticStocks, "H0STCNT0"); // 국내 주식 (0.5초 주기)
-        startSubscriptionCycle(approvalKey, foreignStocks, "HDFSCNT0"); // 해외 주식 (0.5초 주기)
+    public String feedName() {
+        return "kis";
     }
 
+    @Override
+    public boolean isConnected() {
+        return isOpen();
+    }
 
-    private final Set<String> processedDomesticStocks = new HashSet<>();
-    private final Set<String> processedForeignStocks = new HashSet<>();
-
-    // KisWebSocketClient.java의 startSubscriptionCycle 메서드 수정
-    private void startSubscriptionCycle(String approvalKey, List<String> stockList, String trId) {
-        // 배치 크기를 더 작게 조정
-        int batchSize = 3; // 한 번에 처리할 종목 수
-
-        // 종목 리스트를 batchSize 크기의 배치로 분할
-        List<List<String>> batches = new ArrayList<>();
-        for (int i = 0; i < stockList.size(); i += batchSize) {
-            batches.add(new ArrayList<>(stockList.subList(i, Math.min(i + batchSize, stockList.size()))));
-        }
-
-        // 현재 구독 중인 종목 추적
-        Set<String> currentSubscriptions = ConcurrentHashMap.newKeySet();
-
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        AtomicInteger batchIndex = new AtomicInteger(0);
-
-        scheduler.scheduleAtFixedRate(() -> {
-            int currentIndex = batchIndex.getAndIncrement() % batches.size();
-            List<String> currentBatch = batches.get(currentIndex);
-
-            log.info("🔄 [{}] 배치 {}/{} 주식 구독 순환 시작", trId, currentIndex + 1, batches.size());
-
-            // 이전 배치 구독 해제
-            for (String symbol : new ArrayList<>(currentSubscriptions)) {
-                unsubscribeStock(approvalKey, trId, symbol);
-                currentSubscriptions.remove(symbol);
-
-                // 각 해제 요청 사이에 짧은 지연 추가
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-
-            // 해제 후 약간의 지연 추가
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+    @Override
+    public void onOpen(ServerHandshake handshake) {
+        // 재연결 시 서버 측 구독이 모두 사라지므로 세대 번호를 올려 KisSlotScheduler가 다시 등록하도록 함
+        int epoch = connectionEpoch.incrementAndGet();
+        log.info("✅ WebSocket 연결 성공! (연결 세대: {})", epoch);
+    }
 
-            // 새 배치 구독
-            for (String symbol : currentBatch) {
-                if (!currentSubscriptions.contains(symbol)) {
-                    subscribeStock(approvalKey, trId, symbol);
-                    currentSubscriptions.add(symbol);
-
-                    // 각 구독 요청 사이에 짧은 지연 추가
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
+    // 연결(재연결 포함) 세대 번호
+    int getConnectionEpoch() {
+        return connectionEpoch.get();
+    }
 
-            log.info("🔄 [{}] 배치 구독 순환 완료", trId);
-        }, 0, 1500, TimeUnit.MILLISECONDS); // 2초마다 실행 (시간 간격 늘림)
+    // 종목별 마지막 수신 상태 (실시간/REST 공통), 없으면 null
+    SymbolFeedState getFeedState(String symbol) {
+        return feedStates.get(symbol);
     }
 
 
@@ -143,25 +106,33 @@ public class KisWebSocketClient extends WebSocketClient {
     }
 
 
-    private void unsubscribeStock(String approvalKey, String trId, String symbol) {
+    void unsubscribeStock(String approvalKey, String trId, String symbol) {
+        // 구독 때와 동일한 tr_key를 보내야 해제됨 (해외 주식 DNAS 접두어)
+        String formattedSymbol = "HDFSCNT0".equals(trId) ? "DNAS" + symbol : symbol;
+
         String unsubscribeJson = String.format(
                 "{\"header\": {\"approval_key\": \"%s\", \"custtype\": \"P\", \"tr_type\": \"2\", \"content-type\": \"utf-8\"}, \"body\": {\"input\": {\"tr_id\": \"%s\", \"tr_key\": \"%s\"}}}",
-                approvalKey, trId, symbol
+                approvalKey, trId, formattedSymbol
         );
         send(unsubscribeJson);
-        log.info("🚫 [{}] 기존 구독 해제 요청", symbol);
+        log.info("🚫 [{}] 기존 구독 해제 요청 (tr_key: {})", symbol, formattedSymbol);
     }
 
     @Override
     public void onMessage(String message) {
-        log.info("📩 수신된 WebSocket 메시지: {}", message);
-        log.info("📩 메시지 형식: startsWith '{'? {}, contains '|'? {}",
-                message.trim().startsWith("{"),
-                message.contains("|"));
-
         try {
+            //  실시간 체결 데이터 (파이프 형식: 0|TR_ID|건수|데이터)
+            int records = realtimeParser.parse(message, realtimeRecordHandler);
+            if (records >= 0) {
+                if (records == 0) {
+                    ingestMetrics.parseFailure(TickSource.KIS_WS);
+                    hotLog.warn("parse", null, "⚠ 실시간 데이터 필드 부족: {}", message);
+                }
+                return;
+            }
+
             //  JSON 형식인지 확인 (구독 응답 메시지)
-            if (message.trim().startsWith("{")) {
+            if (startsWithJsonObject(message)) {
                 JsonNode jsonNode = objectMapper.readTree(message);
 
                 //  header -> tr_id를 확인해서 국내/해외 구분
@@ -183,147 +154,73 @@ public class KisWebSocketClient extends WebSocketClient {
                     }
 
                     //  실시간 데이터가 JSON으로 오는 경우 처리
-                    if ("HDFSCNT0".equals(trId) && jsonNode.has("body") && jsonNode.get("body").has("output")) {
+                    if (KisRealtimeParser.TR_FOREIGN.equals(trId) && jsonNode.has("body") && jsonNode.get("body").has("output")) {
                         String trKey = jsonNode.get("header").has("tr_key") ?
                                 jsonNode.get("header").get("tr_key").asText() : "";
 
                         // DNAS로 시작하는지 검증 후 처리
                         if (!trKey.startsWith("DNAS")) {
-                            log.warn("⚠ 잘못된 해외 주식 tr_key 형식: {}", trKey);
+                            hotLog.warn("tr_key", trKey, "⚠ 잘못된 해외 주식 tr_key 형식: {}", trKey);
                             // 오류가 있어도 계속 진행, 실제 데이터 형식 확인용
                         }
 
                         MarketDataDTO marketData = parseForeignMarketData(jsonNode);
                         if (marketData != null) {
-                            processMarketData(marketData);
+                            ingestMetrics.received(TickSource.KIS_WS);
+                            hotLog.event();
+                            JsonNode output = jsonNode.get("body").get("output");
+                            long exchangeTimestamp = realtimeParser.foreignTimestamp(
+                                    output.path("KYMD").asText(null), output.path("KHMS").asText(null));
+                            processMarketData(marketData, TickSource.KIS_WS, tick, exchangeTimestamp);
                         } else {
-                            log.warn("⚠ 해외 주식 데이터 파싱 실패: {}", message);
+                            ingestMetrics.parseFailure(TickSource.KIS_WS);
+                            hotLog.warn("parse", null, "⚠ 해외 주식 데이터 파싱 실패: {}", message);
                         }
                         return;
                     }
                 }
 
-                log.warn("⚠ JSON 메시지 수신됨. 예상치 않은 데이터 형식: {}", message);
-                return;
-            }
-
-            //  파이프(|) 형식인지 확인 (실시간 데이터)
-            if (message.contains("|")) {
-                String[] parts = message.split("\\|");
-                if (parts.length > 3) {
-                    String trId = parts[1]; // TR ID 추출 (H0STCNT0 또는 HDFSCNT0)
-                    log.info("📝 파이프 형식 데이터 - TR ID: {}", trId);
-
-                    //  TR ID로 국내/해외 구분하여 처리
-                    if ("H0STCNT0".equals(trId)) {
-                        // 국내 주식 데이터 처리
-                        MarketDataDTO marketData = parseMarketData(message);
-                        if (marketData != null) {
-                            processMarketData(marketData);
-                        } else {
-                            log.warn("⚠ 국내 주식 데이터 파싱 실패: {}", message);
-                        }
-                    } else if ("HDFSCNT0".equals(trId)) {
-                        // 해외 주식 파이프 형식 데이터 처리
-                        //log.info("📊 해외 주식 파이프 형식 데이터 수신: {}", message);
-
-                        try {
-                            // 데이터 부분 추출
-                            String[] dataParts = parts[3].split("\\^");
-
-                            // 맨 앞에 있는 종목 정보만 처리 (첫 번째 데이터만 처리)
-                            if (dataParts.length >= 15) {
-                                String symbol = dataParts[1];  // AAPL 형태 (순수 심볼)
-
-                                // 주요 필드 값 추출
-                                double price = parseDoubleSafe(dataParts[11]);  // LAST(현재가)
-                                double high = parseDoubleSafe(dataParts[9]);    // HIGH(고가)
-                                double low = parseDoubleSafe(dataParts[10]);    // LOW(저가)
-                                double changeRate = parseDoubleSafe(dataParts[14]); // RATE(등락률)
-
-                                // MarketDataDTO 생성 및 처리
-                                MarketDataDTO marketData = new MarketDataDTO(symbol, price, changeRate);
-                                processMarketData(marketData);
-
-                                log.info("📈 해외 주식 데이터 처리 완료: {} - 가격: {}, 변동률: {}%",
-                                        symbol, price, changeRate);
-                            } else {
-                                log.warn("⚠ 해외 주식 데이터 필드 수 부족: {}", Arrays.toString(dataParts));
-                            }
-                        } catch (Exception e) {
-                            log.error("❌ 해외 주식 파이프 데이터 파싱 오류: {}", e.getMessage(), e);
-                        }
-                    }
-                } else {
-                    log.warn("⚠ 잘못된 파이프 데이터 형식: {}", message);
-                }
+                hotLog.warn("unexpected", null, "⚠ JSON 메시지 수신됨. 예상치 않은 데이터 형식: {}", message);
                 return;
             }
 
             //  이외의 형식은 일단 로깅만
-            log.warn("⚠ 알 수 없는 메시지 형식: {}", message);
+            hotLog.warn("unexpected", null, "⚠ 알 수 없는 메시지 형식: {}", message);
 
         } catch (JsonProcessingException jsonEx) {
-            log.error("❌ JSON 파싱 오류: {}", message, jsonEx);
+            ingestMetrics.parseFailure(TickSource.KIS_WS);
+            hotLog.error("parse", null, "❌ JSON 파싱 오류: {}", message, jsonEx);
         } catch (Exception e) {
-            log.error("❌ 데이터 처리 오류: {}", message, e);
+            hotLog.error("handle", null, "❌ 데이터 처리 오류: {}", message, e);
         }
     }
 
-
-    private void sendTargetPriceEvent(String userEmail, String symbol, double tradePrice, double targetPrice, String condition) {
-        try {
-            ObjectNode eventData = objectMapper.createObjectNode();
-            eventData.put("userEmail", userEmail);
-            eventData.put("symbol", symbol);
-            eventData.put("currentPrice", tradePrice);
-            eventData.put("targetPrice", targetPrice);
-            eventData.put("condition", condition);
-            eventData.put("timestamp", System.currentTimeMillis());
-
-            //  목표 가격 도달 이벤트를 Kafka로 전송
-            kafkaTemplate.send("target-price-alert", eventData.toString());
-            log.info("🚀 목표 가격 도달 Kafka 이벤트 발송: [{}] {} → 목표가 {} ({})", userEmail, symbol, targetPrice, condition.toUpperCase());
-
-        } catch (Exception e) {
-            log.error("❌ 목표 가격 이벤트 전송 실패: {}", e.getMessage());
-        }
+    // 파이프 형식 체결 레코드 한 건 처리 (국내/해외 공통)
+    // 파싱한 기본형 값을 재사용 틱에 바로 채움 (MarketDataDTO 박싱 없음)
+    private void onRealtimeRecord(String trId, String symbol, double price, double high, double low, double changeRate, double volume,
+                                  long exchangeTimestamp) {
+        ingestMetrics.received(TickSource.KIS_WS);
+        hotLog.event();
+        publish(tick.set(TickSource.KIS_WS, symbol, price, changeRate, volume, exchangeTimestamp));
     }
 
-
-
-    private MarketDataDTO parseMarketData(String message) {
-        try {
-            String[] parts = message.split("\\|");
-            if (parts.length <= 3) {
-                log.error("❌ 국내 주식 데이터 포맷 오류: {}", message);
-                return null;
-            }
-
-            String[] dataFields = parts[3].split("\\^");
-            if (dataFields.length < 10) {
-                log.error("❌ 국내 주식 필드 부족: {}", Arrays.toString(dataFields));
-                return null;
+    // trim() 없이 선행 공백을 건너뛰고 '{' 여부 확인
+    private static boolean startsWithJsonObject(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
             }
-
-            String symbol = dataFields[0];
-            double price = parseDoubleSafe(dataFields[2]);
-            double changeRate = parseDoubleSafe(dataFields[5]);
-            double high = parseDoubleSafe(dataFields[8]);
-            double low = parseDoubleSafe(dataFields[9]);
-
-            return new MarketDataDTO(symbol, price, changeRate );
-        } catch (Exception e) {
-            log.error("❌ 국내 주식 데이터 파싱 오류: {}", message, e);
-            return null;
         }
+        return false;
     }
 
 
+    // 실패 원인은 DEBUG로만 남기고, 건수/출력 제한은 호출부의 parse 경고가 담당
     private MarketDataDTO parseForeignMarketData(JsonNode jsonNode) {
         try {
             if (!jsonNode.has("body") || !jsonNode.get("body").has("output")) {
-                log.error("❌ 해외 주식 데이터 포맷 오류: {}", jsonNode);
+                log.debug("❌ 해외 주식 데이터 포맷 오류: {}", jsonNode);
                 return null;
             }
 
@@ -331,7 +228,7 @@ public class KisWebSocketClient extends WebSocketClient {
 
             //  필드 존재 여부 체크 후 처리
             if (!output.has("SYMB") || !output.has("LAST") || !output.has("RATE") || !output.has("HIGH") || !output.has("LOW")) {
-                log.error("❌ 해외 주식 데이터 필드 누락: {}", output);
+                log.debug("❌ 해외 주식 데이터 필드 누락: {}", output);
                 return null;
             }
 
@@ -343,7 +240,7 @@ public class KisWebSocketClient extends WebSocketClient {
 
             return new MarketDataDTO(symbol, price, high,low, changeRate );
         } catch (Exception e) {
-            log.error("❌ 해외 주식 데이터 파싱 오류: {}", jsonNode, e);
+            log.debug("❌ 해외 주식 데이터 파싱 오류: {}", jsonNode, e);
             return null;
         }
     }
@@ -355,83 +252,49 @@ public class KisWebSocketClient extends WebSocketClient {
         try {
             return Double.parseDouble(value);
         } catch (NumberFormatException e) {
-            log.error("❌ 숫자 변환 오류: {}", value);
+            hotLog.warn("number", null, "❌ 숫자 변환 오류: {}", value);
             return 0.0; // 기본값 반환
         }
     }
 
-    private void processMarketData(MarketDataDTO marketData) {
-        if (marketData == null || marketData.getSymbol() == null) {
-            log.warn("⚠ 유효하지 않은 시장 데이터 수신됨: {}", marketData);
-            return;
-        }
-
-        String symbolKey = "stock_prices:" + marketData.getSymbol();
-        String changeKey = "stock_changes:" + marketData.getSymbol();
+    /**
+     * 틱 리플레이 진입점 (저널에 기록된 KIS 틱을 실시간 수신과 같은 경로로 처리)
+     */
+    public void replayTick(String symbol, double price, double changeRate, double volume, long timestamp) {
+        publish(new Tick().set(TickSource.KIS_WS, symbol, price, changeRate, volume, timestamp).asReplay());
+    }
 
-        //  Redis에서 기존 데이터 가져오기 (중복 저장 방지)
-        String lastPriceStr = (String) redisTemplate.opsForValue().get(symbolKey);
-        Double lastPrice = (lastPriceStr != null) ? parseDoubleSafe(lastPriceStr) : null;
+    // KisSlotScheduler의 REST 보조 조회 결과 (현재가 응답에는 체결 시각이 없음)
+    void processMarketData(MarketDataDTO marketData, TickSource source) {
+        processMarketData(marketData, source, new Tick(), 0L);
+    }
 
-        if (lastPrice != null && lastPrice.equals(marketData.getPrice())) {
-            log.info("🔄 [{}] 가격 변동 없음. Redis 업데이트 생략", marketData.getSymbol());
+    // JSON 실시간 수신 + REST 보조 조회 (source: KIS_WS / KIS_REST), exchangeTimestamp 없으면 0
+    private void processMarketData(MarketDataDTO marketData, TickSource source, Tick tick, long exchangeTimestamp) {
+        if (marketData == null || marketData.getSymbol() == null || marketData.getPrice() == null) {
+            hotLog.warn("invalid", null, "⚠ 유효하지 않은 시장 데이터 수신됨: {}", marketData);
             return;
         }
+        double changeRate = marketData.getChangeRate() != null ? marketData.getChangeRate() : 0.0;
+        double volume = marketData.getVolume() != null ? marketData.getVolume() : Double.NaN;
+        publish(tick.set(source, marketData.getSymbol(), marketData.getPrice(), changeRate, volume, exchangeTimestamp));
+    }
 
-        //  가격 변동이 있으면 Redis 저장 (10분 TTL)
-        redisTemplate.opsForValue().set(symbolKey, String.valueOf(marketData.getPrice()), 10, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(changeKey, String.valueOf(marketData.getChangeRate()), 10, TimeUnit.MINUTES);
-
-        log.info("📡 Redis 저장 완료: {} -> 가격: {}, 변동률: {}", marketData.getSymbol(), marketData.getPrice(), marketData.getChangeRate());
-        //  목표 가격 조회 및 체크
-        Map<Object, Object> targetPrices = redisTemplate.opsForHash().entries("target_prices");
-
-        for (Map.Entry<Object, Object> entry : targetPrices.entrySet()) {
-            try {
-                String key = entry.getKey().toString();
-                Double targetPrice = parseDoubleSafe(entry.getValue().toString());
-
-                Object conditionObj = redisTemplate.opsForHash().get("target_conditions", key);
-                if (conditionObj == null) continue;
-
-                String conditionStr = conditionObj.toString().toUpperCase();
-                TargetPriceCondition condition = TargetPriceCondition.valueOf(conditionStr);
-
-                String[] keyParts = key.split(":");
-                if (keyParts.length != 2) {
-                    log.warn("⚠ 잘못된 Key 형식: {}", key);
-                    continue;
-                }
-
-                String userEmail = keyParts[0];
-                String symbol = keyParts[1];
-
-                if (marketData.getSymbol().equals(symbol)) {
-                    String alertKey = "alert_sent:" + userEmail + ":" + symbol;
-
-                    if (condition == TargetPriceCondition.ABOVE && marketData.getPrice() >= targetPrice) {
-                        if (redisTemplate.opsForValue().get(alertKey) == null) { // 이전에 알림 보낸 적 없음
-                            sendTargetPriceEvent(userEmail, symbol, marketData.getPrice(), targetPrice, condition.name());
-                            redisTemplate.opsForValue().set(alertKey, "sent", 24, TimeUnit.HOURS); // 24시간 동안 저장
-                        }
-                    } else if (condition == TargetPriceCondition.BELOW && marketData.getPrice() <= targetPrice) {
-                        if (redisTemplate.opsForValue().get(alertKey) == null) { // 이전에 알림 보낸 적 없음
-                            sendTargetPriceEvent(userEmail, symbol, marketData.getPrice(), targetPrice, condition.name());
-                            redisTemplate.opsForValue().set(alertKey, "sent", 24, TimeUnit.HOURS); // 24시간 동안 저장
-                        }
-                    }
-                }
+    private void publish(Tick tick) {
+        //  가격 변동 여부와 무관하게 수신 시각 갱신 (데이터 신선도 기준)
+        SymbolFeedState state = feedStates.computeIfAbsent(tick.symbol(), k -> new SymbolFeedState());
+        double price = tick.price();
+        boolean unchanged = state.getLastTickAt() != 0L && state.getLastPrice() == price;
+        state.update(price, tick.changeRate());
 
-            } catch (Exception e) {
-                log.error("❌ 목표 가격 비교 중 오류: key={}, value={}", entry.getKey(), entry.getValue(), e);
-            }
+        //  직전 수신 가격과 같으면 저장 생략 (Redis 조회 없이 메모리 값으로 비교)
+        if (unchanged) {
+            log.debug("🔄 [{}] 가격 변동 없음. Redis 업데이트 생략", tick.symbol());
+            return;
         }
 
-        //  변동률 ±5% 이상 시 Kafka 전송
-        if (marketData.getChangeRate() != null && Math.abs(marketData.getChangeRate()) > 5) {
-            kafkaProducerClient.sendMarketData(marketData);
-            log.info("📡 Kafka 전송 완료: {}", marketData);
-        }
+        //  저장(10분 TTL) / 목표가 확인 / 급등락 알림은 공통 파이프라인에서 처리
+        tickPipeline.publish(tick);
     }
 
 
@@ -446,6 +309,33 @@ public class KisWebSocketClient extends WebSocketClient {
         log.error("⚠️ WebSocket 오류 발생", ex);
     }
 
+    /**
+     * 종목별 마지막 수신 상태 (수신 스레드/REST 보조 조회가 쓰고, 스케줄러가 읽음)
+     */
+    static final class SymbolFeedState {
+        private volatile long lastTickAt;
+        private volatile double lastPrice;
+        private volatile double changeRate;
+
+        void update(double price, double changeRate) {
+            this.lastPrice = price;
+            this.changeRate = changeRate;
+            lastTickAt = System.currentTimeMillis();
+        }
+
+        long getLastTickAt() {
+            return lastTickAt;
+        }
+
+        double getLastPrice() {
+            return lastPrice;
+        }
+
+        double getChangeRate() {
+            return changeRate;
+        }
+    }
+
 
 
 }
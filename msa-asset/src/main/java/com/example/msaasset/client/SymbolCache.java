@@ -0,0 +1,48 @@
+package com.example.msaasset.client;
+
+/**
+ * 문자 구간 -> 종목 코드 String 캐시 (오픈 어드레싱, 가득 차면 새로 생성만 하고 저장 안 함)
+ * - 업비트 마켓/KIS 종목 수는 수백 개 수준이라 한 번 채워지면 이후 프레임은 할당 없음
+ * - 스레드 안전하지 않음 (수신 스레드별로 하나씩 사용)
+ */
+final class SymbolCache {
+
+    private final String[] table;
+    private final int mask;
+
+    SymbolCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    String get(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            String cached = table[slot];
+            if (cached == null) {
+                String symbol = new String(chars, offset, length);
+                table[slot] = symbol;
+                return symbol;
+            }
+            if (matches(cached, chars, offset, length)) {
+                return cached;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return new String(chars, offset, length);
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) return false;
+        }
+        return true;
+    }
+}
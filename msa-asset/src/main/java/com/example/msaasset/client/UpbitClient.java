@@ -1,23 +1,25 @@
 package com.example.msaasset.client;
 
-import com.example.msaasset.dto.MarketDataDTO;
-import java.nio.charset.StandardCharsets;
+import com.example.msaasset.config.AssetRole;
 import com.example.msaasset.dto.StockDTO;
-import com.example.msaasset.entity.TargetPriceCondition;
-import com.example.msaasset.kafka.KafkaProducer;
+import com.example.msaasset.feed.FeedAdapter;
+import com.example.msaasset.feed.Tick;
+import com.example.msaasset.feed.TickPipeline;
+import com.example.msaasset.feed.TickSource;
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.service.IngestMetrics;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.websocket.*;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -25,6 +27,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -34,22 +37,46 @@ import java.util.stream.StreamSupport;
 @Slf4j
 @ClientEndpoint
 @Component
-public class UpbitClient {
-    private static final String WEBSOCKET_URL = "wss://api.upbit.com/websocket/v1";
-
+public class UpbitClient implements FeedAdapter {
+    // 로컬 부하 측정 시 가짜 거래소(FakeExchangeServer)로 바꿀 수 있도록 설정값으로 분리
+    private final String websocketUrl;
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final KafkaProducer kafkaProducerClient;
+    private final TickPipeline tickPipeline;
+    private final AssetRole assetRole;
+    private final IngestMetrics ingestMetrics;
+    // 틱마다 지나가는 경로 로그 (샘플링 + 종목별 출력 제한 + 주기 요약)
+    private final HotPathLog hotLog;
     private Session webSocketSession;
 
-    public UpbitClient(WebClient.Builder webClientBuilder, RedisTemplate<String, Object> redisTemplate, KafkaTemplate<String, String> kafkaTemplate, KafkaProducer kafkaProducerClient) throws Exception {
-        this.webClient = webClientBuilder.baseUrl("https://api.upbit.com/v1").build();
+    // 수신 스레드 전용 디코더 + 재사용 ticker/틱 (리플레이 스레드는 별도 객체)
+    private final UpbitTickerDecoder tickerDecoder = new UpbitTickerDecoder();
+    private final UpbitTicker ticker = new UpbitTicker();
+    private final Tick tick = new Tick();
+    private final UpbitTicker replayTicker = new UpbitTicker();
+    private final Tick replayTick = new Tick();
+
+    public UpbitClient(WebClient.Builder webClientBuilder, TickPipeline tickPipeline, AssetRole assetRole, IngestMetrics ingestMetrics, HotPathLogs hotPathLogs,
+                       @Value("${upbit.rest-url:https://api.upbit.com/v1}") String restUrl,
+                       @Value("${upbit.websocket-url:wss://api.upbit.com/websocket/v1}") String websocketUrl) throws Exception {
+        this.webClient = webClientBuilder.baseUrl(restUrl).build();
+        this.websocketUrl = websocketUrl;
         this.objectMapper = new ObjectMapper();
-        this.redisTemplate = redisTemplate;
-        this.kafkaTemplate = kafkaTemplate;
-        this.kafkaProducerClient = kafkaProducerClient;
+        this.tickPipeline = tickPipeline;
+        this.assetRole = assetRole;
+        this.ingestMetrics = ingestMetrics;
+        this.hotLog = hotPathLogs.category("upbit", "ticks");
+    }
+
+    @Override
+    public String feedName() {
+        return "upbit";
+    }
+
+    @Override
+    public boolean isConnected() {
+        Session session = webSocketSession;
+        return session != null && session.isOpen();
     }
 
     public List<StockDTO> fetchStockList() {
@@ -68,6 +95,12 @@ public class UpbitClient {
      */
     @PostConstruct
     public void initialize() {
+        // edge 노드(시세 버스로 수신)나 리플레이 인스턴스는 업스트림에 연결하지 않음
+        if (!assetRole.connectsUpstream()) {
+            log.info("⏸ 업스트림 연결 안 함 ({}) - 업비트 WebSocket 연결 생략", assetRole.getRole());
+            return;
+        }
+
         List<String> symbols = getAllMarketSymbols().stream()
                 .map(StockDTO::getSymbol)
                 .collect(Collectors.toList());
@@ -111,8 +144,10 @@ public class UpbitClient {
      */
 
 
-    // 클래스 맨 위에 추가할 필드
-    private final Set<String> processedCryptoSymbols = new HashSet<>();
+    // 구독 배치 스케줄러 스레드(재연결 시 새로 생성)가 갱신하므로 동시성 집합 사용
+    private final Set<String> processedCryptoSymbols = ConcurrentHashMap.newKeySet();
+    // REST 재조회가 진행 중인 종목 (같은 종목의 이상 틱이 몰려도 한 번만 조회)
+    private final Set<String> refetchingSymbols = ConcurrentHashMap.newKeySet();
 
     public void connectToWebSocket(List<String> symbols) {
         if (symbols == null || symbols.isEmpty()) {
@@ -122,7 +157,7 @@ public class UpbitClient {
 
         try {
             WebSocketContainer container = ContainerProvider.getWebSocketContainer();
-            this.webSocketSession = container.connectToServer(this, new URI(WEBSOCKET_URL));
+            this.webSocketSession = container.connectToServer(this, new URI(websocketUrl));
             log.info("📡 WebSocket 연결됨. 종목 구독 요청 시작...");
 
             if (webSocketSession != null && webSocketSession.isOpen()) {
@@ -197,112 +232,84 @@ public class UpbitClient {
     @OnMessage
     public void onMessage(ByteBuffer message) {
         try {
-            // ByteBuffer를 UTF-8 문자열로 변환
-            String decodedMessage = StandardCharsets.UTF_8.decode(message).toString();
-            log.info("📩업비트 WebSocket 데이터 수신: {}", decodedMessage);
-
-            // JSON 데이터 파싱
-            JsonNode data = objectMapper.readTree(decodedMessage);
-            log.info("✅ JSON 데이터 파싱 성공: {}", data);
-
-            // handleMessage 호출하여 처리
-            handleMessage(decodedMessage);
+            // 문자열 변환/트리 생성 없이 필요한 필드만 바로 디코딩
+            if (!tickerDecoder.decode(message, ticker)) {
+                log.debug("📩 업비트 ticker 외 메시지 수신 (무시)");
+                return;
+            }
+            ingestMetrics.received(TickSource.UPBIT_WS);
+            hotLog.event();
+            handleTicker(ticker, tick, true);
         } catch (Exception e) {
-            log.error("❌ 데이터 처리 오류: {}", e.getMessage(), e);
+            ingestMetrics.parseFailure(TickSource.UPBIT_WS);
+            hotLog.error("parse", null, "❌ 데이터 처리 오류: {}", e.getMessage(), e);
         }
     }
 
     /**
-     *  5. WebSocket 데이터 처리 후 Redis & Kafka 전송
+     * 틱 리플레이 진입점 (저널에 기록된 업비트 틱을 WebSocket 수신과 같은 경로로 처리)
+     * - 리플레이 스레드 하나에서만 호출 (수신 스레드의 ticker와 별도 객체 사용)
+     * - 가격/변동률이 0인 틱은 REST 재조회 경로로 빠지므로 건너뜀
+     * @return 처리했으면 true
      */
-    private void handleMessage(String message) {
-        try {
-            JsonNode data = objectMapper.readTree(message);
-
-            // 'code' 필드를 문자열로 처리
-            String symbol = data.has("code") ? data.get("code").asText() : "UNKNOWN";
-
-            // 'trade_price' 필드를 숫자 타입으로 처리
-            double tradePrice = data.has("trade_price")
-                    ? Double.parseDouble(data.get("trade_price").asText())
-                    : 0.0;
+    public boolean replayTick(String symbol, double price, double changeRate, double volume, long timestamp) {
+        if (price == 0.0 || changeRate == 0.0) {
+            return false;
+        }
+        replayTicker.code = symbol;
+        replayTicker.tradePrice = price;
+        replayTicker.signedChangeRate = changeRate;
+        replayTicker.accTradeVolume = Double.isNaN(volume) ? 0.0 : volume;
+        replayTicker.timestamp = timestamp;
+        handleTicker(replayTicker, replayTick, false);
+        return true;
+    }
 
-            // 'signed_change_rate' 필드를 숫자 타입으로 처리
-            double changeRate = data.has("signed_change_rate")
-                    ? Double.parseDouble(data.get("signed_change_rate").asText())
-                    : 0.0;
+    /**
+     *  5. WebSocket 데이터를 공통 틱으로 바꿔 파이프라인에 전달 (저장/목표가/급등락 알림은 TickPipeline)
+     */
+    // live: 실시간 수신이면 true (리플레이 틱의 체결 시각은 과거라 지연 추적에서 제외)
+    private void handleTicker(UpbitTicker ticker, Tick tick, boolean live) {
+        try {
+            String symbol = ticker.getCode();
+            double tradePrice = ticker.getTradePrice();
+            double changeRate = ticker.getSignedChangeRate();
 
-            // WebSocket 데이터가 비정상적으로 수신된 경우, REST API에서 데이터 가져오기
+            // WebSocket 데이터가 비정상적으로 수신된 경우, REST API에서 데이터 가져오기 (수신 스레드를 막지 않도록 스케줄러에서)
             if (tradePrice == 0.0 || changeRate == 0.0) {
-                log.warn("⚠️ WebSocket 데이터 이상 감지. REST API로 대체 데이터 요청: {}", symbol);
-                fetchStockDataFromRestApi(symbol);
-                return;
-            }
-
-            log.info("✅ 종목: {}, 가격: {}, 변동률: {}", symbol, tradePrice, changeRate);
-
-            // MarketDataDTO 객체 생성
-            MarketDataDTO marketData = new MarketDataDTO(symbol, tradePrice, changeRate);
-
-            // Redis 저장 - 기존 TTL 갱신 (30분)
-            redisTemplate.opsForValue().set("stock_prices:" + symbol, String.valueOf(tradePrice), 30, TimeUnit.MINUTES);
-            redisTemplate.opsForValue().set("stock_changes:" + symbol, String.valueOf(changeRate), 30, TimeUnit.MINUTES);
-
-            log.info("📡 업비트 Redis 저장 완료: {} -> 가격: {}, 변동률: {}", symbol, tradePrice, changeRate);
-
-            // 목표 가격 조회하고 체크
-            Map<Object, Object> targetPrices = redisTemplate.opsForHash().entries("target_prices");
-
-            for (Map.Entry<Object, Object> entry : targetPrices.entrySet()) {
-                String key = (String) entry.getKey();
-                Double targetPrice = Double.parseDouble((String) entry.getValue());
-
-                String conditionStr = (String) redisTemplate.opsForHash().get("target_conditions", key);
-
-                if (conditionStr != null) {
-                    TargetPriceCondition condition = TargetPriceCondition.valueOf(conditionStr.toUpperCase());
-
-                    String[] keyParts = key.split(":");
-                    if (keyParts.length != 2) continue;
-
-                    String userEmail = keyParts[0];
-                    String targetSymbol = keyParts[1];
-
-                    if (symbol.equals(targetSymbol)) {
-                        String alertKey = "alert_sent:" + userEmail + ":" + symbol + ":" + condition;
-
-                        // 중복 알림 방지 - 24시간 동안 유지 (하루 동안 같은 조건이면 알림 X)
-                        if (redisTemplate.hasKey(alertKey)) {
-                            log.warn("⚠️ 중복 알림 방지: {} - 최근 24시간 내 알림 전송됨", alertKey);
-                            continue;
-                        }
-
-                        // 목표 가격 달성 시 알림 전송
-                        if ((condition == TargetPriceCondition.ABOVE && tradePrice >= targetPrice) ||
-                                (condition == TargetPriceCondition.BELOW && tradePrice <= targetPrice)) {
-
-                            sendTargetPriceEvent(userEmail, symbol, tradePrice, targetPrice, condition.name());
-
-                            // Redis에 알림 전송 기록 저장 (TTL 24시간)
-                            redisTemplate.opsForValue().set(alertKey, "sent", 24, TimeUnit.HOURS);
+                hotLog.warn("anomaly", symbol, "⚠️ WebSocket 데이터 이상 감지. REST API로 대체 데이터 요청: {}", symbol);
+                if (refetchingSymbols.add(symbol)) {
+                    scheduler.execute(() -> {
+                        try {
+                            fetchStockDataFromRestApi(symbol);
+                        } finally {
+                            refetchingSymbols.remove(symbol);
                         }
-                    }
+                    });
                 }
+                return;
             }
 
-            // 변동률 ±5% 이상일 때 Kafka 알림 전송
-            if (Math.abs(changeRate)*100 >= 5.0) {
-                kafkaProducerClient.sendMarketData(marketData);
-                log.info("🚀 Kafka 알림 발송: {}", marketData);
+            tick.set(TickSource.UPBIT_WS, symbol, tradePrice, changeRate, ticker.getAccTradeVolume(), ticker.getTimestamp());
+            if (!live) {
+                tick.asReplay();
             }
-
+            tickPipeline.publish(tick);
         } catch (Exception e) {
-            log.error("❌ WebSocket 메시지 처리 실패: {}", e.getMessage(), e);
+            hotLog.error("handle", ticker.getCode(), "❌ WebSocket 메시지 처리 실패: {}", e.getMessage(), e);
         }
     }
 
 
 
+    // REST 응답 ticker 한 건 -> 보충 틱 (Redis 저장만)
+    private void backfillTicker(JsonNode ticker, String symbol) {
+        double tradePrice = ticker.has("trade_price") ? ticker.get("trade_price").asDouble() : 0.0;
+        double changeRate = ticker.has("signed_change_rate") ? ticker.get("signed_change_rate").asDouble() : 0.0;
+        ingestMetrics.received(TickSource.UPBIT_REST);
+        tickPipeline.backfill(new Tick().set(TickSource.UPBIT_REST, symbol, tradePrice, changeRate, Double.NaN, 0L));
+    }
+
     private void fetchStockDataFromRestApi(String symbol) {
         try {
             JsonNode response = webClient.get()
@@ -313,17 +320,12 @@ public class UpbitClient {
 
             if (response != null && response.isArray() && !response.isEmpty()) {
                 JsonNode ticker = response.get(0);
-                double tradePrice = ticker.has("trade_price") ? ticker.get("trade_price").asDouble() : 0.0;
-                double changeRate = ticker.has("signed_change_rate") ? ticker.get("signed_change_rate").asDouble() : 0.0;
-
-                // Redis에 업데이트
-                redisTemplate.opsForValue().set("stock_prices:" + symbol, String.valueOf(tradePrice), 30, TimeUnit.MINUTES);
-                redisTemplate.opsForValue().set("stock_changes:" + symbol, String.valueOf(changeRate), 30, TimeUnit.MINUTES);
-
-                log.info("📡 REST API 데이터 갱신 완료: {} 가격: {}, 변동률: {}", symbol, tradePrice, changeRate);
+                backfillTicker(ticker, symbol);
+                hotLog.info("rest", symbol, "📡 REST API 데이터 갱신 완료: {} 가격: {}, 변동률: {}", symbol,
+                        ticker.path("trade_price").asDouble(), ticker.path("signed_change_rate").asDouble());
             }
         } catch (Exception e) {
-            log.error("❌ REST API 데이터 가져오기 실패: {}", e.getMessage(), e);
+            hotLog.error("rest_error", symbol, "❌ REST API 데이터 가져오기 실패: {}", e.getMessage(), e);
         }
     }
 
@@ -331,27 +333,6 @@ public class UpbitClient {
 
 
 
-    private void sendTargetPriceEvent(String userEmail, String symbol, double tradePrice, double targetPrice, String condition) {
-        try {
-            ObjectNode eventData = objectMapper.createObjectNode();
-            eventData.put("userEmail", userEmail);
-            eventData.put("symbol", symbol);
-            eventData.put("currentPrice", tradePrice);
-            eventData.put("targetPrice", targetPrice);
-            eventData.put("condition", condition);
-            eventData.put("timestamp", System.currentTimeMillis());
-
-            //  목표 가격 도달 이벤트를 Kafka로 전송
-            kafkaTemplate.send("target-price-alert", eventData.toString());
-            log.info("🚀 목표 가격 도달 Kafka 이벤트 발송: [{}] {} → 목표가 {} ({})", userEmail, symbol, targetPrice, condition.toUpperCase());
-
-        } catch (Exception e) {
-            log.error("❌ 목표 가격 이벤트 전송 실패: {}", e.getMessage());
-        }
-    }
-
-
-
     /**
      *  6. WebSocket 메시지 전송 (구독 요청)
      */
@@ -489,17 +470,8 @@ public class UpbitClient {
             if (response != null && response.isArray()) {
                 for (JsonNode ticker : response) {
                     String symbol = ticker.get("market").asText();
-                    double tradePrice = ticker.get("trade_price").asDouble();
-                    double changeRate = ticker.get("signed_change_rate").asDouble();
-
-                    // Redis에 저장
-                    redisTemplate.opsForValue().set("stock_prices:" + symbol,
-                            String.valueOf(tradePrice), 30, TimeUnit.MINUTES);
-                    redisTemplate.opsForValue().set("stock_changes:" + symbol,
-                            String.valueOf(changeRate), 30, TimeUnit.MINUTES);
-
-                    log.info("📊 REST API 데이터 저장: {} 가격: {}, 변동률: {}",
-                            symbol, tradePrice, changeRate);
+                    backfillTicker(ticker, symbol);
+                    log.debug("📊 REST API 데이터 저장: {}", symbol);
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,48 @@
+package com.example.msaasset.client;
+
+/**
+ * 업비트 ticker 프레임에서 사용하는 필드만 담는 재사용 객체
+ * - UpbitTickerDecoder가 프레임마다 값을 덮어씀 (수신 스레드 전용, 외부로 보관하지 말 것)
+ */
+public final class UpbitTicker {
+
+    String code;
+    double tradePrice;
+    double signedChangeRate;
+    double accTradeVolume;
+    long timestamp;
+
+    void reset() {
+        code = null;
+        tradePrice = 0.0;
+        signedChangeRate = 0.0;
+        accTradeVolume = 0.0;
+        timestamp = 0L;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public double getTradePrice() {
+        return tradePrice;
+    }
+
+    public double getSignedChangeRate() {
+        return signedChangeRate;
+    }
+
+    public double getAccTradeVolume() {
+        return accTradeVolume;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "UpbitTicker{" + code + ", price=" + tradePrice + ", rate=" + signedChangeRate
+                + ", volume=" + accTradeVolume + ", ts=" + timestamp + "}";
+    }
+}
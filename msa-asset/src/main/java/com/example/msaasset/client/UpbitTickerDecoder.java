@@ -0,0 +1,93 @@
+package com.example.msaasset.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 업비트 WebSocket ticker 프레임 디코더
+ * - ByteBuffer를 문자열로 바꾸지 않고 스트리밍 파서로 필요한 필드만 읽음
+ *   (code, trade_price, signed_change_rate, acc_trade_volume, timestamp)
+ * - 숫자는 파서 내부 문자 버퍼에서 바로 변환, 종목 코드는 캐시된 String을 재사용
+ * - 인스턴스는 스레드 안전하지 않음 (WebSocket 수신 스레드 하나에서만 사용)
+ */
+public final class UpbitTickerDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final SymbolCache symbolCache = new SymbolCache(1024);
+    private byte[] copyBuffer = new byte[4096];
+
+    /**
+     * @return ticker 필드(code, trade_price)가 있으면 true
+     */
+    public boolean decode(ByteBuffer frame, UpbitTicker ticker) throws IOException {
+        byte[] data;
+        int offset;
+        int length = frame.remaining();
+
+        if (frame.hasArray()) {
+            data = frame.array();
+            offset = frame.arrayOffset() + frame.position();
+        } else {
+            // direct 버퍼는 재사용 배열로 복사
+            if (copyBuffer.length < length) {
+                copyBuffer = new byte[Math.max(length, copyBuffer.length * 2)];
+            }
+            frame.duplicate().get(copyBuffer, 0, length);
+            data = copyBuffer;
+            offset = 0;
+        }
+        return decode(data, offset, length, ticker);
+    }
+
+    public boolean decode(byte[] data, int offset, int length, UpbitTicker ticker) throws IOException {
+        ticker.reset();
+        boolean hasPrice = false;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "code" -> {
+                        if (value == JsonToken.VALUE_STRING) {
+                            ticker.code = symbolCache.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        }
+                    }
+                    case "trade_price" -> {
+                        ticker.tradePrice = readDouble(parser, value);
+                        hasPrice = true;
+                    }
+                    case "signed_change_rate" -> ticker.signedChangeRate = readDouble(parser, value);
+                    case "acc_trade_volume" -> ticker.accTradeVolume = readDouble(parser, value);
+                    case "timestamp" -> {
+                        if (value == JsonToken.VALUE_NUMBER_INT) {
+                            ticker.timestamp = parser.getLongValue();
+                        }
+                    }
+                    default -> {
+                        if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+        return ticker.code != null && hasPrice;
+    }
+
+    private static double readDouble(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT || value == JsonToken.VALUE_STRING) {
+            return DecimalParser.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.msaasset.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인스턴스 역할 (asset.role)
+ * - all    : 단일 인스턴스 (수집 + WebSocket 전송, 기본값)
+ * - ingest : 업비트/KIS 수집, 스케줄 작업, 목표가 알림 + 시세 버스 발행
+ * - edge   : 업스트림 연결 없이 시세 버스를 구독해 WebSocket 세션에만 전송 (여러 대 가능)
+ *
+ * asset.upstream.enabled=false 이면 ingest 역할이어도 업비트/KIS 연결과 REST 조회를 하지 않음
+ * (틱 리플레이/부하 테스트용 인스턴스)
+ */
+@Slf4j
+@Component
+public class AssetRole {
+
+    public static final String ALL = "all";
+    public static final String INGEST = "ingest";
+    public static final String EDGE = "edge";
+
+    private final String role;
+    private final boolean upstreamEnabled;
+
+    public AssetRole(@Value("${asset.role:all}") String role,
+                     @Value("${asset.upstream.enabled:true}") boolean upstreamEnabled) {
+        this.role = role.trim().toLowerCase();
+        this.upstreamEnabled = upstreamEnabled;
+        if (!ALL.equals(this.role) && !INGEST.equals(this.role) && !EDGE.equals(this.role)) {
+            throw new IllegalArgumentException("asset.role은 all, ingest, edge 중 하나여야 합니다: " + role);
+        }
+        log.info("✅ asset 인스턴스 역할: {}{}", this.role, upstreamEnabled ? "" : " (업스트림 연결 안 함)");
+    }
+
+    // 업스트림 수집/스케줄 작업 담당 여부
+    public boolean isIngest() {
+        return !EDGE.equals(role);
+    }
+
+    // 업비트/KIS 실제 연결(WebSocket, REST 조회) 여부
+    public boolean connectsUpstream() {
+        return isIngest() && upstreamEnabled;
+    }
+
+    public boolean isEdge() {
+        return EDGE.equals(role);
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
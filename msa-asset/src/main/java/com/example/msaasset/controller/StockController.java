@@ -1,9 +1,16 @@
 package com.example.msaasset.controller;
 
+import com.example.msaasset.dto.BacktestAlertDTO;
+import com.example.msaasset.dto.CandlePageDTO;
+import com.example.msaasset.dto.ReplayStatusDTO;
 import com.example.msaasset.dto.StockResponseDTO;
 import com.example.msaasset.dto.TargetPriceDTO;
 import com.example.msaasset.entity.TargetPriceCondition;
+import com.example.msaasset.service.CandleService;
 import com.example.msaasset.service.StockService;
+import com.example.msaasset.service.TargetPriceBacktestService;
+import com.example.msaasset.service.TickReplayService;
+import com.example.msaasset.service.TopMoversIndex;
 import com.example.msaasset.websocket.WebSocketSubscriptionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +18,6 @@ import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,6 +31,9 @@ public class StockController {
 
     private final StockService stockService;
     private final WebSocketSubscriptionManager subscriptionManager;
+    private final CandleService candleService;
+    private final TickReplayService tickReplayService;
+    private final TargetPriceBacktestService targetPriceBacktestService;
 
     // 종목 검색 API (키워드로 검색)
     @GetMapping("/search")
@@ -40,18 +49,28 @@ public class StockController {
         return stockService.getStockDetail(symbol);
     }
 
-    // 변동률 높은 상위 5개 종목 조회 API
-    // 음...
-    @GetMapping("/top-movers")
-    public List<StockResponseDTO> getTopMovers() {
-        List<StockResponseDTO> stockList = stockService.getTopStocksFromRedis("top_movers_stocks");
-        List<StockResponseDTO> cryptoList = stockService.getTopStocksFromRedis("top_movers_cryptos");
-
-        List<StockResponseDTO> finalList = new ArrayList<>();
-        finalList.addAll(stockList);
-        finalList.addAll(cryptoList);
+    // 캔들(OHLCV) 조회 API
+    // interval: 1m, 5m, 1h, 1d / from, to: epoch ms / 다음 페이지는 응답의 nextFrom을 from으로 전달
+    @GetMapping("/{symbol}/candles")
+    public CandlePageDTO getCandles(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "200") int limit) {
+        return candleService.getCandles(symbol, interval, from, to, limit);
+    }
 
-        return finalList; // 🔥 반드시 List<StockResponseDTO> 형태로 반환
+    // 변동률 상위 종목 조회 API
+    // market 없으면 주식/암호화폐 각각 급등+급락 상위 limit개, 있으면 해당 시장의 direction 순위
+    // window(1m, 5m, 1h) 지정 시 최근 구간 변동률 기준
+    @GetMapping("/top-movers")
+    public List<StockResponseDTO> getTopMovers(
+            @RequestParam(required = false) TopMoversIndex.Market market,
+            @RequestParam(defaultValue = "GAINERS") TopMoversIndex.Direction direction,
+            @RequestParam(required = false) String window,
+            @RequestParam(defaultValue = "3") int limit) {
+        return stockService.getTopMovers(market, direction, window, limit);
     }
 
 
@@ -102,6 +121,37 @@ public class StockController {
         stockService.removeTargetPrice(userEmail, symbol);
     }
 
+    // 목표 가격 백테스트 API - 틱 저널 구간에서 알림이 언제 발송됐을지 계산 (from, to: epoch ms)
+    @GetMapping("/target-prices/backtest")
+    public List<BacktestAlertDTO> backtestTargetPrices(
+            @RequestHeader(value = "X-Auth-User", required = false) String userEmail,
+            @RequestParam long from,
+            @RequestParam long to) {
+        return targetPriceBacktestService.backtest(from, to, userEmail);
+    }
+
+    // 틱 리플레이 시작 API (리플레이 인스턴스 전용) - speed: 배속 또는 max
+    @PostMapping("/replay")
+    public ReplayStatusDTO startReplay(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "1") String speed) {
+        double multiplier = "max".equalsIgnoreCase(speed) ? 0 : Double.parseDouble(speed);
+        return tickReplayService.start(from, to, multiplier);
+    }
+
+    // 틱 리플레이 진행 상태 조회 API
+    @GetMapping("/replay")
+    public ReplayStatusDTO getReplayStatus() {
+        return tickReplayService.status();
+    }
+
+    // 틱 리플레이 중단 API
+    @DeleteMapping("/replay")
+    public ReplayStatusDTO cancelReplay() {
+        return tickReplayService.cancel();
+    }
+
     @GetMapping("/unsubscribe/{symbol}")
     public ResponseEntity<Void> unsubscribeFromSymbol(@PathVariable String symbol) {
         subscriptionManager.unsubscribeFromSymbol(symbol);
@@ -0,0 +1,28 @@
+package com.example.msaasset.dto;
+
+import com.example.msaasset.entity.TargetPriceCondition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestAlertDTO {
+    private String userEmail;
+    private String symbol;
+    private double targetPrice;
+    private TargetPriceCondition condition;
+    private long matchedTicks;       // 조건을 만족한 틱 수
+    private List<Firing> firings;    // 실제로 발송됐을 알림 (24시간 중복 방지 적용)
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Firing {
+        private long timestamp;      // 체결 시각 (없으면 수신 시각, epoch ms)
+        private double price;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.msaasset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandleDTO {
+    private long openTime;  // 구간 시작 시각 (epoch ms)
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private boolean closed; // false면 진행 중인 캔들 (메모리 값)
+}
@@ -0,0 +1,17 @@
+package com.example.msaasset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandlePageDTO {
+    private String symbol;
+    private String interval;
+    private List<CandleDTO> candles;
+    private Long nextFrom; // 다음 페이지 요청 시 from 값, 마지막 페이지면 null
+}
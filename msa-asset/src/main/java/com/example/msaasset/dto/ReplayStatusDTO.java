@@ -0,0 +1,23 @@
+package com.example.msaasset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayStatusDTO {
+    private String state;         // IDLE, RUNNING, DONE, CANCELLED, FAILED
+    private long from;            // 리플레이 구간 (수신 시각 epoch ms)
+    private long to;
+    private double speed;         // 배속, 0이면 최대 속도
+    private long dispatched;      // 수신 경로로 보낸 틱 수
+    private long skipped;         // 건너뛴 틱 수 (0 가격/변동률 등)
+    private long elapsedMillis;   // 실제 경과 시간
+    private double ticksPerSecond;
+    private long cursor;          // 마지막으로 보낸 틱의 수신 시각
+    private long targetAlerts;    // 보내지 않고 센 목표가 알림 수 (ReplayAlertSink)
+    private long surgeAlerts;     // 보내지 않고 센 급등락 알림 수
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.example.msaasset.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OHLCV 캔들 (CandleAggregator가 마감된 구간만 JDBC 배치로 저장)
+ */
+@Entity
+@Table(name = "candle", indexes = {
+        @Index(name = "idx_candle_symbol_interval_time", columnList = "symbol, candle_interval, open_time", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Candle {
+
+    @EmbeddedId
+    private CandleKey id;
+
+    @Column(nullable = false)
+    private double open;
+
+    @Column(nullable = false)
+    private double high;
+
+    @Column(nullable = false)
+    private double low;
+
+    @Column(nullable = false)
+    private double close;
+
+    @Column(nullable = false)
+    private double volume; // 구간 거래량 (누적 거래량 차이, 수신 안 된 시장은 0)
+}
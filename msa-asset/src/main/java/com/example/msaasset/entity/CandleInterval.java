@@ -0,0 +1,44 @@
+package com.example.msaasset.entity;
+
+/**
+ * 캔들 주기 (DB candle_interval 컬럼에는 label 저장)
+ * - 구간 시작 시각은 한국 시간(UTC+9) 기준으로 정렬 (1d = KST 자정 ~ 다음 자정)
+ */
+public enum CandleInterval {
+    M1("1m", 60_000L),
+    M5("5m", 300_000L),
+    H1("1h", 3_600_000L),
+    D1("1d", 86_400_000L);
+
+    private static final long KST_OFFSET_MS = 9 * 3_600_000L;
+
+    private final String label;
+    private final long millis;
+
+    CandleInterval(String label, long millis) {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    // 시각이 속한 캔들의 시작 시각 (epoch ms)
+    public long openTimeOf(long epochMillis) {
+        return Math.floorDiv(epochMillis + KST_OFFSET_MS, millis) * millis - KST_OFFSET_MS;
+    }
+
+    public static CandleInterval of(String label) {
+        for (CandleInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(label) || interval.name().equalsIgnoreCase(label)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("❌ interval은 1m, 5m, 1h, 1d 중 하나여야 합니다: " + label);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.msaasset.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class CandleKey implements Serializable {
+    private String symbol;
+
+    @Column(name = "candle_interval", length = 4)
+    private String candleInterval; // 1m, 5m, 1h, 1d
+
+    @Column(name = "open_time")
+    private long openTime; // 구간 시작 시각 (epoch ms)
+}
@@ -0,0 +1,16 @@
+package com.example.msaasset.feed;
+
+/**
+ * 거래소 시세 피드 어댑터
+ * - 거래소별 연결/구독/파싱만 담당하고, 파싱한 틱은 Tick에 채워 TickPipeline.publish로 넘김
+ * - 저장/목표가 확인/급등락 알림/WebSocket 전달은 파이프라인이 한 번만 구현
+ * - 빈으로 등록하면 연결 상태 게이지(asset.feed.connected)가 자동으로 붙음
+ */
+public interface FeedAdapter {
+
+    // 메트릭 태그 / 로그용 이름 (upbit, kis ...)
+    String feedName();
+
+    // 업스트림 실시간 연결이 열려 있으면 true
+    boolean isConnected();
+}
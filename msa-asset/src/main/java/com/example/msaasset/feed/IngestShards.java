@@ -0,0 +1,146 @@
+package com.example.msaasset.feed;
+
+import com.example.msaasset.logging.HotPathLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 종목 id로 나눈 틱 처리 샤드 (샤드마다 링 버퍼 하나 + 전용 스레드 하나)
+ * - 같은 종목은 항상 같은 샤드 -> 종목별 처리 순서 유지, 종목 상태는 한 스레드만 씀
+ * - 수신 스레드는 링에 복사만 하고 바로 다음 프레임을 읽음 (Redis/Kafka 호출은 샤드 스레드에서)
+ * - 링이 가득 차면 수신 스레드가 빈 자리가 날 때까지 대기 (틱을 버리지 않음, 대기 횟수는 stalls로 집계)
+ * - 샤드 스레드는 할 일이 없으면 잠들고, 생산자가 깨움 (놓친 경우 대비 1ms마다 확인)
+ */
+final class IngestShards {
+
+    private static final int MAX_DRAIN_BATCH = 256;
+    private static final int IDLE_SPINS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long STALL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Shard[] shards;
+    private final TickRing.Handler handler;
+    private final HotPathLog hotLog;
+    private volatile boolean running = true;
+
+    IngestShards(int shardCount, int ringSize, TickRing.Handler handler, MeterRegistry meterRegistry, HotPathLog hotLog) {
+        this.handler = handler;
+        this.hotLog = hotLog;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringSize, meterRegistry);
+        }
+        for (Shard shard : shards) {
+            shard.worker.start();
+        }
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 종목 샤드 링에 틱 복사 (가득 차면 빈 자리가 날 때까지 대기)
+     * - 종료 중이거나 샤드 스레드 자신이 호출한 경우 호출 스레드에서 바로 처리
+     */
+    void submit(Tick tick, boolean live) {
+        Shard shard = shards[tick.symbolId() % shards.length];
+        if (!running || Thread.currentThread() == shard.worker) {
+            handler.handle(tick, live);
+            return;
+        }
+        if (!shard.ring.offer(tick, live)) {
+            shard.stalls.increment();
+            do {
+                shard.wake();
+                LockSupport.parkNanos(STALL_PARK_NANOS);
+                if (!running) {
+                    handler.handle(tick, live);
+                    return;
+                }
+            } while (!shard.ring.offer(tick, live));
+        }
+        shard.wake();
+    }
+
+    // 남은 틱을 처리하고 샤드 스레드 종료
+    void stop() {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.worker);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.worker.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Shard {
+        final TickRing ring;
+        final Thread worker;
+        final Counter stalls;
+        final Counter processed;
+        // 샤드 스레드가 잠들기 직전 true (생산자가 보고 깨움)
+        volatile boolean sleeping;
+
+        Shard(int index, int ringSize, MeterRegistry meterRegistry) {
+            this.ring = new TickRing(ringSize);
+            String shardTag = String.valueOf(index);
+            Gauge.builder("asset.ingest.shard.occupancy", ring, TickRing::size)
+                    .description("샤드 링 버퍼에 쌓인 틱 수 (용량: asset.ingest.ring-size)")
+                    .tag("shard", shardTag)
+                    .register(meterRegistry);
+            this.stalls = Counter.builder("asset.ingest.shard.stalls")
+                    .description("링 버퍼가 가득 차 수신 스레드가 대기한 횟수")
+                    .tag("shard", shardTag)
+                    .register(meterRegistry);
+            this.processed = Counter.builder("asset.ingest.shard.ticks")
+                    .description("샤드 스레드가 처리한 틱 수")
+                    .tag("shard", shardTag)
+                    .register(meterRegistry);
+            this.worker = new Thread(this::run, "ingest-shard-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        void wake() {
+            if (sleeping) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        private void run() {
+            int idle = 0;
+            while (running || !ring.isEmpty()) {
+                int drained = ring.drain(this::handle, MAX_DRAIN_BATCH);
+                if (drained > 0) {
+                    processed.increment(drained);
+                    idle = 0;
+                } else if (idle++ < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    sleeping = true;
+                    if (ring.isEmpty() && running) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                }
+            }
+        }
+
+        private void handle(Tick tick, boolean live) {
+            try {
+                handler.handle(tick, live);
+            } catch (Exception e) {
+                hotLog.error("shard", tick.symbol(), "❌ 틱 처리 실패 ({}): {}", tick.symbol(), e.getMessage(), e);
+            }
+        }
+    }
+}
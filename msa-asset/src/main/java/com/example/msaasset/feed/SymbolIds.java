@@ -0,0 +1,56 @@
+package com.example.msaasset.feed;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목 심볼 -> 0부터 연속된 정수 id (프로세스 안에서만 유효, 재시작하면 새로 부여)
+ * - 처음 본 종목만 잠금 안에서 등록하고, 이후 조회는 맵 조회 한 번
+ * - id로 배열을 바로 인덱싱할 수 있도록 빈 번호 없이 부여
+ */
+@Component
+public class SymbolIds {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[1024];
+    private volatile int size;
+
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : register(symbol);
+    }
+
+    // 없으면 -1
+    public int find(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    // 없으면 null
+    public String symbolOf(int id) {
+        String[] current = symbols;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) return existing;
+        int id = size;
+        String[] current = symbols;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+        }
+        current[id] = symbol;
+        symbols = current;
+        ids.put(symbol, id);
+        size = id + 1;
+        return id;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.msaasset.feed;
+
+import com.example.msaasset.jfr.JfrEvents;
+
+/**
+ * 거래소 공통 틱 (FeedAdapter -> TickPipeline)
+ * - 박싱 없는 기본형 필드만 사용, 수신 스레드마다 한 객체를 재사용 (set으로 덮어씀)
+ * - 가격은 소수 8자리 고정소수점(long, 약 ±920억까지)으로 보관, 파이프라인 밖으로는 double로 넘김
+ * - 파이프라인은 publish 중에만 읽고 보관하지 않음
+ */
+public final class Tick {
+
+    public static final long PRICE_SCALE = 100_000_000L;
+    // double로 정확히 표현되는 고정소수점 값 상한 (2^53), 넘으면 정수부/소수부를 나눠 변환
+    private static final long EXACT_LIMIT = 1L << 53;
+
+    private int symbolId = -1;
+    private String symbol;
+    private long price;
+    private double changeRate;
+    private double volume = Double.NaN;
+    private long exchangeTimestamp;
+    private long ingestTimestamp;
+    private TickSource source;
+    private boolean replay;
+
+    /**
+     * @param changeRate        피드 단위 그대로의 변동률 (TickSource.percentScale 참고)
+     * @param volume            누적 거래량, 없으면 NaN
+     * @param exchangeTimestamp 거래소 체결 시각 (epoch ms), 없으면 0
+     */
+    public Tick set(TickSource source, String symbol, double price, double changeRate, double volume, long exchangeTimestamp) {
+        this.source = source;
+        this.symbol = symbol;
+        this.symbolId = -1;
+        this.price = toFixed(price);
+        this.changeRate = changeRate;
+        this.volume = volume;
+        this.exchangeTimestamp = exchangeTimestamp;
+        this.ingestTimestamp = System.currentTimeMillis();
+        this.replay = false;
+        return this;
+    }
+
+    // 링 버퍼 슬롯에 값 복사 (수신 스레드의 재사용 틱을 샤드로 넘길 때)
+    Tick copyFrom(Tick other) {
+        this.symbolId = other.symbolId;
+        this.symbol = other.symbol;
+        this.price = other.price;
+        this.changeRate = other.changeRate;
+        this.volume = other.volume;
+        this.exchangeTimestamp = other.exchangeTimestamp;
+        this.ingestTimestamp = other.ingestTimestamp;
+        this.source = other.source;
+        this.replay = other.replay;
+        return this;
+    }
+
+    // 틱 저널 리플레이로 들어온 틱 (체결 시각이 과거라 지연 추적에서 제외)
+    public Tick asReplay() {
+        this.replay = true;
+        return this;
+    }
+
+    void assignSymbolId(int symbolId) {
+        this.symbolId = symbolId;
+    }
+
+    // 곱셈 오차로 1단위가 어긋나지 않도록 정수부/소수부를 나눠 변환
+    public static long toFixed(double price) {
+        long whole = (long) price;
+        return whole * PRICE_SCALE + Math.round((price - whole) * PRICE_SCALE);
+    }
+
+    public static double fromFixed(long fixed) {
+        if (Math.abs(fixed) <= EXACT_LIMIT) {
+            return fixed / (double) PRICE_SCALE;
+        }
+        return (fixed / PRICE_SCALE) + (fixed % PRICE_SCALE) / (double) PRICE_SCALE;
+    }
+
+    public int symbolId() {
+        return symbolId;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    public long fixedPrice() {
+        return price;
+    }
+
+    public double price() {
+        return fromFixed(price);
+    }
+
+    public double changeRate() {
+        return changeRate;
+    }
+
+    // 피드와 무관한 퍼센트 변동률 (+5.0 = 5% 상승)
+    public double changePercent() {
+        return changeRate * source.percentScale();
+    }
+
+    public double volume() {
+        return volume;
+    }
+
+    public long exchangeTimestamp() {
+        return exchangeTimestamp;
+    }
+
+    public long ingestTimestamp() {
+        return ingestTimestamp;
+    }
+
+    public TickSource source() {
+        return source;
+    }
+
+    public boolean isReplay() {
+        return replay;
+    }
+
+    // JFR/목표가 알림 기록용 (리플레이면 replay)
+    public String sourceTag() {
+        return replay ? JfrEvents.SOURCE_REPLAY : source.tag();
+    }
+
+    @Override
+    public String toString() {
+        return "Tick{" + sourceTag() + " " + symbol + " price=" + price() + " changeRate=" + changeRate + "}";
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.msaasset.feed;
+
+import com.example.msaasset.dto.MarketDataDTO;
+import com.example.msaasset.jfr.TickIngestedEvent;
+import com.example.msaasset.kafka.KafkaProducer;
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.service.PriceIngestService;
+import com.example.msaasset.service.ReplayAlertSink;
+import com.example.msaasset.service.TargetPriceAlertService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 거래소 피드의 공통 하류 경로 (FeedAdapter가 채운 Tick 한 건 처리)
+ * - publish: 실시간 틱 -> 메모리/Redis 저장 예약/저널/리스너(PriceIngestService) -> 목표가 확인 -> 급등락 Kafka 알림
+ * - backfill: REST 보충 조회 -> 저장만 (목표가/급등락 알림 없음, 다음 보충 조회까지 남도록 30분 TTL)
+ * - 급등락 기준은 피드와 무관하게 퍼센트로 비교 (asset.alert.surge-percent, 기본 5%)
+ * - 틱은 종목별 샤드(IngestShards)의 링 버퍼에 복사해 넘기고 샤드 스레드가 처리 (수신 스레드는 Redis/Kafka 호출 없이 반환)
+ * - 같은 종목은 항상 같은 샤드라 종목별 순서가 유지됨, asset.ingest.sharded=false면 호출 스레드에서 바로 처리
+ * - 리플레이 틱의 목표가/급등락 알림은 ReplayAlertSink가 세기만 함 (실제 사용자에게 알림이 가지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickPipeline {
+
+    static final long BACKFILL_TTL_MINUTES = 30;
+
+    private final SymbolIds symbolIds;
+    private final PriceIngestService priceIngestService;
+    private final TargetPriceAlertService targetPriceAlertService;
+    private final KafkaProducer kafkaProducer;
+    private final ReplayAlertSink replayAlertSink;
+    private final HotPathLogs hotPathLogs;
+    private final MeterRegistry meterRegistry;
+    // 어댑터가 파이프라인을 주입받으므로 생성 시점이 아닌 기동 완료 후 조회
+    private final ObjectProvider<FeedAdapter> feedAdapters;
+
+    @Value("${asset.alert.surge-percent:5.0}")
+    private double surgePercent;
+
+    @Value("${asset.ingest.sharded:true}")
+    private boolean sharded;
+
+    // 0이면 CPU 코어 수의 절반 (최소 1)
+    @Value("${asset.ingest.shards:0}")
+    private int shardCount;
+
+    // 샤드별 링 버퍼 크기 (2의 거듭제곱)
+    @Value("${asset.ingest.ring-size:8192}")
+    private int ringSize;
+
+    private HotPathLog hotLog;
+    private IngestShards shards;
+
+    @PostConstruct
+    void init() {
+        hotLog = hotPathLogs.category("pipeline", "ticks");
+        if (sharded) {
+            int count = shardCount > 0 ? shardCount : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            shards = new IngestShards(count, ringSize, this::process, meterRegistry, hotLog);
+            log.info("✅ 틱 처리 샤드 시작 (샤드: {}개, 링 크기: {})", count, ringSize);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (shards != null) {
+            shards.stop();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerFeeds() {
+        List<String> names = new ArrayList<>();
+        for (FeedAdapter adapter : feedAdapters) {
+            Gauge.builder("asset.feed.connected", adapter, feed -> feed.isConnected() ? 1.0 : 0.0)
+                    .description("거래소 실시간 피드 연결 여부 (1 = 연결)")
+                    .tag("feed", adapter.feedName())
+                    .register(meterRegistry);
+            names.add(adapter.feedName());
+        }
+        log.info("✅ 시세 피드 등록: {}", names);
+    }
+
+    /**
+     * 실시간 수신(리플레이 포함) 틱
+     */
+    public void publish(Tick tick) {
+        dispatch(tick, true);
+    }
+
+    /**
+     * REST 보충 조회 틱 (저장만)
+     */
+    public void backfill(Tick tick) {
+        dispatch(tick, false);
+    }
+
+    // 종목 id로 샤드 선택 (반환 후 호출부가 tick을 재사용해도 됨)
+    private void dispatch(Tick tick, boolean live) {
+        tick.assignSymbolId(symbolIds.idOf(tick.symbol()));
+        if (shards != null) {
+            shards.submit(tick, live);
+        } else {
+            process(tick, live);
+        }
+    }
+
+    // 샤드 스레드(또는 sharded=false면 수신 스레드)에서 실행
+    private void process(Tick tick, boolean live) {
+        TickIngestedEvent event = new TickIngestedEvent();
+        event.begin();
+        try {
+            hotLog.event();
+            String symbol = tick.symbol();
+            double price = tick.price();
+
+            long ttlMinutes = live ? tick.source().ttlMinutes() : BACKFILL_TTL_MINUTES;
+            priceIngestService.ingest(tick.symbolId(), symbol, price, tick.changeRate(), tick.volume(), tick.exchangeTimestamp(),
+                    ttlMinutes, TimeUnit.MINUTES);
+            if (!live) return;
+
+            if (hotLog.sample()) {
+                hotLog.logSample("✅ 틱 처리: {}", tick);
+            }
+
+            // 목표 가격 도달 체크 (메모리 인덱스), 리플레이 틱의 체결 시각은 과거라 지연 추적에서 제외
+            targetPriceAlertService.checkTargetPrices(symbol, price, tick.sourceTag(),
+                    tick.isReplay() ? 0L : tick.exchangeTimestamp(), tick.ingestTimestamp(), tick.isReplay());
+
+            // 변동률 ±surgePercent 이상이면 Kafka 알림 (메시지 변동률은 피드 단위 그대로)
+            if (Math.abs(tick.changePercent()) >= surgePercent) {
+                if (tick.isReplay()) {
+                    replayAlertSink.surge(symbol);
+                    return;
+                }
+                MarketDataDTO marketData = new MarketDataDTO(symbol, price, tick.changeRate());
+                if (!Double.isNaN(tick.volume())) {
+                    marketData.setVolume(tick.volume());
+                }
+                kafkaProducer.sendMarketData(marketData);
+                hotLog.info("surge", symbol, "🚀 Kafka 급등락 알림 발송: {} ({}%)", symbol, tick.changePercent());
+            }
+        } finally {
+            event.finish(tick.symbol(), tick.sourceTag(), tick.price());
+        }
+    }
+}
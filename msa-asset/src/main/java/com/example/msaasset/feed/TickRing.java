@@ -0,0 +1,96 @@
+package com.example.msaasset.feed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 샤드 하나의 고정 크기 틱 링 버퍼 (여러 생산자 -> 소비 스레드 하나)
+ * - 슬롯마다 Tick을 미리 만들어 두고 값만 복사 (틱마다 할당 없음)
+ * - 슬롯별 순번으로 생산자끼리는 CAS로 자리만 잡고, 소비자는 잠금 없이 순서대로 읽음
+ * - 가득 차면 offer가 false (대기/재시도는 호출부가 결정)
+ */
+final class TickRing {
+
+    // 소비 스레드가 링에서 꺼낸 틱 처리 (handler 안에서만 Tick 사용, 반환 후 슬롯 재사용)
+    interface Handler {
+        void handle(Tick tick, boolean live);
+    }
+
+    private final int mask;
+    private final Tick[] ticks;
+    private final boolean[] live;
+    // 슬롯별 순번: 비어 있으면 생산 위치, 채워졌으면 생산 위치 + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비 스레드만 씀 (점유율 게이지가 읽음)
+    private volatile long head;
+
+    TickRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("링 크기는 2의 거듭제곱이어야 함: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.ticks = new Tick[capacity];
+        this.live = new boolean[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            ticks[i] = new Tick();
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(Tick tick, boolean liveTick) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    ticks[index].copyFrom(tick);
+                    live[index] = liveTick;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // 다른 생산자가 먼저 자리를 잡음 -> 다시 시도
+        }
+    }
+
+    /**
+     * 소비 스레드 전용 - 채워진 슬롯을 순서대로 최대 max개 처리
+     * @return 처리한 틱 수
+     */
+    int drain(Handler handler, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            try {
+                handler.handle(ticks[index], live[index]);
+            } finally {
+                sequences.set(index, position + mask + 1);
+                head = ++position;
+            }
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
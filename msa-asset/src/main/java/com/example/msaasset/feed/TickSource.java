@@ -0,0 +1,36 @@
+package com.example.msaasset.feed;
+
+/**
+ * 틱 수신 경로 (메트릭/JFR source 태그, 변동률 단위, 실시간 수신 시 Redis TTL)
+ * - 변동률은 피드가 보낸 단위 그대로 저장 (업비트 signed_change_rate: 비율, KIS RATE: 퍼센트)
+ * - 비교가 필요하면 percentScale을 곱한 퍼센트(Tick.changePercent) 사용
+ */
+public enum TickSource {
+    UPBIT_WS("upbit-ws", 100.0, 30),
+    UPBIT_REST("upbit-rest", 100.0, 30),
+    KIS_WS("kis-ws", 1.0, 10),
+    KIS_REST("kis-rest", 1.0, 10);
+
+    private final String tag;
+    private final double percentScale;
+    private final long ttlMinutes;
+
+    TickSource(String tag, double percentScale, long ttlMinutes) {
+        this.tag = tag;
+        this.percentScale = percentScale;
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    // 피드 변동률 -> 퍼센트 배율
+    public double percentScale() {
+        return percentScale;
+    }
+
+    public long ttlMinutes() {
+        return ttlMinutes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.msaasset.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 목표가 도달 알림 Kafka 전송 요청 (이벤트 생성 + send 호출, 브로커 응답은 alert.latency 참고)
+ * - 사용자 식별 정보는 기록하지 않음
+ */
+@Name(JfrEvents.PREFIX + "AlertEmitted")
+@Label("Alert Emitted")
+@Description("목표가 도달 알림 전송 요청 시간")
+@Category({JfrEvents.CATEGORY, "Alert"})
+@StackTrace(false)
+public class AlertEmittedEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Source")
+    @Description("tick: 실시간 틱 매칭, sweep: 30초 주기 전체 점검")
+    public String source;
+
+    @Label("Condition")
+    public String condition;
+
+    @Label("Target Price")
+    public double targetPrice;
+
+    @Label("Price")
+    public double price;
+}
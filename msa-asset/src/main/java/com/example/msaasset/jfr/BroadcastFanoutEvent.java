@@ -0,0 +1,30 @@
+package com.example.msaasset.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 종목 업데이트 하나를 구독 세션 송신 버퍼에 넣기 (StockPriceWebSocketHandler.broadcastStockPriceUpdate)
+ */
+@Name(JfrEvents.PREFIX + "BroadcastFanout")
+@Label("Broadcast Fanout")
+@Description("가격 업데이트 구독 세션 전달 시간")
+@Category({JfrEvents.CATEGORY, "WebSocket"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class BroadcastFanoutEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Subscribers")
+    public int subscribers;
+
+    @Label("Queued")
+    @Description("송신 버퍼에 넣은 세션 수 (닫힌 세션 제외)")
+    public int queued;
+}
@@ -0,0 +1,22 @@
+package com.example.msaasset.jfr;
+
+/**
+ * JFR 사용자 이벤트 공통 이름/분류
+ * - 수신 경로 source 값은 TickSource 태그(upbit-ws, kis-rest ...)와 같게 맞춤
+ * - 기록 중이 아니거나 threshold보다 짧으면 shouldCommit()이 false라 필드 채우기/기록을 건너뜀
+ */
+public final class JfrEvents {
+
+    static final String PREFIX = "com.example.msaasset.";
+    static final String CATEGORY = "MSA Asset";
+
+    // 틱 저널 리플레이
+    public static final String SOURCE_REPLAY = "replay";
+
+    // 실시간 틱 매칭으로 보낸 알림 / 30초 주기 전체 점검으로 보낸 알림
+    public static final String SOURCE_TICK = "tick";
+    public static final String SOURCE_SWEEP = "sweep";
+
+    private JfrEvents() {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.msaasset.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * write-behind flush 한 번 (변경 종목 파이프라인 저장)
+ */
+@Name(JfrEvents.PREFIX + "RedisFlush")
+@Label("Redis Flush")
+@Description("Redis write-behind 파이프라인 저장 시간")
+@Category({JfrEvents.CATEGORY, "Redis"})
+@StackTrace(false)
+public class RedisFlushEvent extends jdk.jfr.Event {
+
+    @Label("Symbols")
+    @Description("저장한 종목 수")
+    public int symbols;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,34 @@
+package com.example.msaasset.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 목표가가 있는 종목의 틱 한 건 매칭 (도달한 목표의 중복 확인/Kafka 전송 포함)
+ */
+@Name(JfrEvents.PREFIX + "TargetEvaluated")
+@Label("Target Evaluated")
+@Description("틱 한 건에 대한 목표 가격 비교 시간")
+@Category({JfrEvents.CATEGORY, "Alert"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class TargetEvaluatedEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Targets")
+    @Description("비교한 목표 가격 수")
+    public int targets;
+
+    @Label("Matches")
+    @Description("도달한 목표 가격 수")
+    public int matches;
+}
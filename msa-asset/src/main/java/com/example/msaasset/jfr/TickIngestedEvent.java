@@ -0,0 +1,41 @@
+package com.example.msaasset.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 틱 한 건 처리 (수신 -> 메모리/Redis 예약/저널 -> 목표가 확인 -> ±5% 알림)
+ * - 1ms 이상 걸린 틱만 기록 (설정 파일에서 threshold로 변경)
+ */
+@Name(JfrEvents.PREFIX + "TickIngested")
+@Label("Tick Ingested")
+@Description("수신 틱 한 건 처리 시간")
+@Category({JfrEvents.CATEGORY, "Ingest"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class TickIngestedEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Price")
+    public double price;
+
+    // begin() 이후 처리가 끝나면 호출 - 기록 대상일 때만 필드를 채워 커밋
+    public void finish(String symbol, String source, double price) {
+        end();
+        if (shouldCommit()) {
+            this.symbol = symbol;
+            this.source = source;
+            this.price = price;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.msaasset.journal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 저널용 종목 번호 사전 (symbols.dict, 한 줄에 "번호,심볼")
+ * - 번호는 0부터 순서대로 부여하고 파일에 추가만 함 (재시작 후에도 같은 종목은 같은 번호)
+ * - 조회는 락 없이, 새 종목 등록만 동기화
+ */
+public final class SymbolDictionary {
+
+    private final Path file;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private BufferedWriter writer;
+
+    private SymbolDictionary(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 쓰기용으로 열기 (없으면 생성)
+     */
+    public static SymbolDictionary open(Path file) throws IOException {
+        SymbolDictionary dictionary = load(file);
+        dictionary.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return dictionary;
+    }
+
+    /**
+     * 읽기 전용으로 불러오기
+     */
+    public static SymbolDictionary load(Path file) throws IOException {
+        SymbolDictionary dictionary = new SymbolDictionary(file);
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int comma = line.indexOf(',');
+                if (comma <= 0) continue;
+                int id = Integer.parseInt(line.substring(0, comma));
+                dictionary.register(id, line.substring(comma + 1));
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * 종목 번호 (처음 보는 종목이면 새 번호 부여 후 파일에 추가)
+     */
+    public int idOf(String symbol) throws IOException {
+        Integer id = ids.get(symbol);
+        return id != null ? id : assign(symbol);
+    }
+
+    // 없으면 -1
+    public int find(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    // 없으면 null
+    public synchronized String symbolOf(int id) {
+        return id >= 0 && id < symbols.size() ? symbols.get(id) : null;
+    }
+
+    public synchronized int size() {
+        return symbols.size();
+    }
+
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private synchronized int assign(String symbol) throws IOException {
+        Integer existing = ids.get(symbol);
+        if (existing != null) return existing;
+        if (writer == null) {
+            throw new IOException("읽기 전용 종목 사전: " + file);
+        }
+
+        int id = symbols.size();
+        writer.write(id + "," + symbol);
+        writer.newLine();
+        writer.flush();
+        register(id, symbol);
+        return id;
+    }
+
+    private synchronized void register(int id, String symbol) {
+        while (symbols.size() <= id) {
+            symbols.add(null);
+        }
+        symbols.set(id, symbol);
+        ids.put(symbol, id);
+    }
+}
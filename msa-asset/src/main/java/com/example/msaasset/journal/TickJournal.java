@@ -0,0 +1,395 @@
+package com.example.msaasset.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수신 틱 저널 (메모리 맵 파일, 추가 전용)
+ * - 정규화된 틱 하나를 48바이트 고정 레코드로 기록 (형식은 TickJournalFormat)
+ * - 세그먼트 크기(기본 64MB) 또는 시간(기본 60분)이 차면 새 파일로 넘어감, 보관 기간 지난 세그먼트는 삭제
+ * - 기록은 맵 버퍼에 값 몇 개 쓰는 것뿐 (시스템 콜 없음), 디스크 반영은 전용 스레드가 주기적으로 force
+ * - 레코드 칸은 세그먼트 기록 위치를 CAS로 올려 잡음 (샤드 스레드끼리 락 없이 각자 칸에 기록)
+ * - 칸을 못 잡은(세그먼트가 찬) 스레드가 락을 잡고 넘김. 다음 세그먼트는 전용 스레드가 미리 만들어 맵핑해 두어
+ *   락 안에서는 교체만 하고, 이전 세그먼트 닫기/파일 이름 변경/만료 세그먼트 삭제는 전용 스레드에서
+ * - 파일 오류가 나면 저널만 멈추고 수신 경로는 그대로 동작
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickJournal {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${asset.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${asset.journal.dir:./data/journal}")
+    private String directory;
+
+    @Value("${asset.journal.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${asset.journal.roll-interval-minutes:60}")
+    private long rollIntervalMinutes;
+
+    @Value("${asset.journal.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${asset.journal.force-interval-ms:1000}")
+    private long forceIntervalMs;
+
+    private Path journalDir;
+    private SymbolDictionary dictionary;
+    private volatile Segment current;
+    private volatile boolean active;
+
+    // 미리 만들어 둔 다음 세그먼트 (락으로 보호, 없으면 넘어갈 때 직접 생성)
+    private Segment spare;
+    private final AtomicLong spareSequence = new AtomicLong();
+
+    // force, 다음 세그먼트 준비, 이전 세그먼트 정리를 하는 스레드
+    private ScheduledExecutorService io;
+    private Counter recordCounter;
+    private Counter rollCounter;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("⏸️ 틱 저널 비활성화 (asset.journal.enabled=false)");
+            return;
+        }
+        recordCounter = Counter.builder("asset.journal.records")
+                .description("저널에 기록한 틱 수")
+                .register(meterRegistry);
+        rollCounter = Counter.builder("asset.journal.segments.rolled")
+                .register(meterRegistry);
+
+        try {
+            journalDir = Paths.get(directory).toAbsolutePath();
+            Files.createDirectories(journalDir);
+            dictionary = SymbolDictionary.open(journalDir.resolve(TickJournalFormat.DICTIONARY_FILE));
+            recoverSpares();
+            long now = System.currentTimeMillis();
+            Segment first = Segment.create(segmentPath(now), segmentBytes);
+            first.activate(now, now + TimeUnit.MINUTES.toMillis(rollIntervalMinutes));
+            current = first;
+            active = true;
+            log.info("📼 틱 저널 세그먼트 시작: {}", first.file.getFileName());
+        } catch (IOException e) {
+            log.error("❌ 틱 저널 시작 실패 ({}): {}", directory, e.getMessage());
+            return;
+        }
+
+        io = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tick-journal-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        io.scheduleWithFixedDelay(this::force, forceIntervalMs, forceIntervalMs, TimeUnit.MILLISECONDS);
+        long startedAt = System.currentTimeMillis();
+        io.execute(() -> {
+            prepareSpare();
+            deleteExpiredSegments(startedAt);
+        });
+        log.info("✅ 틱 저널 시작: {} (세그먼트 {}MB / {}분, 보관 {}시간, 종목 사전 {}개)",
+                journalDir, segmentBytes / (1024 * 1024), rollIntervalMinutes, retentionHours, dictionary.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        synchronized (this) {
+            active = false;
+        }
+        // 이미 넘긴 정리 작업(이전 세그먼트 닫기/이름 변경)은 끝까지 실행
+        if (io != null) {
+            io.shutdown();
+            try {
+                io.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            if (spare != null) {
+                spare.discard();
+                spare = null;
+            }
+        }
+        try {
+            if (dictionary != null) dictionary.close();
+        } catch (IOException e) {
+            log.warn("⚠️ 종목 사전 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 틱 기록
+     * @param volume          누적 거래량, 없으면 NaN
+     * @param sourceTimestamp 거래소 체결 시각 (epoch ms), 없으면 0
+     */
+    public void append(String symbol, double price, double changeRate, double volume, long sourceTimestamp) {
+        if (!active) return;
+        long ingestTimestamp = System.currentTimeMillis();
+        try {
+            int symbolId = dictionary.idOf(symbol);
+            while (true) {
+                Segment segment = current;
+                if (!active || segment == null) return;
+                if (ingestTimestamp < segment.rollAt) {
+                    // 기록 중 표시 후 아직 현재 세그먼트인지 확인 (넘긴 뒤 닫기가 이 기록을 기다리도록)
+                    segment.writers.incrementAndGet();
+                    try {
+                        if (segment != current) continue;
+                        int at = segment.reserve();
+                        if (at >= 0) {
+                            segment.write(at, symbolId, price, changeRate, volume, sourceTimestamp, ingestTimestamp);
+                            break;
+                        }
+                    } finally {
+                        segment.writers.decrementAndGet();
+                    }
+                }
+                // 세그먼트가 찼거나 넘길 시각이 지남: 다른 스레드가 이미 넘겼으면 새 세그먼트에 다시 시도
+                rollIfCurrent(segment, ingestTimestamp);
+            }
+            recordCounter.increment();
+        } catch (IOException e) {
+            active = false;
+            log.error("❌ 틱 저널 기록 실패, 저널 중지: {}", e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return journalDir;
+    }
+
+    private synchronized void rollIfCurrent(Segment segment, long now) throws IOException {
+        if (active && current == segment) {
+            roll(now);
+        }
+    }
+
+    // 호출 시점에 lock 보유, 파일 작업은 미리 만든 세그먼트가 없을 때만
+    private void roll(long now) throws IOException {
+        Segment previous = current;
+        Segment next = spare;
+        spare = null;
+        if (next == null) {
+            next = Segment.create(journalDir.resolve(TickJournalFormat.spareName(spareSequence.incrementAndGet())), segmentBytes);
+        }
+        next.activate(now, now + TimeUnit.MINUTES.toMillis(rollIntervalMinutes));
+        current = next;
+        rollCounter.increment();
+
+        Segment started = next;
+        io.execute(() -> afterRoll(previous, started, now));
+    }
+
+    // 전용 스레드: 이전 세그먼트 닫기 -> 새 세그먼트를 시작 시각 이름으로 변경 -> 다음 세그먼트 준비 -> 만료 삭제
+    private void afterRoll(Segment previous, Segment started, long now) {
+        previous.close();
+        try {
+            Path target = segmentPath(now);
+            Files.move(started.file, target, StandardCopyOption.ATOMIC_MOVE);
+            started.file = target;
+            log.info("📼 틱 저널 세그먼트 시작: {}", target.getFileName());
+        } catch (IOException e) {
+            // 이름을 못 바꾸면 리더가 세그먼트를 못 찾으므로 기록 중지 (임시 파일은 다음 시작 때 복구)
+            active = false;
+            log.error("❌ 틱 저널 세그먼트 이름 변경 실패, 저널 중지: {}", e.getMessage());
+            return;
+        }
+        prepareSpare();
+        deleteExpiredSegments(now);
+    }
+
+    // 전용 스레드: 다음 세그먼트 파일 생성 + 맵핑
+    private void prepareSpare() {
+        Segment prepared;
+        try {
+            prepared = Segment.create(journalDir.resolve(TickJournalFormat.spareName(spareSequence.incrementAndGet())), segmentBytes);
+        } catch (IOException e) {
+            log.warn("⚠️ 다음 틱 저널 세그먼트 준비 실패 (넘어갈 때 직접 생성): {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (active && spare == null) {
+                spare = prepared;
+                return;
+            }
+        }
+        prepared.discard();
+    }
+
+    // 시작 시각 이름의 세그먼트 경로 (같은 이름이 있으면 1ms씩 뒤로)
+    private Path segmentPath(long start) {
+        Path file = journalDir.resolve(TickJournalFormat.segmentName(start));
+        while (Files.exists(file)) {
+            file = journalDir.resolve(TickJournalFormat.segmentName(++start));
+        }
+        return file;
+    }
+
+    // 이전 실행에서 남은 임시 세그먼트: 기록을 시작한 것(createdAt 있음)은 시작 시각 이름으로, 아니면 삭제
+    private void recoverSpares() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDir,
+                TickJournalFormat.SPARE_PREFIX + "*" + TickJournalFormat.SPARE_SUFFIX)) {
+            for (Path file : files) {
+                long createdAt = Segment.createdAt(file);
+                if (createdAt > 0) {
+                    Path target = segmentPath(createdAt);
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                    log.info("♻️ 틱 저널 임시 세그먼트 복구: {} -> {}", file.getFileName(), target.getFileName());
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void deleteExpiredSegments(long now) {
+        long cutoff = now - TimeUnit.HOURS.toMillis(retentionHours);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDir, TickJournalFormat.SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                long start = TickJournalFormat.segmentStart(file.getFileName().toString());
+                // 세그먼트 시작 + 최대 길이가 보관 기준보다 오래됐으면 삭제
+                if (start >= 0 && start + TimeUnit.MINUTES.toMillis(rollIntervalMinutes) < cutoff) {
+                    Files.deleteIfExists(file);
+                    log.info("🗑️ 보관 기간 지난 틱 저널 삭제: {}", file.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 틱 저널 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    // 락 밖에서 실행 (force 동안 기록이 막히지 않도록)
+    private void force() {
+        Segment segment = current;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+
+    // 세그먼트 파일 하나 (파일 전체를 미리 잡아 두고 맵핑)
+    private static final class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile Path file;
+        private long rollAt;
+        // 다음 레코드 칸 위치 (CAS로 예약), 칸을 잡고 아직 기록 중인 스레드 수
+        private final AtomicInteger position = new AtomicInteger(TickJournalFormat.HEADER_BYTES);
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path file, long segmentBytes) throws IOException {
+            // 맵 버퍼 인덱스가 int라 2GB 미만으로 제한
+            long bytes = Math.min(segmentBytes, Integer.MAX_VALUE);
+            long records = Math.max(1, (bytes - TickJournalFormat.HEADER_BYTES) / TickJournalFormat.RECORD_BYTES);
+            long size = TickJournalFormat.HEADER_BYTES + records * TickJournalFormat.RECORD_BYTES;
+
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(size);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, TickJournalFormat.MAGIC);
+            buffer.putInt(4, TickJournalFormat.VERSION);
+            buffer.putInt(8, TickJournalFormat.RECORD_BYTES);
+            return new Segment(file, channel, buffer);
+        }
+
+        // 기록 시작 (헤더 createdAt 0 = 아직 안 쓴 예비 세그먼트)
+        void activate(long createdAt, long rollAt) {
+            buffer.putLong(16, createdAt);
+            this.rollAt = rollAt;
+        }
+
+        // 세그먼트 파일 헤더의 createdAt, 형식이 아니면 0
+        static long createdAt(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(TickJournalFormat.HEADER_BYTES);
+                while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                }
+                if (header.hasRemaining()) return 0;
+                return header.getInt(0) == TickJournalFormat.MAGIC ? header.getLong(16) : 0;
+            }
+        }
+
+        // 레코드 한 칸 예약, 세그먼트가 찼으면 -1
+        int reserve() {
+            while (true) {
+                int at = position.get();
+                if (at + TickJournalFormat.RECORD_BYTES > buffer.capacity()) return -1;
+                if (position.compareAndSet(at, at + TickJournalFormat.RECORD_BYTES)) return at;
+            }
+        }
+
+        void write(int at, int symbolId, double price, double changeRate, double volume, long sourceTimestamp, long ingestTimestamp) {
+            buffer.putInt(at + TickJournalFormat.OFFSET_SYMBOL_ID, symbolId);
+            buffer.putInt(at + TickJournalFormat.OFFSET_FLAGS, 0);
+            buffer.putLong(at + TickJournalFormat.OFFSET_PRICE, TickJournalFormat.toFixed(price));
+            buffer.putLong(at + TickJournalFormat.OFFSET_CHANGE_RATE, TickJournalFormat.toFixed(changeRate));
+            buffer.putDouble(at + TickJournalFormat.OFFSET_VOLUME, volume);
+            buffer.putLong(at + TickJournalFormat.OFFSET_SOURCE_TIME, sourceTimestamp);
+            // 수신 시각을 마지막에 써서 기록 완료 표시
+            buffer.putLong(at + TickJournalFormat.OFFSET_INGEST_TIME, ingestTimestamp);
+        }
+
+        void close() {
+            // 넘기기 전에 칸을 잡은 기록이 끝날 때까지 대기 (값 몇 개 쓰는 것뿐이라 금방 끝남)
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (writers.get() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("⚠️ 틱 저널 세그먼트 닫기 실패: {}", e.getMessage());
+            }
+        }
+
+        // 기록하지 않은 예비 세그먼트 닫고 삭제
+        void discard() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("⚠️ 예비 틱 저널 세그먼트 삭제 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
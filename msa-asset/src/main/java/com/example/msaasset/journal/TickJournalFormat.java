@@ -0,0 +1,74 @@
+package com.example.msaasset.journal;
+
+/**
+ * 틱 저널 파일 형식 (TickJournal / TickJournalReader 공용)
+ *
+ * 세그먼트 파일: ticks-{시작 epoch ms 13자리}.journal
+ * - 미리 만들어 둔 다음 세그먼트는 next-{번호}.tmp, 기록을 시작하면 시작 시각 이름으로 바뀜 (리더는 무시)
+ * - 헤더 64바이트: magic(int) | version(int) | recordBytes(int) | reserved(int) | createdAt(long)
+ * - 이후 48바이트 고정 레코드 (big-endian)
+ *   0  symbolId(int)       - symbols.dict 의 종목 번호
+ *   4  flags(int)          - 예약 (0)
+ *   8  price(long)         - 가격 x 1e8
+ *   16 changeRate(long)    - 변동률 x 1e8 (거래소 원본 단위 그대로)
+ *   24 volume(double)      - 누적 거래량, 없으면 NaN
+ *   32 sourceTime(long)    - 거래소 체결 시각 epoch ms, 없으면 0
+ *   40 ingestTime(long)    - 수신 시각 epoch ms, 레코드 기록 완료 표시 (0이면 빈 칸)
+ * - 여러 샤드 스레드가 칸을 먼저 잡고 기록하므로 기록 중이거나 비정상 종료로 남은 빈 칸이 중간에 있을 수 있음
+ *   (빈 칸이 MAX_GAP_RECORDS개 연속이면 세그먼트 끝)
+ */
+public final class TickJournalFormat {
+
+    public static final int MAGIC = 0x544A4E4C; // "TJNL"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int RECORD_BYTES = 48;
+    public static final int MAX_GAP_RECORDS = 256;
+
+    static final int OFFSET_SYMBOL_ID = 0;
+    static final int OFFSET_FLAGS = 4;
+    static final int OFFSET_PRICE = 8;
+    static final int OFFSET_CHANGE_RATE = 16;
+    static final int OFFSET_VOLUME = 24;
+    static final int OFFSET_SOURCE_TIME = 32;
+    static final int OFFSET_INGEST_TIME = 40;
+
+    static final double FIXED_SCALE = 1e8;
+
+    static final String SEGMENT_PREFIX = "ticks-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    static final String DICTIONARY_FILE = "symbols.dict";
+    static final String SPARE_PREFIX = "next-";
+    static final String SPARE_SUFFIX = ".tmp";
+
+    private TickJournalFormat() {
+    }
+
+    static long toFixed(double value) {
+        return Math.round(value * FIXED_SCALE);
+    }
+
+    static double fromFixed(long value) {
+        return value / FIXED_SCALE;
+    }
+
+    static String segmentName(long startMillis) {
+        return String.format("%s%013d%s", SEGMENT_PREFIX, startMillis, SEGMENT_SUFFIX);
+    }
+
+    static String spareName(long sequence) {
+        return SPARE_PREFIX + sequence + SPARE_SUFFIX;
+    }
+
+    // 세그먼트 파일명의 시작 시각, 형식이 아니면 -1
+    static long segmentStart(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
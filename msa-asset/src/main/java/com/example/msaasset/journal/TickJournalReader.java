@@ -0,0 +1,108 @@
+package com.example.msaasset.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 틱 저널 읽기 (사후 분석, 캔들 재생성, 리플레이용)
+ * - 세그먼트를 시작 시각 순으로 읽기 전용 맵핑, 수신 시각(ingestTime) 기준 [from, to) 레코드만 전달
+ * - 기록 중인 세그먼트도 읽을 수 있음 (수신 시각이 0인 빈 칸은 건너뛰고, MAX_GAP_RECORDS개 연속이면 멈춤)
+ */
+public final class TickJournalReader {
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void onRecord(String symbol, double price, double changeRate, double volume,
+                      long sourceTimestamp, long ingestTimestamp);
+    }
+
+    private final Path directory;
+
+    public TickJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return 전달한 레코드 수
+     */
+    public long read(long fromMillis, long toMillis, RecordVisitor visitor) throws IOException {
+        SymbolDictionary dictionary = SymbolDictionary.load(directory.resolve(TickJournalFormat.DICTIONARY_FILE));
+        List<Path> segments = segments();
+
+        long count = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            long start = TickJournalFormat.segmentStart(segments.get(i).getFileName().toString());
+            if (start >= toMillis) break;
+            // 다음 세그먼트가 from 이전에 시작했으면 이 세그먼트는 전부 from 이전
+            // (같은 ms에 시작했으면 넘기기 직전 같은 ms 레코드가 이 세그먼트에 있을 수 있음)
+            if (i + 1 < segments.size()
+                    && TickJournalFormat.segmentStart(segments.get(i + 1).getFileName().toString()) < fromMillis) {
+                continue;
+            }
+            count += readSegment(segments.get(i), dictionary, fromMillis, toMillis, visitor);
+        }
+        return count;
+    }
+
+    // 시작 시각 오름차순 세그먼트 목록
+    public List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return segments;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, TickJournalFormat.SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                if (TickJournalFormat.segmentStart(file.getFileName().toString()) >= 0) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort((a, b) -> Long.compare(
+                TickJournalFormat.segmentStart(a.getFileName().toString()),
+                TickJournalFormat.segmentStart(b.getFileName().toString())));
+        return segments;
+    }
+
+    private static long readSegment(Path file, SymbolDictionary dictionary, long fromMillis, long toMillis,
+                                    RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TickJournalFormat.HEADER_BYTES) return 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != TickJournalFormat.MAGIC || buffer.getInt(8) != TickJournalFormat.RECORD_BYTES) {
+                throw new IOException("틱 저널 형식이 아님: " + file);
+            }
+
+            long count = 0;
+            int gap = 0;
+            for (int at = TickJournalFormat.HEADER_BYTES;
+                 at + TickJournalFormat.RECORD_BYTES <= size;
+                 at += TickJournalFormat.RECORD_BYTES) {
+                long ingestTime = buffer.getLong(at + TickJournalFormat.OFFSET_INGEST_TIME);
+                if (ingestTime == 0) {
+                    // 아직 안 쓴 칸 (다른 샤드가 기록 중이거나 세그먼트 끝)
+                    if (++gap >= TickJournalFormat.MAX_GAP_RECORDS) break;
+                    continue;
+                }
+                gap = 0;
+                if (ingestTime < fromMillis || ingestTime >= toMillis) continue;
+
+                String symbol = dictionary.symbolOf(buffer.getInt(at + TickJournalFormat.OFFSET_SYMBOL_ID));
+                if (symbol == null) continue;
+                visitor.onRecord(symbol,
+                        TickJournalFormat.fromFixed(buffer.getLong(at + TickJournalFormat.OFFSET_PRICE)),
+                        TickJournalFormat.fromFixed(buffer.getLong(at + TickJournalFormat.OFFSET_CHANGE_RATE)),
+                        buffer.getDouble(at + TickJournalFormat.OFFSET_VOLUME),
+                        buffer.getLong(at + TickJournalFormat.OFFSET_SOURCE_TIME),
+                        ingestTime);
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -23,7 +23,8 @@ public class KafkaProducer {
         try {
             String message = objectMapper.writeValueAsString(marketData);
             kafkaTemplate.send(TOPIC, marketData.getSymbol(), message);
-            log.info("🚀 Kafka 전송 완료 [{}]: {}", marketData.getSymbol(), message);
+            // 틱마다 호출될 수 있어 DEBUG (호출부가 종목별 출력 제한을 두고 INFO로 남김)
+            log.debug("🚀 Kafka 전송 완료 [{}]: {}", marketData.getSymbol(), message);
         } catch (JsonProcessingException e) {
             log.error("❌ Kafka 메시지 변환 실패: {}", e.getMessage());
         }
@@ -0,0 +1,132 @@
+package com.example.msaasset.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 틱마다 지나가는 경로(수신/브로드캐스트)용 로그 한 분류
+ * - event(): 처리 건수만 세고 로그는 남기지 않음 -> 주기 요약 줄로 출력 ("upbit: 48.2k ticks/10s, parse 3")
+ * - sample(): sampleRate건 중 1건꼴로 true, 호출한 쪽이 true일 때만 내용을 로그로 남김 (0이면 샘플 로그 없음)
+ * - info/warn/error: 종류(kind)별로 세고, 같은 kind + key(보통 종목 심볼)는 keyIntervalMillis에 한 번만 출력
+ * - 로거 이름은 hotpath.{분류}라 분류별로 로그 레벨을 따로 조정 가능
+ */
+public class HotPathLog {
+
+    private final String name;
+    private final String unit;
+    private final int sampleRate;
+    private final long keyIntervalMillis;
+    private final Logger log;
+
+    private final LongAdder events = new LongAdder();
+    // kind -> 이번 요약 구간 발생 수 (요약 줄에 이름순으로 출력)
+    private final Map<String, LongAdder> kinds = new ConcurrentSkipListMap<>();
+    // kind + key -> 마지막 출력 시각 (epoch ms)
+    private final Map<String, Long> lastLoggedAt = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+
+    public HotPathLog(String name, String unit, int sampleRate, long keyIntervalMillis) {
+        this.name = name;
+        this.unit = unit;
+        this.sampleRate = sampleRate;
+        this.keyIntervalMillis = keyIntervalMillis;
+        this.log = LoggerFactory.getLogger("hotpath." + name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void event() {
+        events.increment();
+    }
+
+    public boolean sample() {
+        if (sampleRate <= 0 || !log.isInfoEnabled()) return false;
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    // sample()이 true일 때 호출
+    public void logSample(String format, Object... args) {
+        log.info(format, args);
+    }
+
+    public void info(String kind, String key, String format, Object... args) {
+        if (count(kind, key)) log.info(format, args);
+    }
+
+    public void warn(String kind, String key, String format, Object... args) {
+        if (count(kind, key)) log.warn(format, args);
+    }
+
+    public void error(String kind, String key, String format, Object... args) {
+        if (count(kind, key)) log.error(format, args);
+    }
+
+    // kind 발생 수를 세고, 출력해도 되면 true (key가 null이면 kind 단위로 제한)
+    private boolean count(String kind, String key) {
+        kinds.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        String limitKey = key == null ? kind : kind + ':' + key;
+        long now = System.currentTimeMillis();
+        Long previous = lastLoggedAt.get(limitKey);
+        if (previous != null && now - previous < keyIntervalMillis) {
+            suppressed.increment();
+            return false;
+        }
+        // 동시에 같은 키가 들어오면 한 스레드만 출력
+        boolean won = previous == null
+                ? lastLoggedAt.putIfAbsent(limitKey, now) == null
+                : lastLoggedAt.replace(limitKey, previous, now);
+        if (!won) suppressed.increment();
+        return won;
+    }
+
+    /**
+     * 지난 요약 이후 발생 수를 한 줄로 만들고 초기화, 아무 일도 없었으면 null
+     */
+    String drainSummary(long intervalMillis) {
+        long eventCount = events.sumThenReset();
+        StringBuilder kindCounts = new StringBuilder();
+        for (Map.Entry<String, LongAdder> entry : kinds.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                kindCounts.append(", ").append(entry.getKey()).append(' ').append(count);
+            }
+        }
+        long suppressedCount = suppressed.sumThenReset();
+        if (eventCount == 0 && kindCounts.length() == 0) {
+            return null;
+        }
+
+        // 오래된 출력 기록 정리 (제한 구간이 지난 키는 다음에 다시 바로 출력되므로 지워도 같음)
+        long now = System.currentTimeMillis();
+        lastLoggedAt.values().removeIf(at -> now - at >= keyIntervalMillis);
+
+        StringBuilder summary = new StringBuilder()
+                .append(name).append(": ")
+                .append(formatCount(eventCount)).append(' ').append(unit)
+                .append('/').append(formatInterval(intervalMillis))
+                .append(kindCounts);
+        if (suppressedCount > 0) {
+            summary.append(" (생략 ").append(suppressedCount).append(')');
+        }
+        return summary.toString();
+    }
+
+    static String formatCount(long count) {
+        if (count < 10_000) return Long.toString(count);
+        if (count < 10_000_000) return String.format(Locale.ROOT, "%.1fk", count / 1_000.0);
+        return String.format(Locale.ROOT, "%.1fM", count / 1_000_000.0);
+    }
+
+    private static String formatInterval(long millis) {
+        return millis % 1000 == 0 ? (millis / 1000) + "s" : millis + "ms";
+    }
+}
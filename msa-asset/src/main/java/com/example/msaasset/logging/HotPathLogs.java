@@ -0,0 +1,54 @@
+package com.example.msaasset.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 틱 경로 로그 분류(HotPathLog) 관리 + 주기 요약 출력
+ * - asset.hotlog.sample-rate: 샘플 로그 비율 기본값 (1000 -> 1000건 중 1건), 분류별로 asset.hotlog.{분류}.sample-rate
+ * - asset.hotlog.key-interval-ms: 같은 종류 + 종목의 경고/오류를 다시 출력하기까지 최소 간격
+ * - asset.hotlog.summary-interval-ms: 분류별 처리 건수/종류별 발생 수 요약 주기
+ */
+@Slf4j
+@Component
+public class HotPathLogs {
+
+    private final Environment environment;
+    private final int defaultSampleRate;
+    private final long keyIntervalMillis;
+    private final long summaryIntervalMillis;
+
+    private final Map<String, HotPathLog> categories = new ConcurrentHashMap<>();
+
+    public HotPathLogs(Environment environment) {
+        this.environment = environment;
+        this.defaultSampleRate = environment.getProperty("asset.hotlog.sample-rate", Integer.class, 1000);
+        this.keyIntervalMillis = environment.getProperty("asset.hotlog.key-interval-ms", Long.class, 10_000L);
+        this.summaryIntervalMillis = environment.getProperty("asset.hotlog.summary-interval-ms", Long.class, 10_000L);
+    }
+
+    /**
+     * @param name 분류 이름 (upbit, kis, broadcast ...)
+     * @param unit 요약 줄에 쓸 처리 단위 (ticks, updates ...)
+     */
+    public HotPathLog category(String name, String unit) {
+        return categories.computeIfAbsent(name, key -> new HotPathLog(key, unit,
+                environment.getProperty("asset.hotlog." + key + ".sample-rate", Integer.class, defaultSampleRate),
+                keyIntervalMillis));
+    }
+
+    @Scheduled(fixedRateString = "${asset.hotlog.summary-interval-ms:10000}")
+    public void logSummaries() {
+        for (HotPathLog category : categories.values()) {
+            String summary = category.drainSummary(summaryIntervalMillis);
+            if (summary != null) {
+                log.info("📊 {}", summary);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.service.RemoteSubscriberSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * edge 노드들이 보고한 종목별 구독자 수 합산 (asset.role=ingest 전용)
+ * - EdgeSubscriberReporter가 쓴 edge별 해시를 파이프라인으로 읽어 합침 (KIS 슬롯 재배정 때마다 호출)
+ * - 해시가 만료된 edge(종료/장애)는 edge 집합에서 제거
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "ingest")
+public class EdgeSubscriberAggregator implements RemoteSubscriberSource {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Map<String, Integer> subscriberCounts() {
+        List<String> edgeIds;
+        List<Object> hashes;
+        try {
+            Set<String> edges = redisTemplate.opsForSet().members(EdgeSubscriberReporter.EDGES_KEY);
+            if (edges == null || edges.isEmpty()) {
+                return Map.of();
+            }
+            edgeIds = new ArrayList<>(edges);
+            hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String edgeId : edgeIds) {
+                    connection.hashCommands().hGetAll((EdgeSubscriberReporter.KEY_PREFIX + edgeId).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            }, redisTemplate.getStringSerializer());
+        } catch (Exception e) {
+            log.warn("⚠️ edge 구독자 수 조회 실패: {}", e.getMessage());
+            return Map.of();
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < edgeIds.size(); i++) {
+            String edgeId = edgeIds.get(i);
+            Object hash = hashes.get(i);
+            if (!(hash instanceof Map<?, ?> entries) || entries.isEmpty()) {
+                expired.add(edgeId);
+                continue;
+            }
+            entries.forEach((symbol, count) -> {
+                try {
+                    counts.merge((String) symbol, Integer.parseInt((String) count), Integer::sum);
+                } catch (NumberFormatException ignored) {
+                    // 잘못된 값은 무시
+                }
+            });
+        }
+        if (!expired.isEmpty()) {
+            // 구독자가 없어 해시를 지운 edge도 여기서 빠지지만 다음 보고 때 다시 등록됨
+            redisTemplate.opsForSet().remove(EdgeSubscriberReporter.EDGES_KEY, expired.toArray());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.websocket.StockPriceWebSocketHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * edge 노드의 종목별 구독자 수 보고 (asset.role=edge 전용)
+ * - 주기(기본 5초)마다 Redis 해시 edge_subscribers:{edgeId}를 통째로 교체 (종목 -> 구독 세션 수)
+ * - 해시에 TTL을 걸어 edge가 죽으면 수요가 저절로 빠짐. ingest의 EdgeSubscriberAggregator가 합산
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "edge")
+public class EdgeSubscriberReporter {
+
+    // 보고 중인 edge id 집합, edge별 해시 키 접두어
+    public static final String EDGES_KEY = "edge_subscribers";
+    public static final String KEY_PREFIX = "edge_subscribers:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final StockPriceWebSocketHandler webSocketHandler;
+
+    @Value("${asset.edge.id:}")
+    private String edgeId;
+
+    @Value("${asset.edge.subscriber-report-ms:5000}")
+    private long reportIntervalMs;
+
+    @Value("${asset.edge.subscriber-ttl-ms:30000}")
+    private long ttlMs;
+
+    private ScheduledExecutorService reporter;
+
+    @PostConstruct
+    void start() {
+        if (edgeId == null || edgeId.isBlank()) {
+            edgeId = UUID.randomUUID().toString();
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "edge-subscriber-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleWithFixedDelay(this::reportSafely, 0, reportIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ edge 구독자 수 보고 시작 (id: {}, 주기: {}ms)", edgeId, reportIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + edgeId);
+            redisTemplate.opsForSet().remove(EDGES_KEY, edgeId);
+        } catch (Exception e) {
+            log.warn("⚠️ edge 구독자 수 정리 실패 (TTL 후 만료): {}", e.getMessage());
+        }
+    }
+
+    private void reportSafely() {
+        try {
+            report();
+        } catch (Exception e) {
+            log.error("❌ edge 구독자 수 보고 실패", e);
+        }
+    }
+
+    private void report() {
+        Map<byte[], byte[]> counts = new HashMap<>();
+        for (String symbol : webSocketHandler.getSubscribedSymbols()) {
+            int count = webSocketHandler.getSubscriberCount(symbol);
+            if (count > 0) {
+                counts.put(symbol.getBytes(StandardCharsets.UTF_8), Integer.toString(count).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        byte[] key = (KEY_PREFIX + edgeId).getBytes(StandardCharsets.UTF_8);
+        byte[] staging = (KEY_PREFIX + edgeId + ":staging").getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (counts.isEmpty()) {
+                connection.keyCommands().del(key);
+            } else {
+                // 새 해시를 만든 뒤 RENAME으로 교체 (ingest가 반쯤 지워진 해시를 읽지 않도록)
+                connection.keyCommands().del(staging);
+                connection.hashCommands().hMSet(staging, counts);
+                connection.keyCommands().rename(staging, key);
+                connection.keyCommands().pExpire(key, ttlMs);
+            }
+            connection.setCommands().sAdd(EDGES_KEY.getBytes(StandardCharsets.UTF_8), edgeId.getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+    }
+}
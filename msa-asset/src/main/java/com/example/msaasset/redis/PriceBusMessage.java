@@ -0,0 +1,36 @@
+package com.example.msaasset.redis;
+
+/**
+ * 시세 버스 메시지 형식 ("가격|변동률|발행시각ms")
+ */
+public final class PriceBusMessage {
+
+    public static final String CHANNEL_PREFIX = "price:";
+
+    private PriceBusMessage() {
+    }
+
+    public static String encode(double price, double changeRate, long timestamp) {
+        return price + "|" + changeRate + "|" + timestamp;
+    }
+
+    /**
+     * @return [가격, 변동률, 발행시각], 형식이 다르면 null
+     */
+    public static double[] decode(String message) {
+        int first = message.indexOf('|');
+        int second = first < 0 ? -1 : message.indexOf('|', first + 1);
+        if (second < 0) {
+            return null;
+        }
+        try {
+            return new double[]{
+                    Double.parseDouble(message.substring(0, first)),
+                    Double.parseDouble(message.substring(first + 1, second)),
+                    Double.parseDouble(message.substring(second + 1))
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.service.PriceTickListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시세 버스 발행 (asset.role=ingest 전용)
+ * - 수신 틱을 종목별 최신 값만 모아 두었다가 주기(기본 50ms)마다 파이프라인 PUBLISH
+ * - 채널: price:{symbol}, 메시지: PriceBusMessage 형식
+ * - 구독 중인 edge가 없는 채널은 Redis가 바로 버리므로 발행 비용만 발생
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "ingest")
+public class PriceBusPublisher implements PriceTickListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${asset.bus.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    // 종목 심볼 -> 아직 발행 안 된 최신 메시지
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private DistributionSummary publishSize;
+
+    @PostConstruct
+    void start() {
+        publishSize = DistributionSummary.builder("asset.bus.publish.size")
+                .description("한 번에 발행한 종목 수")
+                .register(meterRegistry);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-bus-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ 시세 버스 발행 시작 (주기: {}ms)", flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onTick(String symbol, double price, double changeRate) {
+        pending.put(symbol, PriceBusMessage.encode(price, changeRate, System.currentTimeMillis()));
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("❌ 시세 버스 발행 실패", e);
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> channels = new ArrayList<>(pending.size());
+        List<byte[]> messages = new ArrayList<>(pending.size());
+        for (String symbol : pending.keySet()) {
+            String message = pending.remove(symbol);
+            if (message != null) {
+                channels.add((PriceBusMessage.CHANNEL_PREFIX + symbol).getBytes(StandardCharsets.UTF_8));
+                messages.add(message.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < channels.size(); i++) {
+                connection.publish(channels.get(i), messages.get(i));
+            }
+            return null;
+        });
+        publishSize.record(channels.size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.service.PriceIngestService;
+import com.example.msaasset.websocket.StockPriceWebSocketHandler;
+import com.example.msaasset.websocket.SymbolSubscriptionListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 시세 버스 구독 (asset.role=edge 전용)
+ * - 이 노드에 구독 세션이 있는 종목 채널만 구독 (첫 구독자 발생 시 SUBSCRIBE, 마지막 구독자 해제 시 UNSUBSCRIBE)
+ * - 받은 시세는 PriceIngestService.relay로 넘겨 로컬 WebSocket 세션에 전송
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "edge")
+public class PriceBusSubscriber implements SymbolSubscriptionListener, MessageListener {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final StockPriceWebSocketHandler webSocketHandler;
+    private final PriceIngestService priceIngestService;
+    private final HotPathLogs hotPathLogs;
+
+    private RedisMessageListenerContainer container;
+    private HotPathLog hotLog;
+
+    @PostConstruct
+    void start() {
+        hotLog = hotPathLogs.category("bus", "messages");
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+
+        webSocketHandler.addSubscriptionListener(this);
+        // 리스너 등록 전에 생긴 구독 반영
+        webSocketHandler.getSubscribedSymbols().forEach(this::onFirstSubscriber);
+        log.info("✅ 시세 버스 구독 시작 (edge)");
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @Override
+    public void onFirstSubscriber(String symbol) {
+        container.addMessageListener(this, new ChannelTopic(PriceBusMessage.CHANNEL_PREFIX + symbol));
+        log.debug("📡 시세 버스 채널 구독: {}", symbol);
+
+        // 다음 틱 전까지 보여줄 현재가는 ingest가 저장한 Redis 값으로 채움
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of("stock_prices:" + symbol, "stock_changes:" + symbol));
+            if (values != null && values.get(0) != null && values.get(1) != null) {
+                priceIngestService.relay(symbol, Double.parseDouble(values.get(0)), Double.parseDouble(values.get(1)));
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [{}] 현재가 조회 실패: {}", symbol, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onLastSubscriberGone(String symbol) {
+        container.removeMessageListener(this, new ChannelTopic(PriceBusMessage.CHANNEL_PREFIX + symbol));
+        log.debug("🔕 시세 버스 채널 구독 해제: {}", symbol);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        double[] values = PriceBusMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (values == null || !channel.startsWith(PriceBusMessage.CHANNEL_PREFIX)) {
+            hotLog.warn("invalid", null, "⚠️ 잘못된 시세 버스 메시지: {}", channel);
+            return;
+        }
+        String symbol = channel.substring(PriceBusMessage.CHANNEL_PREFIX.length());
+        hotLog.event();
+        priceIngestService.relay(symbol, values[0], values[1]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.entity.TargetPriceCondition;
+
+/**
+ * 목표 가격 변경 버스 메시지 (edge -> ingest)
+ * - 설정: "set|종목|목표가|조건|이메일", 삭제: "remove|종목|이메일" (이메일은 '|'가 있어도 되도록 마지막)
+ */
+public final class TargetBusMessage {
+
+    public static final String CHANNEL = "target-changes";
+
+    private static final String SET = "set";
+    private static final String REMOVE = "remove";
+
+    private TargetBusMessage() {
+    }
+
+    public static String encodeSet(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition) {
+        return SET + "|" + symbol + "|" + targetPrice + "|" + condition.name() + "|" + userEmail;
+    }
+
+    public static String encodeRemove(String userEmail, String symbol) {
+        return REMOVE + "|" + symbol + "|" + userEmail;
+    }
+
+    /**
+     * @return 형식이 다르면 null
+     */
+    public static Change decode(String message) {
+        try {
+            if (message.startsWith(SET + "|")) {
+                String[] parts = message.split("\\|", 5);
+                if (parts.length != 5) return null;
+                return new Change(parts[4], parts[1], Double.parseDouble(parts[2]), TargetPriceCondition.valueOf(parts[3]));
+            }
+            if (message.startsWith(REMOVE + "|")) {
+                String[] parts = message.split("\\|", 3);
+                if (parts.length != 3) return null;
+                return new Change(parts[2], parts[1], Double.NaN, null);
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * @param condition 삭제면 null
+     */
+    public record Change(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition) {
+
+        public boolean removed() {
+            return condition == null;
+        }
+    }
+}
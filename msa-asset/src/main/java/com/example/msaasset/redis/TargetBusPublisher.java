@@ -0,0 +1,57 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.entity.TargetPriceCondition;
+import com.example.msaasset.service.TargetChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 목표 가격 변경 발행 (asset.role=edge 전용)
+ * - edge로 들어온 목표가 설정/삭제를 target-changes 채널로 보내 ingest가 바로 반영 (DB 동기화 주기를 기다리지 않음)
+ * - 트랜잭션 안에서 바뀌었으면 커밋 후에 발행 (ingest의 DB 재구성이 커밋 전 값을 읽어 되돌리지 않도록)
+ * - 발행이 실패해도 ingest는 DB 동기화(5분)에서 맞춰짐
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "edge")
+public class TargetBusPublisher implements TargetChangeListener {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void onTargetSet(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition) {
+        publishAfterCommit(TargetBusMessage.encodeSet(userEmail, symbol, targetPrice, condition));
+    }
+
+    @Override
+    public void onTargetRemoved(String userEmail, String symbol) {
+        publishAfterCommit(TargetBusMessage.encodeRemove(userEmail, symbol));
+    }
+
+    private void publishAfterCommit(String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+        } else {
+            publish(message);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(TargetBusMessage.CHANNEL, message);
+        } catch (Exception e) {
+            log.error("❌ 목표 가격 변경 발행 실패 (ingest는 DB 동기화 때 반영): {}", e.getMessage());
+        }
+    }
+}
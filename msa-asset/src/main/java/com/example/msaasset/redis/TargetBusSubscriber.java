@@ -0,0 +1,66 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.service.TargetPriceAlertService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 목표 가격 변경 구독 (asset.role=ingest 전용)
+ * - edge가 발행한 설정/삭제를 목표가 인덱스에 바로 반영 (새 목표는 다음 틱부터 매칭, 삭제한 목표는 더 이상 알림 안 함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "asset.role", havingValue = "ingest")
+public class TargetBusSubscriber implements MessageListener {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TargetPriceAlertService targetPriceAlertService;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(TargetBusMessage.CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("✅ 목표 가격 변경 구독 시작 (ingest)");
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        TargetBusMessage.Change change = TargetBusMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (change == null) {
+            log.warn("⚠️ 잘못된 목표 가격 변경 메시지: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+            return;
+        }
+        // ingest에는 TargetChangeListener(발행)가 없으므로 다시 발행되지 않음
+        if (change.removed()) {
+            targetPriceAlertService.unregister(change.userEmail(), change.symbol());
+        } else {
+            targetPriceAlertService.register(change.userEmail(), change.symbol(), change.targetPrice(), change.condition());
+        }
+        log.debug("🎯 edge 목표 가격 변경 반영: [{}] {} {}", change.userEmail(), change.symbol(),
+                change.removed() ? "삭제" : change.condition() + " " + change.targetPrice());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.msaasset.redis;
+
+import com.example.msaasset.jfr.RedisFlushEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시세 Redis 저장 write-behind 버퍼
+ * - 틱마다 SET을 보내지 않고 종목별 최신 값만 메모리에 덮어씀
+ * - 주기(기본 100ms)마다 변경된 종목 전체를 파이프라인 한 번으로 저장 (stock_prices / stock_changes / stock_volumes)
+ * - 스케줄러 공용 스레드가 막혀도 저장이 밀리지 않도록 전용 스레드 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickWriteBehind {
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${asset.redis.write-behind.flush-interval-ms:100}")
+    private long flushIntervalMs;
+
+    // 종목 심볼 -> 아직 저장 안 된 최신 값
+    private final Map<String, PendingTick> dirty = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private Counter offeredCounter;
+    private DistributionSummary flushSize;
+    private Timer flushLatency;
+    private Counter flushFailures;
+
+    @PostConstruct
+    void start() {
+        offeredCounter = Counter.builder("redis.writebehind.ticks")
+                .description("write-behind 버퍼에 들어온 틱 수 (병합 전)")
+                .register(meterRegistry);
+        flushSize = DistributionSummary.builder("redis.writebehind.flush.size")
+                .description("flush 한 번에 저장한 종목 수")
+                .register(meterRegistry);
+        flushLatency = Timer.builder("redis.writebehind.flush.latency")
+                .description("flush 파이프라인 실행 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushFailures = Counter.builder("redis.writebehind.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("redis.writebehind.pending", dirty, Map::size)
+                .description("저장 대기 중인 종목 수")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ Redis write-behind 시작 (flush 주기: {}ms)", flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 종료 전 남은 값 저장
+        flushSafely();
+    }
+
+    /**
+     * 가격 + 변동률 저장 예약
+     */
+    public void write(String symbol, double price, double changeRate, long ttl, TimeUnit unit) {
+        write(symbol, price, changeRate, Double.NaN, ttl, unit);
+    }
+
+    /**
+     * 가격 + 변동률 + 거래량 저장 예약 (volume이 NaN이면 거래량은 저장 안 함)
+     */
+    public void write(String symbol, double price, double changeRate, double volume, long ttl, TimeUnit unit) {
+        dirty.put(symbol, new PendingTick(price, changeRate, volume, unit.toSeconds(ttl)));
+        offeredCounter.increment();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("❌ Redis write-behind flush 실패", e);
+        }
+    }
+
+    // 변경된 종목을 꺼내 파이프라인으로 저장, 실패하면 더 새로운 값이 없는 종목만 다시 넣음
+    void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<String> symbols = new ArrayList<>(dirty.size());
+        List<PendingTick> ticks = new ArrayList<>(dirty.size());
+        Iterator<Map.Entry<String, PendingTick>> iterator = dirty.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PendingTick> entry = iterator.next();
+            // 꺼내는 사이 새 값이 들어오면 remove 실패 -> 다음 flush에서 저장
+            if (dirty.remove(entry.getKey(), entry.getValue())) {
+                symbols.add(entry.getKey());
+                ticks.add(entry.getValue());
+            }
+        }
+        if (symbols.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        RedisFlushEvent event = new RedisFlushEvent();
+        event.begin();
+        boolean failed = false;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                RedisStringCommands commands = connection.stringCommands();
+                for (int i = 0; i < symbols.size(); i++) {
+                    String symbol = symbols.get(i);
+                    PendingTick tick = ticks.get(i);
+                    commands.setEx(bytes("stock_prices:" + symbol), tick.ttlSeconds(), bytes(String.valueOf(tick.price())));
+                    commands.setEx(bytes("stock_changes:" + symbol), tick.ttlSeconds(), bytes(String.valueOf(tick.changeRate())));
+                    if (!Double.isNaN(tick.volume())) {
+                        commands.setEx(bytes("stock_volumes:" + symbol), tick.ttlSeconds(), bytes(String.valueOf(tick.volume())));
+                    }
+                }
+                return null;
+            });
+            flushSize.record(symbols.size());
+            log.debug("📡 Redis write-behind flush: {}개 종목", symbols.size());
+        } catch (Exception e) {
+            failed = true;
+            flushFailures.increment();
+            for (int i = 0; i < symbols.size(); i++) {
+                dirty.putIfAbsent(symbols.get(i), ticks.get(i));
+            }
+            throw e;
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.symbols = symbols.size();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record PendingTick(double price, double changeRate, double volume, long ttlSeconds) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.msaasset.repository;
+
+import com.example.msaasset.entity.Candle;
+import com.example.msaasset.entity.CandleKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CandleRepository extends JpaRepository<Candle, CandleKey> {
+
+    // 키셋 페이지 조회 (openTime >= from 부터 오름차순, 다음 페이지는 마지막 openTime + 1부터)
+    @Query("SELECT c FROM Candle c WHERE c.id.symbol = :symbol AND c.id.candleInterval = :interval " +
+            "AND c.id.openTime >= :from AND c.id.openTime < :to ORDER BY c.id.openTime ASC")
+    List<Candle> findPage(@Param("symbol") String symbol,
+                          @Param("interval") String interval,
+                          @Param("from") long from,
+                          @Param("to") long to,
+                          Pageable pageable);
+}
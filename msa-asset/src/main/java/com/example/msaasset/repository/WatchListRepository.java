@@ -4,6 +4,7 @@ import com.example.msaasset.entity.WatchList;
 import com.example.msaasset.entity.Stock;
 import com.example.msaasset.entity.WatchListKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +15,8 @@ public interface WatchListRepository extends JpaRepository<WatchList, Long> {
     List<WatchList> findByIdUserEmail(String userEmail);
 
     void deleteById(WatchListKey watchListKey);
+
+    // 종목별 관심 등록 수 (symbol, count)
+    @Query("SELECT w.id.symbol, COUNT(w) FROM WatchList w GROUP BY w.id.symbol")
+    List<Object[]> countBySymbol();
 }
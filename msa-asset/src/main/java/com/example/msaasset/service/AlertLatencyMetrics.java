@@ -0,0 +1,60 @@
+package com.example.msaasset.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 틱 -> 알림 구간별 지연 히스토그램 (alert.latency, stage 태그)
+ * - 목표가 알림 이벤트의 trace 시각(epoch ms) 차이로 기록, msa-sb-alert가 이어서 나머지 구간을 기록
+ * - 거래소 체결 시각은 거래소 시계 기준이라 수신 시각보다 늦게 찍혀 있으면 버림
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertLatencyMetrics {
+
+    public enum Stage {
+        EXCHANGE_TO_INGEST("exchange_to_ingest"), // 거래소 체결 시각 -> 수신 (KIS는 초 단위 체결 시각)
+        INGEST_TO_MATCH("ingest_to_match"),       // 수신 -> 목표가 매칭
+        MATCH_TO_PRODUCE("match_to_produce"),     // 매칭 -> Kafka 전송 요청 (중복 확인 Redis 조회 포함)
+        PRODUCE_ACK("produce_ack");               // Kafka 전송 요청 -> 브로커 응답
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    @PostConstruct
+    void register() {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("alert.latency")
+                    .description("틱 수신부터 사용자 알림까지 구간별 지연")
+                    .tag("stage", stage.tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * from, to: epoch ms (0이면 해당 시각 없음 -> 기록 안 함)
+     */
+    public void record(Stage stage, long from, long to) {
+        if (from <= 0 || to <= 0 || to < from) return;
+        timers.get(stage).record(to - from, TimeUnit.MILLISECONDS);
+    }
+}
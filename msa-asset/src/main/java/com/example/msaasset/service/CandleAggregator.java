@@ -0,0 +1,260 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.config.AssetRole;
+import com.example.msaasset.dto.CandleDTO;
+import com.example.msaasset.entity.CandleInterval;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 틱 스트림 -> OHLCV 캔들 집계 (1m / 5m / 1h / 1d)
+ * - 종목별 진행 중인 캔들은 메모리에만 두고, 구간이 끝난 캔들만 큐에 넣어 JDBC 배치로 저장 (flush 한 번 = 트랜잭션 하나)
+ * - 틱이 끊긴 종목도 주기 flush에서 구간 종료 시각이 지나면 마감
+ * - 거래량은 누적 거래량(LivePriceRegistry) 차이로 계산, 누적값이 줄면 일 초기화로 보고 현재 값부터 다시 셈
+ * - 수집(ingest) 노드에서만 집계
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleAggregator implements PriceTickListener {
+
+    // 같은 캔들이 다시 저장되는 경우(재시작 전 저장된 진행 중 캔들 등)는 병합
+    private static final String UPSERT_SQL =
+            "INSERT INTO candle (symbol, candle_interval, open_time, open, high, low, close, volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE high = GREATEST(high, VALUES(high)), low = LEAST(low, VALUES(low)), " +
+            "close = VALUES(close), volume = volume + VALUES(volume)";
+
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LivePriceRegistry livePriceRegistry;
+    private final AssetRole assetRole;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${asset.candle.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${asset.candle.batch-size:500}")
+    private int batchSize;
+
+    // DB 장애 시 메모리에 쌓아 둘 마감 캔들 최대 수
+    @Value("${asset.candle.max-pending:100000}")
+    private int maxPending;
+
+    // 종목 심볼 -> 주기별 진행 중인 캔들
+    private final Map<String, SymbolCandles> openCandles = new ConcurrentHashMap<>();
+
+    // 마감됐지만 아직 저장 안 된 캔들
+    private final Queue<ClosedCandle> closedCandles = new ConcurrentLinkedQueue<>();
+
+    private ScheduledExecutorService flusher;
+    private Counter savedCounter;
+    private Counter droppedCounter;
+    private Counter flushFailures;
+
+    @PostConstruct
+    void start() {
+        savedCounter = Counter.builder("asset.candle.saved")
+                .description("DB에 저장한 마감 캔들 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("asset.candle.dropped")
+                .description("저장 대기 한도를 넘어 버린 캔들 수")
+                .register(meterRegistry);
+        flushFailures = Counter.builder("asset.candle.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("asset.candle.open.symbols", openCandles, Map::size)
+                .description("진행 중인 캔들이 있는 종목 수")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "candle-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ 캔들 집계 시작 (flush 주기: {}ms, 배치: {})", flushIntervalMs, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 진행 중인 캔들도 저장 (재시작 후 같은 구간은 UPSERT로 병합)
+        for (SymbolCandles candles : openCandles.values()) {
+            candles.closeAll(closedCandles);
+        }
+        flushSafely();
+    }
+
+    @Override
+    public void onTick(String symbol, double price, double changeRate) {
+        if (!assetRole.isIngest() || !(price > 0)) return;
+
+        double accVolume = livePriceRegistry.volume(symbol);
+        openCandles.computeIfAbsent(symbol, SymbolCandles::new)
+                .onTick(System.currentTimeMillis(), price, accVolume, closedCandles);
+    }
+
+    /**
+     * 진행 중인 캔들 (없으면 null)
+     */
+    public CandleDTO openCandle(String symbol, CandleInterval interval) {
+        SymbolCandles candles = openCandles.get(symbol);
+        return candles != null ? candles.snapshot(interval, System.currentTimeMillis()) : null;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("❌ 캔들 저장 실패", e);
+        }
+    }
+
+    void flush() {
+        long now = System.currentTimeMillis();
+        for (SymbolCandles candles : openCandles.values()) {
+            candles.closeExpired(now, closedCandles);
+        }
+
+        List<ClosedCandle> batch = new ArrayList<>();
+        ClosedCandle candle;
+        while ((candle = closedCandles.poll()) != null) {
+            batch.add(candle);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 거래량 병합(volume + VALUES(volume))이 누적이라, 실패 시 배치 전체를 롤백해야 재시도해도 두 번 더해지지 않음
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batchSize, (PreparedStatement ps, ClosedCandle c) -> {
+                        ps.setString(1, c.symbol());
+                        ps.setString(2, c.interval().getLabel());
+                        ps.setLong(3, c.openTime());
+                        ps.setDouble(4, c.open());
+                        ps.setDouble(5, c.high());
+                        ps.setDouble(6, c.low());
+                        ps.setDouble(7, c.close());
+                        ps.setDouble(8, c.volume());
+                    }));
+            savedCounter.increment(batch.size());
+            log.debug("🕯️ 캔들 저장: {}개", batch.size());
+        } catch (Exception e) {
+            flushFailures.increment();
+            // 롤백됐으므로 다음 flush에서 배치 전체를 다시 시도, 한도를 넘는 만큼은 오래된 것부터 버림
+            int keep = Math.min(batch.size(), maxPending);
+            int drop = batch.size() - keep;
+            if (drop > 0) {
+                droppedCounter.increment(drop);
+            }
+            closedCandles.addAll(batch.subList(drop, batch.size()));
+            throw e;
+        }
+    }
+
+    record ClosedCandle(String symbol, CandleInterval interval, long openTime,
+                                double open, double high, double low, double close, double volume) {
+    }
+
+    // 종목 하나의 주기별 진행 중인 캔들 (INTERVALS 순서의 병렬 배열, openTime 0 = 없음)
+    static final class SymbolCandles {
+        private final String symbol;
+        private final long[] openTime = new long[INTERVALS.length];
+        private final double[] open = new double[INTERVALS.length];
+        private final double[] high = new double[INTERVALS.length];
+        private final double[] low = new double[INTERVALS.length];
+        private final double[] close = new double[INTERVALS.length];
+        private final double[] volume = new double[INTERVALS.length];
+        private double lastAccVolume = Double.NaN;
+
+        SymbolCandles(String symbol) {
+            this.symbol = symbol;
+        }
+
+        synchronized void onTick(long now, double price, double accVolume, Queue<ClosedCandle> sink) {
+            double deltaVolume = 0;
+            if (!Double.isNaN(accVolume)) {
+                if (!Double.isNaN(lastAccVolume)) {
+                    deltaVolume = accVolume >= lastAccVolume ? accVolume - lastAccVolume : accVolume;
+                }
+                lastAccVolume = accVolume;
+            }
+
+            for (int i = 0; i < INTERVALS.length; i++) {
+                long start = INTERVALS[i].openTimeOf(now);
+                if (openTime[i] != 0 && start > openTime[i]) {
+                    emit(i, sink);
+                }
+                if (openTime[i] == 0) {
+                    openTime[i] = start;
+                    open[i] = high[i] = low[i] = price;
+                    volume[i] = 0;
+                }
+                high[i] = Math.max(high[i], price);
+                low[i] = Math.min(low[i], price);
+                close[i] = price;
+                volume[i] += deltaVolume;
+            }
+        }
+
+        // 구간 종료 시각이 지난 캔들 마감
+        synchronized void closeExpired(long now, Queue<ClosedCandle> sink) {
+            for (int i = 0; i < INTERVALS.length; i++) {
+                if (openTime[i] != 0 && now >= openTime[i] + INTERVALS[i].getMillis()) {
+                    emit(i, sink);
+                }
+            }
+        }
+
+        synchronized void closeAll(Queue<ClosedCandle> sink) {
+            for (int i = 0; i < INTERVALS.length; i++) {
+                if (openTime[i] != 0) {
+                    emit(i, sink);
+                }
+            }
+        }
+
+        synchronized CandleDTO snapshot(CandleInterval interval, long now) {
+            int i = interval.ordinal();
+            if (openTime[i] == 0 || now >= openTime[i] + interval.getMillis()) {
+                return null;
+            }
+            return new CandleDTO(openTime[i], open[i], high[i], low[i], close[i], volume[i], false);
+        }
+
+        private void emit(int i, Queue<ClosedCandle> sink) {
+            sink.add(new ClosedCandle(symbol, INTERVALS[i], openTime[i], open[i], high[i], low[i], close[i], volume[i]));
+            openTime[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.config.AssetRole;
+import com.example.msaasset.dto.CandleDTO;
+import com.example.msaasset.dto.CandlePageDTO;
+import com.example.msaasset.entity.Candle;
+import com.example.msaasset.entity.CandleInterval;
+import com.example.msaasset.repository.CandleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 차트용 캔들 조회
+ * - 마감된 캔들은 DB에서 키셋 페이지로 조회 (symbol, candle_interval, open_time 인덱스 범위 스캔)
+ * - 마지막 페이지에는 진행 중인 캔들을 메모리(CandleAggregator)에서 붙여 최신 봉이 항상 현재 값
+ * - 진행 중인 캔들은 ingest 노드에만 있음. edge 노드는 마감된 캔들만 응답하므로 이 API는 ingest로 라우팅
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleService {
+
+    private final CandleRepository candleRepository;
+    private final CandleAggregator candleAggregator;
+    private final AssetRole assetRole;
+
+    // edge에서 처음 호출될 때 한 번만 경고
+    private volatile boolean edgeWarned;
+
+    @Value("${asset.candle.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * @param from  조회 시작 시각 (epoch ms, 포함), 없으면 최근 limit개 구간
+     * @param to    조회 끝 시각 (epoch ms, 미포함), 없으면 현재 진행 중인 캔들까지
+     */
+    public CandlePageDTO getCandles(String symbol, String intervalLabel, Long from, Long to, int limit) {
+        CandleInterval interval = CandleInterval.of(intervalLabel);
+        int k = Math.max(1, Math.min(limit, maxLimit));
+        long now = System.currentTimeMillis();
+
+        long toTime = to != null ? to : now + 1;
+        long fromTime = from != null ? from : interval.openTimeOf(now) - (long) (k - 1) * interval.getMillis();
+
+        List<Candle> rows = candleRepository.findPage(symbol, interval.getLabel(), fromTime, toTime, PageRequest.of(0, k));
+        List<CandleDTO> candles = new ArrayList<>(rows.size() + 1);
+        for (Candle row : rows) {
+            candles.add(new CandleDTO(row.getId().getOpenTime(), row.getOpen(), row.getHigh(), row.getLow(),
+                    row.getClose(), row.getVolume(), true));
+        }
+
+        // 페이지가 꽉 찼으면 다음 페이지 있음 (진행 중인 캔들은 마지막 페이지에서만)
+        if (rows.size() == k) {
+            return new CandlePageDTO(symbol, interval.getLabel(), candles, candles.get(k - 1).getOpenTime() + 1);
+        }
+
+        if (assetRole.isEdge()) {
+            if (!edgeWarned) {
+                edgeWarned = true;
+                log.warn("⚠️ edge 노드에는 진행 중인 캔들이 없어 마감된 캔들만 응답합니다. /asset/{symbol}/candles는 ingest로 라우팅하세요");
+            }
+            return new CandlePageDTO(symbol, interval.getLabel(), candles, null);
+        }
+
+        CandleDTO openCandle = candleAggregator.openCandle(symbol, interval);
+        if (openCandle != null && openCandle.getOpenTime() >= fromTime && openCandle.getOpenTime() < toTime) {
+            // 재시작 전에 저장된 같은 구간 캔들이 있으면 병합 (마감 시 UPSERT와 같은 규칙)
+            int last = candles.size() - 1;
+            if (last >= 0 && candles.get(last).getOpenTime() == openCandle.getOpenTime()) {
+                candles.set(last, merge(candles.get(last), openCandle));
+            } else {
+                candles.add(openCandle);
+            }
+        }
+        return new CandlePageDTO(symbol, interval.getLabel(), candles, null);
+    }
+
+    // 저장된 부분 캔들(재시작 전) + 메모리 캔들(재시작 후): 시가는 저장 값, 종가는 메모리 값, 거래량은 합
+    private static CandleDTO merge(CandleDTO saved, CandleDTO open) {
+        return new CandleDTO(open.getOpenTime(), saved.getOpen(),
+                Math.max(saved.getHigh(), open.getHigh()), Math.min(saved.getLow(), open.getLow()),
+                open.getClose(), saved.getVolume() + open.getVolume(), false);
+    }
+}
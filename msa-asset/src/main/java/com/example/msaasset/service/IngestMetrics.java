@@ -0,0 +1,90 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.feed.TickSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수신 경로 메트릭 (/actuator/prometheus)
+ * - asset.ticks.received / asset.ticks.parse.failures: 수신 경로(TickSource 태그)별 틱 수 / 파싱 실패 수
+ * - asset.data.age: 종목별 마지막 틱 이후 경과 시간 (LivePriceRegistry 기준), 새 종목은 주기적으로 게이지 등록
+ * - 카운터는 미리 만들어 두고 틱마다 증가만 함 (수신 스레드에서 태그 조회/할당 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final LivePriceRegistry livePriceRegistry;
+
+    // 종목 수만큼 시계열이 생기므로 필요 없으면 끌 수 있음 (전체 최대값 게이지는 항상 등록)
+    @Value("${asset.metrics.data-age-per-symbol:true}")
+    private boolean dataAgePerSymbol;
+
+    private final Map<TickSource, Counter> received = new EnumMap<>(TickSource.class);
+    private final Map<TickSource, Counter> parseFailures = new EnumMap<>(TickSource.class);
+
+    // 데이터 경과 시간 게이지를 등록한 종목
+    private final Set<String> agedSymbols = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void register() {
+        for (TickSource source : TickSource.values()) {
+            received.put(source, Counter.builder("asset.ticks.received")
+                    .description("수신 경로별 틱 수")
+                    .tag("source", source.tag())
+                    .register(meterRegistry));
+            parseFailures.put(source, Counter.builder("asset.ticks.parse.failures")
+                    .description("수신 경로별 메시지 파싱 실패 수")
+                    .tag("source", source.tag())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("asset.data.age.max", this, IngestMetrics::maxAgeSeconds)
+                .description("가장 오래된 종목의 마지막 틱 이후 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void received(TickSource source) {
+        received.get(source).increment();
+    }
+
+    public void parseFailure(TickSource source) {
+        parseFailures.get(source).increment();
+    }
+
+    // 새로 시세가 들어온 종목에 경과 시간 게이지 등록 (수신 스레드가 아닌 스케줄러에서)
+    @Scheduled(fixedDelayString = "${asset.metrics.data-age-refresh-ms:10000}")
+    public void registerDataAgeGauges() {
+        if (!dataAgePerSymbol) return;
+        for (String symbol : livePriceRegistry.symbols()) {
+            if (agedSymbols.add(symbol)) {
+                Gauge.builder("asset.data.age", livePriceRegistry, registry -> ageSeconds(registry.get(symbol)))
+                        .description("종목별 마지막 틱 이후 경과 시간")
+                        .tag("symbol", symbol)
+                        .baseUnit("seconds")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private double maxAgeSeconds() {
+        long oldest = livePriceRegistry.oldestUpdatedAt();
+        return oldest == 0L ? 0.0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private static double ageSeconds(LivePriceRegistry.LivePrice price) {
+        return price == null ? Double.NaN : (System.currentTimeMillis() - price.updatedAt()) / 1000.0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.msaasset.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 시세가 들어온 종목과 최신 값 (PriceTable 조회 + 종목별 마지막 전송 값)
+ * - 최신 값은 수신 경로(PriceIngestService)가 PriceTable에 틱마다 기록, 여기서는 읽기만 함
+ * - 종목별 마지막 전송 값을 보관해 변경된 종목만 전송
+ */
+@Component
+@RequiredArgsConstructor
+public class LivePriceRegistry {
+
+    private final PriceTable priceTable;
+
+    // 종목 심볼 -> 마지막으로 WebSocket에 전송한 시세
+    private final Map<String, LivePrice> lastSent = new ConcurrentHashMap<>();
+
+    // 없으면 null
+    public LivePrice get(String symbol) {
+        PriceTable.Quote quote = priceTable.get(symbol);
+        return quote != null ? new LivePrice(quote.price, quote.changeRate, quote.volume, quote.updatedAt) : null;
+    }
+
+    // 누적 거래량, 없으면 NaN (틱마다 호출하는 경로용 - 객체 생성 없음)
+    public double volume(String symbol) {
+        return priceTable.volume(symbol);
+    }
+
+    public List<String> symbols() {
+        return priceTable.symbols();
+    }
+
+    // 가장 오래 갱신되지 않은 종목의 갱신 시각, 없으면 0
+    public long oldestUpdatedAt() {
+        return priceTable.oldestUpdatedAt();
+    }
+
+    /**
+     * 마지막 전송 값과 가격/변동률이 다르면 전송 값으로 기록하고 true
+     */
+    public boolean markSentIfChanged(String symbol, LivePrice current) {
+        LivePrice previous = lastSent.get(symbol);
+        if (previous != null && previous.price() == current.price() && previous.changeRate() == current.changeRate()) {
+            return false;
+        }
+        lastSent.put(symbol, current);
+        return true;
+    }
+
+    /**
+     * 종목 최신 시세 (volume은 없으면 NaN)
+     */
+    public record LivePrice(double price, double changeRate, double volume, long updatedAt) {
+    }
+}
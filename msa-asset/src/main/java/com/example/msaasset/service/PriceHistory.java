@@ -0,0 +1,141 @@
+package com.example.msaasset.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 최근 가격 이력 (초 단위 링 버퍼, 메모리)
+ * - 종목당 float[보관 초] 하나, 초마다 마지막 가격 한 칸 (틱이 없던 초는 직전 가격으로 채움)
+ * - 1분/5분/1시간 등 구간 변동률 계산용, 보관 초와 최대 종목 수로 메모리 상한 고정
+ *   (기본 3600초 x 4바이트 = 종목당 약 14KB, 2000종목 약 29MB)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceHistory implements PriceTickListener {
+
+    // 배열 외 종목당 대략적인 고정 비용 (링 객체, 맵 엔트리, 배열 헤더)
+    private static final int PER_SYMBOL_OVERHEAD_BYTES = 96;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${asset.history.retention-seconds:3600}")
+    private int retentionSeconds;
+
+    @Value("${asset.history.max-symbols:2000}")
+    private int maxSymbols;
+
+    // 종목 심볼 -> 가격 링
+    private final Map<String, PriceRing> rings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("asset.price.history.symbols", rings, Map::size)
+                .description("가격 이력을 보관 중인 종목 수")
+                .register(meterRegistry);
+        Gauge.builder("asset.price.history.bytes", this, PriceHistory::estimatedBytes)
+                .description("가격 이력 링 버퍼 추정 메모리 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("✅ 가격 이력 보관: {}초, 최대 {}종목 (최대 약 {}KB)",
+                retentionSeconds, maxSymbols, (long) maxSymbols * bytesPerSymbol() / 1024);
+    }
+
+    @Override
+    public void onTick(String symbol, double price, double changeRate) {
+        record(symbol, price, System.currentTimeMillis() / 1000);
+    }
+
+    void record(String symbol, double price, long epochSecond) {
+        if (!(price > 0)) return;
+        PriceRing ring = rings.get(symbol);
+        if (ring == null) {
+            // 상한을 넘으면 새 종목은 보관하지 않음 (기존 종목 이력은 유지)
+            if (rings.size() >= maxSymbols) return;
+            ring = rings.computeIfAbsent(symbol, k -> new PriceRing(retentionSeconds + 1));
+        }
+        ring.record(epochSecond, (float) price);
+    }
+
+    /**
+     * 최근 windowSeconds 동안의 변동률 (비율, 0.01 = 1%)
+     * @return 이력이 구간 전체를 덮지 않으면 NaN
+     */
+    public double change(String symbol, int windowSeconds) {
+        return change(symbol, windowSeconds, System.currentTimeMillis() / 1000);
+    }
+
+    public double change(String symbol, int windowSeconds, long nowSecond) {
+        PriceRing ring = rings.get(symbol);
+        if (ring == null || windowSeconds <= 0 || windowSeconds > retentionSeconds) return Double.NaN;
+        return ring.change(nowSecond, windowSeconds);
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    public long estimatedBytes() {
+        return (long) rings.size() * bytesPerSymbol();
+    }
+
+    private long bytesPerSymbol() {
+        return (long) (retentionSeconds + 1) * Float.BYTES + PER_SYMBOL_OVERHEAD_BYTES;
+    }
+
+    // 초 단위 가격 링 (epochSecond % 길이 위치에 저장, 보관 초 + 1칸), 종목마다 락 하나
+    private static final class PriceRing {
+        private final float[] prices;
+        private long firstSecond = -1;
+        private long lastSecond = -1;
+
+        PriceRing(int seconds) {
+            this.prices = new float[seconds];
+        }
+
+        synchronized void record(long second, float price) {
+            int length = prices.length;
+            if (lastSecond < 0) {
+                firstSecond = second;
+            } else if (second < lastSecond) {
+                return; // 시계가 뒤로 간 틱은 무시
+            } else if (second > lastSecond) {
+                // 틱 없던 초는 직전 가격으로 채움 (링 한 바퀴 이상 비었으면 처음부터)
+                float previous = prices[(int) (lastSecond % length)];
+                long gapStart = Math.max(lastSecond + 1, second - length + 1);
+                for (long s = gapStart; s < second; s++) {
+                    prices[(int) (s % length)] = previous;
+                }
+                firstSecond = Math.max(firstSecond, second - length + 1);
+            }
+            prices[(int) (second % length)] = price;
+            lastSecond = second;
+        }
+
+        synchronized double change(long nowSecond, int windowSeconds) {
+            if (lastSecond < 0) return Double.NaN;
+            long fromSecond = nowSecond - windowSeconds;
+            // 보관 구간 밖이거나 아직 구간 시작 시점 이력이 없으면 계산 안 함
+            if (fromSecond < firstSecond || fromSecond < nowSecond - prices.length + 1) return Double.NaN;
+
+            float now = priceAt(nowSecond);
+            float from = priceAt(fromSecond);
+            if (!(from > 0)) return Double.NaN;
+            return (double) now / from - 1.0;
+        }
+
+        // 마지막 틱 이후 시각은 마지막 가격 유지
+        private float priceAt(long second) {
+            long at = Math.min(second, lastSecond);
+            return prices[(int) (at % prices.length)];
+        }
+    }
+}
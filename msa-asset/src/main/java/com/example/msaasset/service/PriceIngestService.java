@@ -0,0 +1,74 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.journal.TickJournal;
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.redis.TickWriteBehind;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시세 수신 경로 공통 진입점 (업비트/KIS 실시간, REST 보조 조회, edge 노드의 시세 버스)
+ * - 메모리 시세 테이블(PriceTable) 갱신 + Redis write-behind 저장 예약 + 틱 저널 기록
+ * - msa-asset의 조회는 PriceTable을 먼저 읽고, Redis는 다른 서비스/노드를 위한 복제본
+ * - 등록된 PriceTickListener(WebSocket 푸시 등)에 틱을 바로 전달
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceIngestService {
+
+    // edge 노드가 시세 버스로 받은 값의 유효 시간 (마지막 구독자가 나간 뒤 오래된 값을 쓰지 않도록)
+    private static final long RELAY_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final PriceTable priceTable;
+    private final TickWriteBehind tickWriteBehind;
+    private final TickJournal tickJournal;
+    private final List<PriceTickListener> listeners;
+    private final HotPathLogs hotPathLogs;
+
+    private HotPathLog hotLog;
+
+    @PostConstruct
+    void init() {
+        hotLog = hotPathLogs.category("ingest", "ticks");
+    }
+
+    /**
+     * @param symbolId        SymbolIds 종목 id (TickPipeline이 틱에 붙인 값)
+     * @param volume          누적 거래량, 없으면 NaN
+     * @param sourceTimestamp 거래소 체결 시각 (epoch ms), 없으면 0
+     * @param ttl             Redis 시세 키 TTL
+     */
+    public void ingest(int symbolId, String symbol, double price, double changeRate, double volume, long sourceTimestamp,
+                       long ttl, TimeUnit unit) {
+        hotLog.event();
+        priceTable.update(symbolId, price, changeRate, volume, unit.toMillis(ttl));
+        tickWriteBehind.write(symbol, price, changeRate, volume, ttl, unit);
+        tickJournal.append(symbol, price, changeRate, volume, sourceTimestamp);
+        notifyListeners(symbol, price, changeRate);
+    }
+
+    /**
+     * edge 노드: 시세 버스로 받은 틱 반영 (Redis 저장 없이 메모리 갱신 + 리스너 전달)
+     */
+    public void relay(String symbol, double price, double changeRate) {
+        priceTable.update(symbol, price, changeRate, Double.NaN, RELAY_TTL_MILLIS);
+        notifyListeners(symbol, price, changeRate);
+    }
+
+    private void notifyListeners(String symbol, double price, double changeRate) {
+        for (PriceTickListener listener : listeners) {
+            try {
+                listener.onTick(symbol, price, changeRate);
+            } catch (Exception e) {
+                hotLog.error(listener.getClass().getSimpleName(), symbol, "❌ 틱 리스너 처리 실패 ({}): {}", symbol, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.feed.SymbolIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 종목별 최신 시세 테이블 (프로세스 메모리, 기본형 배열)
+ * - 종목 id(SymbolIds) 하나당 64바이트 슬롯: [순번, 가격, 변동률, 거래량, 갱신 시각, 만료 시각, -, -]
+ * - 1024종목 단위 페이지로 늘리고 기존 페이지는 옮기지 않음 (읽는 쪽은 잠금 없이 접근)
+ * - 쓰기: 순번을 홀수로 CAS -> 값 기록 -> 짝수로 되돌림 (같은 종목을 여러 스레드가 써도 안전)
+ * - 읽기: 순번이 짝수이고 읽기 전후 순번이 같을 때만 사용 (seqlock, 잠금/할당 없음)
+ * - 만료 시각은 Redis TTL과 같은 기준, 조회 API(getFresh)는 만료된 값을 없는 것으로 봄
+ * - asset.price-table.off-heap=true면 페이지를 direct ByteBuffer로 할당 (힙/GC 밖)
+ */
+@Component
+public class PriceTable {
+
+    static final int PAGE_BITS = 10;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int SLOT_LONGS = 8;
+
+    private static final int SEQ = 0;
+    private static final int PRICE = 1;
+    private static final int CHANGE = 2;
+    private static final int VOLUME = 3;
+    private static final int UPDATED = 4;
+    private static final int EXPIRES = 5;
+
+    private final SymbolIds symbolIds;
+    private final boolean offHeap;
+    private volatile Page[] pages = new Page[0];
+
+    public PriceTable(SymbolIds symbolIds, @Value("${asset.price-table.off-heap:false}") boolean offHeap) {
+        this.symbolIds = symbolIds;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * 심볼로 갱신 (id를 모르는 호출부: edge 시세 버스 등)
+     */
+    public void update(String symbol, double price, double changeRate, double volume, long ttlMillis) {
+        update(symbolIds.idOf(symbol), price, changeRate, volume, ttlMillis);
+    }
+
+    /**
+     * 종목 id로 갱신 (수신 경로는 TickPipeline이 붙인 id를 그대로 사용)
+     * @param volume    누적 거래량, NaN이면 이전 값 유지 (Redis stock_volumes와 같음)
+     * @param ttlMillis 0 이하면 만료 없음
+     */
+    public void update(int id, double price, double changeRate, double volume, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        update(id, price, changeRate, volume, now, ttlMillis > 0 ? now + ttlMillis : Long.MAX_VALUE);
+    }
+
+    public void update(int id, double price, double changeRate, double volume, long updatedAt, long expiresAt) {
+        Page page = pageForWrite(id);
+        int base = (id & (PAGE_SIZE - 1)) * SLOT_LONGS;
+        long seq;
+        do {
+            seq = page.getAcquire(base + SEQ);
+            if ((seq & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (page.compareAndSet(base + SEQ, seq, seq + 1)) {
+                break;
+            }
+        } while (true);
+        VarHandle.storeStoreFence();
+
+        page.set(base + PRICE, Double.doubleToRawLongBits(price));
+        page.set(base + CHANGE, Double.doubleToRawLongBits(changeRate));
+        if (!Double.isNaN(volume) || seq == 0) {
+            page.set(base + VOLUME, Double.doubleToRawLongBits(volume));
+        }
+        page.set(base + UPDATED, updatedAt);
+        page.set(base + EXPIRES, expiresAt);
+        page.setRelease(base + SEQ, seq + 2);
+    }
+
+    /**
+     * 잠금/할당 없이 into에 복사
+     * @return 값이 없으면 false (만료 여부는 보지 않음)
+     */
+    public boolean read(String symbol, Quote into) {
+        return read(symbolIds.find(symbol), into);
+    }
+
+    public boolean read(int id, Quote into) {
+        if (id < 0) return false;
+        Page[] current = pages;
+        int pageIndex = id >>> PAGE_BITS;
+        if (pageIndex >= current.length || current[pageIndex] == null) return false;
+        Page page = current[pageIndex];
+        int base = (id & (PAGE_SIZE - 1)) * SLOT_LONGS;
+
+        while (true) {
+            long seq = page.getAcquire(base + SEQ);
+            if (seq == 0) return false;
+            if ((seq & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long price = page.get(base + PRICE);
+            long change = page.get(base + CHANGE);
+            long volume = page.get(base + VOLUME);
+            long updatedAt = page.get(base + UPDATED);
+            long expiresAt = page.get(base + EXPIRES);
+            VarHandle.loadLoadFence();
+            if (page.get(base + SEQ) == seq) {
+                into.price = Double.longBitsToDouble(price);
+                into.changeRate = Double.longBitsToDouble(change);
+                into.volume = Double.longBitsToDouble(volume);
+                into.updatedAt = updatedAt;
+                into.expiresAt = expiresAt;
+                return true;
+            }
+        }
+    }
+
+    // 누적 거래량 하나만 읽음 (long 하나라 순번 확인 없이 원자적으로 읽힘), 없으면 NaN
+    public double volume(String symbol) {
+        int id = symbolIds.find(symbol);
+        if (id < 0) return Double.NaN;
+        Page[] current = pages;
+        int pageIndex = id >>> PAGE_BITS;
+        if (pageIndex >= current.length || current[pageIndex] == null) return Double.NaN;
+        Page page = current[pageIndex];
+        int base = (id & (PAGE_SIZE - 1)) * SLOT_LONGS;
+        return page.getAcquire(base + SEQ) == 0 ? Double.NaN : Double.longBitsToDouble(page.getAcquire(base + VOLUME));
+    }
+
+    // 없으면 null (만료 여부는 보지 않음)
+    public Quote get(String symbol) {
+        Quote quote = new Quote();
+        return read(symbol, quote) ? quote : null;
+    }
+
+    // 없거나 만료됐으면 null
+    public Quote getFresh(String symbol) {
+        Quote quote = get(symbol);
+        return quote != null && quote.isFresh(System.currentTimeMillis()) ? quote : null;
+    }
+
+    // 값이 들어온 적 있는 종목 (id 순서)
+    public List<String> symbols() {
+        List<String> symbols = new ArrayList<>();
+        Quote quote = new Quote();
+        int size = symbolIds.size();
+        for (int id = 0; id < size; id++) {
+            if (read(id, quote)) {
+                symbols.add(symbolIds.symbolOf(id));
+            }
+        }
+        return symbols;
+    }
+
+    // 가장 오래 갱신되지 않은 종목의 갱신 시각, 없으면 0
+    public long oldestUpdatedAt() {
+        long oldest = Long.MAX_VALUE;
+        Quote quote = new Quote();
+        int size = symbolIds.size();
+        for (int id = 0; id < size; id++) {
+            if (read(id, quote)) {
+                oldest = Math.min(oldest, quote.updatedAt);
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0L : oldest;
+    }
+
+    private Page pageForWrite(int id) {
+        int pageIndex = id >>> PAGE_BITS;
+        Page[] current = pages;
+        if (pageIndex < current.length && current[pageIndex] != null) {
+            return current[pageIndex];
+        }
+        return grow(pageIndex);
+    }
+
+    private synchronized Page grow(int pageIndex) {
+        Page[] current = pages;
+        if (pageIndex >= current.length) {
+            current = Arrays.copyOf(current, Math.max(pageIndex + 1, current.length * 2));
+        }
+        if (current[pageIndex] == null) {
+            current[pageIndex] = offHeap ? new DirectPage() : new HeapPage();
+        }
+        pages = current;
+        return current[pageIndex];
+    }
+
+    /**
+     * 종목 시세 한 건 (읽을 때마다 덮어쓰는 용도로 재사용 가능)
+     */
+    public static final class Quote {
+        public double price;
+        public double changeRate;
+        // 없으면 NaN
+        public double volume;
+        public long updatedAt;
+        public long expiresAt;
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+    }
+
+    // 슬롯 저장소 (힙 long[] 또는 direct ByteBuffer), 인덱스 단위는 long 하나
+    private abstract static class Page {
+        abstract long get(int index);
+
+        abstract long getAcquire(int index);
+
+        abstract void set(int index, long value);
+
+        abstract void setRelease(int index, long value);
+
+        abstract boolean compareAndSet(int index, long expected, long value);
+    }
+
+    private static final class HeapPage extends Page {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+        private final long[] slots = new long[PAGE_SIZE * SLOT_LONGS];
+
+        long get(int index) {
+            return slots[index];
+        }
+
+        long getAcquire(int index) {
+            return (long) LONGS.getAcquire(slots, index);
+        }
+
+        void set(int index, long value) {
+            slots[index] = value;
+        }
+
+        void setRelease(int index, long value) {
+            LONGS.setRelease(slots, index, value);
+        }
+
+        boolean compareAndSet(int index, long expected, long value) {
+            return LONGS.compareAndSet(slots, index, expected, value);
+        }
+    }
+
+    private static final class DirectPage extends Page {
+        private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+        // 원자적 접근은 8바이트 정렬 위치에서만 가능
+        private final ByteBuffer slots = ByteBuffer.allocateDirect(PAGE_SIZE * SLOT_LONGS * Long.BYTES + Long.BYTES)
+                .alignedSlice(Long.BYTES);
+
+        long get(int index) {
+            return (long) LONGS.get(slots, index * Long.BYTES);
+        }
+
+        long getAcquire(int index) {
+            return (long) LONGS.getAcquire(slots, index * Long.BYTES);
+        }
+
+        void set(int index, long value) {
+            LONGS.set(slots, index * Long.BYTES, value);
+        }
+
+        void setRelease(int index, long value) {
+            LONGS.setRelease(slots, index * Long.BYTES, value);
+        }
+
+        boolean compareAndSet(int index, long expected, long value) {
+            return LONGS.compareAndSet(slots, index * Long.BYTES, expected, value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.msaasset.service;
+
+/**
+ * 시세 틱 수신 콜백 (PriceIngestService가 수신 스레드에서 바로 호출)
+ * - 구현체는 블로킹 작업 없이 빨리 반환해야 함
+ */
+public interface PriceTickListener {
+
+    void onTick(String symbol, double price, double changeRate);
+}
@@ -0,0 +1,14 @@
+package com.example.msaasset.service;
+
+import java.util.Map;
+
+/**
+ * 다른 노드(edge)에 붙은 WebSocket 구독자 수 (ingest/edge 분리 구성에서 KIS 슬롯 배분 수요로 사용)
+ */
+public interface RemoteSubscriberSource {
+
+    /**
+     * @return 종목 심볼 -> 모든 edge의 구독 세션 수 합
+     */
+    Map<String, Integer> subscriberCounts();
+}
@@ -0,0 +1,65 @@
+package com.example.msaasset.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리플레이 틱의 알림 대상 (Kafka/Redis로 보내지 않고 개수만 셈)
+ * - 리플레이가 실제 사용자에게 목표가/급등락 알림을 보내거나 alert_sent:* 기록을 남기지 않도록 TickPipeline이 대신 호출
+ * - 목표가 알림은 실제 경로처럼 사용자+종목당 한 번만 셈 (리플레이를 시작할 때 초기화)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplayAlertSink {
+
+    private final MeterRegistry meterRegistry;
+
+    // 이번 리플레이에서 이미 센 목표가 알림 (userEmail:symbol)
+    private final Map<String, Boolean> targetAlerts = new ConcurrentHashMap<>();
+
+    private Counter targetCounter;
+    private Counter surgeCounter;
+
+    @PostConstruct
+    void registerMeters() {
+        targetCounter = Counter.builder("asset.replay.alerts")
+                .description("리플레이 중 보내지 않고 센 알림 수")
+                .tag("type", "target")
+                .register(meterRegistry);
+        surgeCounter = Counter.builder("asset.replay.alerts")
+                .description("리플레이 중 보내지 않고 센 알림 수")
+                .tag("type", "surge")
+                .register(meterRegistry);
+    }
+
+    public void targetReached(String userEmail, String symbol) {
+        if (targetAlerts.putIfAbsent(userEmail + ":" + symbol, Boolean.TRUE) == null) {
+            targetCounter.increment();
+        }
+    }
+
+    public void surge(String symbol) {
+        surgeCounter.increment();
+    }
+
+    public long targetAlerts() {
+        return (long) targetCounter.count();
+    }
+
+    public long surgeAlerts() {
+        return (long) surgeCounter.count();
+    }
+
+    // 새 리플레이 시작 시 호출
+    public void reset() {
+        targetAlerts.clear();
+    }
+}
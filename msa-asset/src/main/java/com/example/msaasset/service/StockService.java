@@ -2,8 +2,14 @@ package com.example.msaasset.service;
 
 import com.example.msaasset.client.KisClient;
 import com.example.msaasset.client.UpbitClient;
+import com.example.msaasset.config.AssetRole;
 import com.example.msaasset.dto.*;
 import com.example.msaasset.entity.*;
+import com.example.msaasset.feed.Tick;
+import com.example.msaasset.feed.TickPipeline;
+import com.example.msaasset.feed.TickSource;
+import com.example.msaasset.jfr.AlertEmittedEvent;
+import com.example.msaasset.jfr.JfrEvents;
 import com.example.msaasset.repository.StockRepository;
 import com.example.msaasset.repository.TargetPriceRepository;
 import com.example.msaasset.repository.WatchListRepository;
@@ -39,10 +45,17 @@ public class StockService {
     private final StringRedisTemplate redisTemplate;
     private final StockPriceWebSocketHandler webSocketHandler;
     private final WebSocketSubscriptionManager subscriptionManager;
+    private final TargetPriceAlertService targetPriceAlertService;
+    private final TickPipeline tickPipeline;
+    private final PriceTable priceTable;
+    private final IngestMetrics ingestMetrics;
+    private final TopMoversIndex topMoversIndex;
+    private final AssetRole assetRole;
 
 
     @PostConstruct
     public void initializeStockDataFromUpbit() {
+        if (!assetRole.connectsUpstream()) return; // 업스트림 조회는 ingest 노드에서만
         try {
             log.info("Upbit 종목 데이터 초기화 시작");
 
@@ -103,21 +116,40 @@ public class StockService {
 
 
 
+    // 최신 시세: 메모리 테이블(PriceTable) 우선, 없거나 만료됐으면 Redis 복제본 (edge 노드, 다른 노드가 받은 종목)
+    // 둘 다 없으면 null
+    private PriceTable.Quote latestQuote(String symbol) {
+        PriceTable.Quote quote = priceTable.getFresh(symbol);
+        if (quote != null) {
+            return quote;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(
+                List.of("stock_prices:" + symbol, "stock_changes:" + symbol, "stock_volumes:" + symbol));
+        if (values == null || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        quote = new PriceTable.Quote();
+        quote.price = safeParseDouble(values.get(0));
+        quote.changeRate = safeParseDouble(values.get(1));
+        quote.volume = values.get(2) != null ? safeParseDouble(values.get(2)) : Double.NaN;
+        return quote;
+    }
+
+
     //종목검색 리뉴얼
     public List<StockResponseDTO> searchStocks(String keyword) {
         List<Stock> stocks = stockRepository.searchStocks(keyword);
 
         return stocks.stream().map(stock -> {
-            // 최신 가격 및 변동률 Redis에서 가져오기
-            String price = redisTemplate.opsForValue().get("stock_prices:" + stock.getSymbol());
-            String changeRate = redisTemplate.opsForValue().get("stock_changes:" + stock.getSymbol());
+            // 최신 가격 및 변동률 (메모리 테이블 -> Redis)
+            PriceTable.Quote quote = latestQuote(stock.getSymbol());
 
             return new StockResponseDTO(
                     stock.getSymbol(),
                     stock.getKoreanName(),  //
                     stock.getEnglishName(), //
-                    safeParseDouble(price),
-                    safeParseDouble(changeRate)
+                    quote != null ? quote.price : 0.0,
+                    quote != null ? quote.changeRate : 0.0
             );
         }).collect(Collectors.toList());
     }
@@ -127,22 +159,25 @@ public class StockService {
     @Scheduled(fixedRate = 30000)
     @Transactional
     public void checkTargetPricesAndNotify() throws JsonProcessingException {
+        if (!assetRole.isIngest()) return; // 수집 작업은 ingest 노드에서만
         List<TargetPrice> targetPrices = targetPriceRepository.findAll();
 
         for (TargetPrice target : targetPrices) {
             String symbol = target.getId().getSymbol();
 
-            // Redis에서 현재 가격 조회
-            String currentPriceStr = redisTemplate.opsForValue().get("stock_prices:" + symbol);
-            if (currentPriceStr == null) continue;
+            // 현재 가격 조회 (메모리 테이블 -> Redis)
+            PriceTable.Quote quote = latestQuote(symbol);
+            if (quote == null) continue;
 
-            double currentPrice = Double.parseDouble(currentPriceStr);
+            double currentPrice = quote.price;
 
             // 목표 가격 조건 체크
             if ((target.getCondition() == TargetPriceCondition.ABOVE && currentPrice >= target.getTargetPrice()) ||
                     (target.getCondition() == TargetPriceCondition.BELOW && currentPrice <= target.getTargetPrice())) {
 
                 // Kafka 이벤트 전송
+                AlertEmittedEvent event = new AlertEmittedEvent();
+                event.begin();
                 Map<String, Object> message = new HashMap<>();
                 message.put("userEmail", target.getId().getUserEmail());
                 message.put("symbol", symbol);
@@ -152,10 +187,20 @@ public class StockService {
                 message.put("timestamp", System.currentTimeMillis());
 
                 kafkaTemplate.send("target-price-alert", objectMapper.writeValueAsString(message));
+                event.end();
+                if (event.shouldCommit()) {
+                    event.symbol = symbol;
+                    event.source = JfrEvents.SOURCE_SWEEP;
+                    event.condition = target.getCondition().name();
+                    event.targetPrice = target.getTargetPrice();
+                    event.price = currentPrice;
+                    event.commit();
+                }
                 log.info("🎯 Kafka 목표 가격 도달 알림 전송: {} - 현재가: {}", symbol, currentPrice);
 
                 // 목표 달성 후 삭제
                 targetPriceRepository.delete(target);
+                targetPriceAlertService.unregister(target.getId().getUserEmail(), symbol);
             }
         }
     }
@@ -191,6 +236,9 @@ public class StockService {
         redisTemplate.expire("target_prices", 7, TimeUnit.DAYS);
         redisTemplate.expire("target_conditions", 7, TimeUnit.DAYS);
 
+        // 실시간 체크용 메모리 인덱스 반영
+        targetPriceAlertService.register(userEmail, symbol, targetPrice, condition);
+
         log.info("🎯 목표 가격 설정: [{}] {} {} → {}", userEmail, symbol, condition.name(), targetPrice);
     }
 
@@ -229,9 +277,8 @@ public class StockService {
         // 종목 상세 페이지 접근 시 해당 종목 구독
         subscriptionManager.subscribeToSymbol(symbol);
 
-        // 기존 로직
-        String price = redisTemplate.opsForValue().get("stock_prices:" + symbol);
-        String changeRate = redisTemplate.opsForValue().get("stock_changes:" + symbol);
+        // 현재가 & 변동률 (메모리 테이블 -> Redis)
+        PriceTable.Quote quote = latestQuote(symbol);
 
         Stock stock = stockRepository.findBySymbol(symbol)
                 .orElseThrow(() -> new RuntimeException("해당 종목을 찾을 수 없습니다: " + symbol));
@@ -240,133 +287,39 @@ public class StockService {
                 stock.getSymbol(),
                 stock.getKoreanName(),
                 stock.getEnglishName(),
-                price != null ? Double.parseDouble(price) : 0.0,
-                changeRate != null ? Double.parseDouble(changeRate) : 0.0
+                quote != null ? quote.price : 0.0,
+                quote != null ? quote.changeRate : 0.0
         );
     }
 
 
-    @Scheduled(fixedRate = 60000) // 1분마다 실행
-    public void updateTopMoversInRedis() {
-        log.info("🔄 변동률 상위 종목(급상승 + 급하락) 업데이트 시작");
-
-        List<Stock> allStocks = stockRepository.findAll();
-        Map<String, Double> stockChangeRates = new HashMap<>();
-        Map<String, Double> cryptoChangeRates = new HashMap<>();
-
-        for (Stock stock : allStocks) {
-            String changeRateStr = redisTemplate.opsForValue().get("stock_changes:" + stock.getSymbol());
-            if (changeRateStr != null) {
-                double changeRate = Double.parseDouble(changeRateStr);
-
-                // 가격 저장
-                redisTemplate.opsForValue().set("stock_prices:" + stock.getSymbol(), String.valueOf(stock.getPrice()));
-
-                // 이름 저장 (null 방지)
-                String koreanName = redisTemplate.opsForValue().get("stock_korean_names:" + stock.getSymbol());
-                String englishName = redisTemplate.opsForValue().get("stock_english_names:" + stock.getSymbol());
-
-                if (koreanName == null) {
-                    koreanName = (stock.getKoreanName() != null) ? stock.getKoreanName() : "";
-                    redisTemplate.opsForValue().set("stock_korean_names:" + stock.getSymbol(), koreanName);
-                }
-
-                if (englishName == null) {
-                    englishName = (stock.getEnglishName() != null) ? stock.getEnglishName() : "";
-                    redisTemplate.opsForValue().set("stock_english_names:" + stock.getSymbol(), englishName);
-                }
-
-                // 급등/급락 정렬
-                if (stock.getSymbol().contains("-")) {
-                    cryptoChangeRates.put(stock.getSymbol(), Math.abs(changeRate)); // 암호화폐 변동률도 절대값 적용
-                } else {
-                    stockChangeRates.put(stock.getSymbol(), Math.abs(changeRate)); // 기존대로 주식도 절대값 적용
-                }
-
-            }
-        }
-
-        // **급등/급락 주식 상위 3개**
-        List<Map.Entry<String, Double>> topStocks = stockChangeRates.entrySet()
-                .stream()
-                .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
-                .limit(3)
-                .toList();
-
-        // **급등/급락 암호화폐 상위 3개**
-        List<Map.Entry<String, Double>> topCryptos = cryptoChangeRates.entrySet()
-                .stream()
-                .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
-                .limit(3)
-                .toList();
-
-        // 기존 Redis 데이터 삭제 후 업데이트
-        redisTemplate.delete("top_movers_stocks");
-        redisTemplate.delete("top_movers_cryptos");
-
-        for (var stock : topStocks) {
-            redisTemplate.opsForZSet().add("top_movers_stocks", stock.getKey(), stock.getValue());
-        }
-        for (var crypto : topCryptos) {
-            redisTemplate.opsForZSet().add("top_movers_cryptos", crypto.getKey(), crypto.getValue());
-        }
-
-        log.info("✅ 급등/급락 상위 3개 (주식 + 암호화폐) Redis 업데이트 완료");
-    }
-
-
-
-
-
-    public List<StockResponseDTO> getTopStocksFromRedis(String redisKey) {
-        Set<String> topSymbols = redisTemplate.opsForZSet().reverseRange(redisKey, 0, 2);
-        List<StockResponseDTO> stockList = new ArrayList<>();
-
-        if (topSymbols == null || topSymbols.isEmpty()) {
-            log.warn("⚠️ Redis에서 `{}` 데이터 없음. 업데이트 필요", redisKey);
-            return new ArrayList<>();
-        }
-
-        for (String symbol : topSymbols) {
-            String price = redisTemplate.opsForValue().get("stock_prices:" + symbol);
-            String changeRate = redisTemplate.opsForValue().get("stock_changes:" + symbol);
-            String koreanName = redisTemplate.opsForValue().get("stock_korean_names:" + symbol);
-            String englishName = redisTemplate.opsForValue().get("stock_english_names:" + symbol);
-
-            if (price == null || changeRate == null) {
-                log.warn("⚠️ Redis에서 데이터 없음: {} (이름: {}, 가격: {}, 변동률: {})", symbol, koreanName, price, changeRate);
-                continue;
-            }
-
-            // 한글 이름이 있으면 한글, 없으면 영어 이름, 둘 다 없으면 symbol 사용
-            String displayName = (koreanName != null && !koreanName.isEmpty()) ? koreanName
-                    : (englishName != null && !englishName.isEmpty()) ? englishName
-                    : symbol;
-
-            stockList.add(new StockResponseDTO(
-                    symbol,
-                    displayName,
-                    null,
-                    Double.parseDouble(price),
-                    Double.parseDouble(changeRate)
-            ));
+    /**
+     * 변동률 상위 종목 (메모리 인덱스, Redis/DB 조회 없음)
+     * - market 없으면 기존 형식: 주식(KRX + NASDAQ)과 암호화폐 각각 변동률 절댓값 상위 limit개
+     * - market 지정 시 해당 시장의 급상승(GAINERS) 또는 급하락(LOSERS) 상위 limit개
+     * - window(1m/5m/1h) 지정 시 일간 변동률 대신 최근 구간 변동률 기준
+     */
+    public List<StockResponseDTO> getTopMovers(TopMoversIndex.Market market, TopMoversIndex.Direction direction,
+                                               String window, int limit) {
+        TopMoversIndex.Window rollingWindow = window != null ? TopMoversIndex.Window.of(window) : null;
+        if (market != null) {
+            return rollingWindow != null
+                    ? topMoversIndex.top(market, direction, rollingWindow, limit)
+                    : topMoversIndex.top(market, direction, limit);
         }
-        return stockList;
+        List<StockResponseDTO> finalList = new ArrayList<>();
+        finalList.addAll(topMoversIndex.topAbsolute(limit, rollingWindow, TopMoversIndex.Market.KRX, TopMoversIndex.Market.NASDAQ));
+        finalList.addAll(topMoversIndex.topAbsolute(limit, rollingWindow, TopMoversIndex.Market.UPBIT_KRW));
+        return finalList;
     }
 
 
-
-
-
-
-
-
-
     // 목표 가격 삭제 리뉴얼
     public void removeTargetPrice(String email, String symbol) {
         redisTemplate.opsForHash().delete("target_prices", email + ":" + symbol);
         redisTemplate.opsForHash().delete("target_conditions", email + ":" + symbol);
         targetPriceRepository.deleteById(new TargetPriceKey(email, symbol));
+        targetPriceAlertService.unregister(email, symbol);
         log.info("🗑️ 목표 가격 삭제: [{}] {}", email, symbol);
     }
 
@@ -385,28 +338,23 @@ public class StockService {
     // redis->db 저장....필요한가
     @Scheduled(fixedRate = 30000) // 5분마다 실행
     public void saveRedisDataToDatabase() {
+        if (!assetRole.isIngest()) return; // 수집 작업은 ingest 노드에서만
         List<Stock> assets = stockRepository.findAll();
 
         for (Stock asset : assets) {
             try {
-                // Redis에서 가격 및 변동률 가져오기
-                String priceStr = redisTemplate.opsForValue().get("stock_prices:" + asset.getSymbol());
-                String changeRateStr = redisTemplate.opsForValue().get("stock_changes:" + asset.getSymbol());
-
-                double price = safeParseDouble(priceStr);
-                double changeRate = safeParseDouble(changeRateStr);
-
-                String volumeStr = redisTemplate.opsForValue().get("stock_volumes:" + asset.getSymbol());
+                // 가격, 변동률, 거래량 가져오기 (메모리 테이블 -> Redis)
+                PriceTable.Quote quote = latestQuote(asset.getSymbol());
 
-                if (priceStr != null && changeRateStr != null) {
-                    asset.setPrice(Double.parseDouble(priceStr));
-                    asset.setChangeRate(Double.parseDouble(changeRateStr));
-                    asset.setVolume(volumeStr != null ? Double.parseDouble(volumeStr) : null);
+                if (quote != null) {
+                    asset.setPrice(quote.price);
+                    asset.setChangeRate(quote.changeRate);
+                    asset.setVolume(Double.isNaN(quote.volume) ? null : quote.volume);
 
                     stockRepository.save(asset);
                     log.info("✅ DB 가격 업데이트 완료: [{}] {} → {}원 (변동률: {}%)", asset.getId(), asset.getSymbol(), asset.getPrice(), asset.getChangeRate());
                 } else {
-                    log.warn("⚠️ Redis에 가격 데이터 없음: {}", asset.getSymbol());
+                    log.warn("⚠️ 가격 데이터 없음: {}", asset.getSymbol());
                 }
             } catch (Exception e) {
                 log.error("❌ 가격 업데이트 실패: {}", asset.getSymbol(), e);
@@ -418,6 +366,7 @@ public class StockService {
 
     @Scheduled(fixedRate = 300000)
     public void loadTargetPricesToRedis() {
+        if (!assetRole.isIngest()) return; // 수집 작업은 ingest 노드에서만
         List<TargetPrice> targetPrices = targetPriceRepository.findAll();
 
         for (TargetPrice target : targetPrices) {
@@ -425,6 +374,9 @@ public class StockService {
             redisTemplate.opsForHash().put("target_conditions", target.getId().getUserEmail() + ":" + target.getId().getSymbol(), target.getCondition().name());
         }
 
+        // 실시간 체크용 메모리 인덱스도 DB 기준으로 재구성
+        targetPriceAlertService.reload(targetPrices);
+
         log.info("✅ 목표 가격 DB → Redis 동기화 완료 ({} 개)", targetPrices.size());
     }
 
@@ -458,12 +410,14 @@ public class StockService {
         redisTemplate.opsForHash().delete("target_prices", userEmail + ":" + symbol);
         redisTemplate.opsForHash().delete("target_conditions", userEmail + ":" + symbol);
         targetPriceRepository.deleteById(new TargetPriceKey(userEmail, symbol));
+        targetPriceAlertService.unregister(userEmail, symbol);
         log.info("🗑️ 관심 종목 및 목표 가격 삭제: [{}] {}", userEmail, symbol);
     }
 
 
     @Scheduled(fixedRate = 30000) // 30초마다 실행
     public void updateCryptoDataFromRestApi() {
+        if (!assetRole.connectsUpstream()) return; // 업스트림 조회는 ingest 노드에서만
         log.info("🔄 암호화폐 데이터 REST API 업데이트 시작");
 
         // 모든 암호화폐 심볼 가져오기 (KRW 마켓만)
@@ -490,17 +444,15 @@ public class StockService {
     }
 
 
-    @Scheduled(fixedRate = 10000) // 5초마다 가격 업데이트하고 웹소켓
+    @Scheduled(fixedRate = 10000) // 10초마다 시세가 없는 주식 REST 보충
     public void updateStockPrices() {
+        if (!assetRole.connectsUpstream()) return; // 업스트림 조회는 ingest 노드에서만
         // 카테고리 ID가 1(국내) 또는 2(해외)인 주식만 조회
         List<Stock> stocks = stockRepository.findByCategoryIdIn(Arrays.asList(1, 2));
 
         for (Stock stock : stocks) {
-            String priceStr = redisTemplate.opsForValue().get("stock_prices:" + stock.getSymbol());
-            String changeRateStr = redisTemplate.opsForValue().get("stock_changes:" + stock.getSymbol());
-
-            // Redis에 데이터가 없으면 REST API로 데이터 가져오기
-            if (priceStr == null || changeRateStr == null) {
+            // 메모리 테이블/Redis 모두 없거나 만료됐으면 REST API로 데이터 가져오기
+            if (latestQuote(stock.getSymbol()) == null) {
                 try {
                     // 국내/해외 구분하여 데이터 가져오기
                     MarketDataDTO marketData;
@@ -512,21 +464,13 @@ public class StockService {
 
                     if (marketData != null && marketData.getPrice() != null && marketData.getChangeRate() != null) {
                         updateStockPriceInRedis(stock.getSymbol(), marketData);
-                        priceStr = String.valueOf(marketData.getPrice());
-                        changeRateStr = String.valueOf(marketData.getChangeRate());
                     }
                 } catch (Exception e) {
                     log.warn("⚠️ REST API 데이터 조회 실패: {}", stock.getSymbol(), e);
                 }
             }
 
-            if (priceStr != null && changeRateStr != null) {
-                double price = Double.parseDouble(priceStr);
-                double changeRate = Double.parseDouble(changeRateStr);
-
-                //  실시간 업데이트 알림
-                webSocketHandler.broadcastStockPriceUpdate(stock.getSymbol(), price, changeRate);
-            }
+            //  WebSocket 전송은 PriceIngestService -> StockPriceService(틱 리스너)가 담당
         }
     }
 
@@ -534,6 +478,7 @@ public class StockService {
     // 시장 시간에 따라 REST API로 주식 데이터 가져오기
     @Scheduled(fixedRate = 60000) // 1분마다 실행
     public void fetchStockDataFromRestApi() {
+        if (!assetRole.connectsUpstream()) return; // 업스트림 조회는 ingest 노드에서만
         // 웹소켓이 연결되지 않았거나 장중이 아닐 때만 REST API 사용
         boolean isDomesticMarketClosed = !kisClient.isDomesticMarketOpen();
         boolean isUSMarketClosed = !kisClient.isUSMarketOpen();
@@ -572,26 +517,22 @@ public class StockService {
         log.info("✅ REST API 데이터 갱신 완료");
     }
 
-    // Redis에 주식 가격 데이터 업데이트
+    // Redis에 주식 가격 데이터 업데이트 (write-behind, 다음 flush 때 한 번에 저장)
     private void updateStockPriceInRedis(String symbol, MarketDataDTO marketData) {
         if (marketData != null) {
             // 가격 저장 (항상 값이 있어야 함)
             double price = marketData.getPrice() != null ? marketData.getPrice() : 0.0;
-            redisTemplate.opsForValue().set("stock_prices:" + symbol,
-                    String.valueOf(price), 30, TimeUnit.MINUTES); // TTL 증가 (10분 -> 30분)
 
             // 변동률 저장 (null 체크 추가)
             double changeRate = marketData.getChangeRate() != null ? marketData.getChangeRate() : 0.0;
-            redisTemplate.opsForValue().set("stock_changes:" + symbol,
-                    String.valueOf(changeRate), 30, TimeUnit.MINUTES); // TTL 증가, 가격과 동일하게
 
             // 거래량 정보가 있다면 저장
-            if (marketData.getVolume() != null) {
-                redisTemplate.opsForValue().set("stock_volumes:" + symbol,
-                        String.valueOf(marketData.getVolume()), 30, TimeUnit.MINUTES);
-            }
+            double volume = marketData.getVolume() != null ? marketData.getVolume() : Double.NaN;
+
+            ingestMetrics.received(TickSource.KIS_REST);
+            tickPipeline.backfill(new Tick().set(TickSource.KIS_REST, symbol, price, changeRate, volume, 0L));
 
-            log.info("📡 Redis 저장 완료: {} -> 가격: {}, 변동률: {}",
+            log.debug("📡 Redis 저장 완료: {} -> 가격: {}, 변동률: {}",
                     symbol, price, changeRate);
         }
     }
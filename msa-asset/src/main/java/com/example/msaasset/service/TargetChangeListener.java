@@ -0,0 +1,14 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.entity.TargetPriceCondition;
+
+/**
+ * 목표 가격 변경 콜백 (TargetPriceAlertService가 이 노드에서 바뀐 목표를 전달)
+ * - edge 노드는 시세 버스로 ingest에 알려 ingest의 목표가 인덱스에 바로 반영
+ */
+public interface TargetChangeListener {
+
+    void onTargetSet(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition);
+
+    void onTargetRemoved(String userEmail, String symbol);
+}
@@ -0,0 +1,205 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.entity.TargetPrice;
+import com.example.msaasset.entity.TargetPriceCondition;
+import com.example.msaasset.jfr.AlertEmittedEvent;
+import com.example.msaasset.jfr.JfrEvents;
+import com.example.msaasset.jfr.TargetEvaluatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실시간 틱 기준 목표 가격 도달 체크 + Kafka 알림 발송
+ * - 업비트/KIS 수신 경로가 공통으로 사용
+ * - 매칭은 TargetPriceIndex(메모리)로 처리하고, Redis는 실제 도달한 목표의 중복 알림 확인에만 사용
+ * - 중복 알림 여부는 Redis(alert_sent:*)가 기준, 메모리 기록은 몇 초 동안 같은 목표의 반복 조회만 막음
+ *   (msa-sb-alert가 키를 지워 알림을 다시 켜면 그 시간 안에 반영)
+ * - 알림 이벤트에 구간별 시각(trace)을 실어 msa-sb-alert까지 지연을 추적 (AlertLatencyMetrics)
+ * - 목표가 있는 종목의 틱마다 비교 대상 목표 수 / 도달 수 기록 (asset.alert.evaluation.*)
+ * - 설정/삭제는 TargetChangeListener에도 전달 (edge 노드 -> 시세 버스 -> ingest 인덱스)
+ * - 리플레이 틱은 매칭까지만 실제로 하고 알림은 ReplayAlertSink로 (Kafka 발송, Redis 기록 없음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TargetPriceAlertService {
+
+    static final long ALERT_SUPPRESS_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private final TargetPriceIndex targetPriceIndex;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final AlertLatencyMetrics latencyMetrics;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<TargetChangeListener> changeListeners;
+    private final ReplayAlertSink replayAlertSink;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 메모리 중복 확인 유지 시간 (지나면 Redis 다시 조회)
+    @Value("${asset.alert.local-suppress-ms:10000}")
+    private long localSuppressMillis;
+
+    private DistributionSummary evaluatedTargets;
+    private DistributionSummary matchedTargets;
+
+    // 최근 알림을 보냈거나 Redis에서 발송 기록을 확인한 목표 (userEmail:symbol -> 확인 시각), localSuppressMillis 동안만 유효
+    private final Map<String, Long> sentAlerts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMeters() {
+        evaluatedTargets = DistributionSummary.builder("asset.alert.evaluation.targets")
+                .description("틱 한 건에 대해 비교한 목표 가격 수 (count = 평가한 틱 수)")
+                .register(meterRegistry);
+        matchedTargets = DistributionSummary.builder("asset.alert.evaluation.matches")
+                .description("틱 한 건에 대해 도달한 목표 가격 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 틱 수신 시 호출 - 도달한 목표가 있으면 알림 발송
+     * @param source            수신 경로 (JFR 이벤트 기록용, upbit-ws / kis-rest ...)
+     * @param exchangeTimestamp 거래소 체결 시각 (epoch ms), 없으면 0
+     * @param ingestTimestamp   수신 시각 (epoch ms)
+     * @param replay            리플레이 틱이면 true (알림은 ReplayAlertSink에서 세기만 함)
+     */
+    public void checkTargetPrices(String symbol, double tradePrice, String source, long exchangeTimestamp, long ingestTimestamp,
+                                  boolean replay) {
+        if (!targetPriceIndex.hasTargets(symbol)) {
+            return;
+        }
+        TargetEvaluatedEvent event = new TargetEvaluatedEvent();
+        event.begin();
+        int matched = targetPriceIndex.match(symbol, tradePrice, (userEmail, targetPrice, condition) -> {
+            if (replay) {
+                replayAlertSink.targetReached(userEmail, symbol);
+            } else {
+                notifyIfFirst(userEmail, symbol, tradePrice, targetPrice, condition, exchangeTimestamp, ingestTimestamp);
+            }
+        });
+        int targets = targetPriceIndex.count(symbol);
+        evaluatedTargets.record(targets);
+        matchedTargets.record(matched);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.symbol = symbol;
+            event.source = source;
+            event.targets = targets;
+            event.matches = matched;
+            event.commit();
+        }
+    }
+
+    public void register(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition) {
+        targetPriceIndex.put(userEmail, symbol, targetPrice, condition);
+        sentAlerts.remove(alertKey(userEmail, symbol));
+        changeListeners.forEach(listener -> listener.onTargetSet(userEmail, symbol, targetPrice, condition));
+    }
+
+    public void unregister(String userEmail, String symbol) {
+        targetPriceIndex.remove(userEmail, symbol);
+        sentAlerts.remove(alertKey(userEmail, symbol));
+        changeListeners.forEach(listener -> listener.onTargetRemoved(userEmail, symbol));
+    }
+
+    public void reload(Collection<TargetPrice> targetPrices) {
+        targetPriceIndex.rebuild(targetPrices);
+        long now = System.currentTimeMillis();
+        sentAlerts.values().removeIf(sentAt -> now - sentAt >= localSuppressMillis);
+    }
+
+    private void notifyIfFirst(String userEmail, String symbol, double tradePrice, double targetPrice, TargetPriceCondition condition,
+                               long exchangeTimestamp, long ingestTimestamp) {
+        String alertKey = alertKey(userEmail, symbol);
+        long now = System.currentTimeMillis();
+
+        Long checkedAt = sentAlerts.get(alertKey);
+        if (checkedAt != null && now - checkedAt < localSuppressMillis) {
+            return;
+        }
+
+        // 다른 인스턴스/재시작 전에 이미 보낸 알림인지 확인 (도달한 목표에 대해서만 조회)
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(alertKey))) {
+            sentAlerts.put(alertKey, now);
+            log.debug("⚠️ 중복 알림 방지: {} - 최근 24시간 내 알림 전송됨", alertKey);
+            return;
+        }
+
+        AlertTrace trace = new AlertTrace(exchangeTimestamp, ingestTimestamp, now);
+        sendTargetPriceEvent(userEmail, symbol, tradePrice, targetPrice, condition.name(), trace);
+        sentAlerts.put(alertKey, now);
+        redisTemplate.opsForValue().set(alertKey, "sent", 24, TimeUnit.HOURS);
+    }
+
+    private void sendTargetPriceEvent(String userEmail, String symbol, double tradePrice, double targetPrice, String condition,
+                                      AlertTrace trace) {
+        AlertEmittedEvent event = new AlertEmittedEvent();
+        event.begin();
+        try {
+            ObjectNode eventData = objectMapper.createObjectNode();
+            eventData.put("userEmail", userEmail);
+            eventData.put("symbol", symbol);
+            eventData.put("currentPrice", tradePrice);
+            eventData.put("targetPrice", targetPrice);
+            eventData.put("condition", condition);
+            eventData.put("timestamp", System.currentTimeMillis());
+
+            // 구간별 시각 (msa-sb-alert가 수신/저장/전송 시각을 이어 붙여 기록)
+            long produceTimestamp = System.currentTimeMillis();
+            eventData.putObject("trace")
+                    .put("exchangeTs", trace.exchangeTimestamp())
+                    .put("ingestTs", trace.ingestTimestamp())
+                    .put("matchTs", trace.matchTimestamp())
+                    .put("produceTs", produceTimestamp);
+            latencyMetrics.record(AlertLatencyMetrics.Stage.EXCHANGE_TO_INGEST, trace.exchangeTimestamp(), trace.ingestTimestamp());
+            latencyMetrics.record(AlertLatencyMetrics.Stage.INGEST_TO_MATCH, trace.ingestTimestamp(), trace.matchTimestamp());
+            latencyMetrics.record(AlertLatencyMetrics.Stage.MATCH_TO_PRODUCE, trace.matchTimestamp(), produceTimestamp);
+
+            //  목표 가격 도달 이벤트를 Kafka로 전송
+            kafkaTemplate.send("target-price-alert", eventData.toString())
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            latencyMetrics.record(AlertLatencyMetrics.Stage.PRODUCE_ACK, produceTimestamp, System.currentTimeMillis());
+                        }
+                    });
+            log.info("🚀 목표 가격 도달 Kafka 이벤트 발송: [{}] {} → 목표가 {} ({})", userEmail, symbol, targetPrice, condition);
+
+        } catch (Exception e) {
+            log.error("❌ 목표 가격 이벤트 전송 실패: {}", e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.symbol = symbol;
+                event.source = JfrEvents.SOURCE_TICK;
+                event.condition = condition;
+                event.targetPrice = targetPrice;
+                event.price = tradePrice;
+                event.commit();
+            }
+        }
+    }
+
+    // 알림 하나의 틱 수신 ~ 매칭 시각 (epoch ms, 거래소 시각이 없으면 0)
+    private record AlertTrace(long exchangeTimestamp, long ingestTimestamp, long matchTimestamp) {
+    }
+
+    // 알림 서비스(NotificationService)가 삭제하는 키와 동일한 형식
+    private static String alertKey(String userEmail, String symbol) {
+        return "alert_sent:" + userEmail + ":" + symbol;
+    }
+}
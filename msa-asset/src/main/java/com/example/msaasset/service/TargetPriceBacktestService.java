@@ -0,0 +1,92 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.dto.BacktestAlertDTO;
+import com.example.msaasset.entity.TargetPrice;
+import com.example.msaasset.entity.TargetPriceCondition;
+import com.example.msaasset.journal.TickJournalReader;
+import com.example.msaasset.repository.TargetPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 목표 가격 알림 백테스트
+ * - 틱 저널의 [from, to) 구간을 읽어 현재 DB의 목표 가격 규칙이 언제 알림을 보냈을지 계산
+ * - 실시간 경로와 같은 TargetPriceIndex 매칭 + 24시간 중복 방지 규칙 적용
+ * - 별도 인덱스 인스턴스를 쓰고 Redis/Kafka는 건드리지 않음
+ * - 전체 사용자 대상 조회는 리플레이 인스턴스(asset.replay.enabled=true)에서만 허용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TargetPriceBacktestService {
+
+    private final TargetPriceRepository targetPriceRepository;
+
+    @Value("${asset.replay.journal-dir:${asset.journal.dir:./data/journal}}")
+    private String journalDir;
+
+    @Value("${asset.replay.enabled:false}")
+    private boolean allUsersAllowed;
+
+    /**
+     * @param userEmail null이면 전체 사용자
+     * @return 한 번 이상 조건을 만족한 규칙, 첫 알림 시각 순
+     */
+    public List<BacktestAlertDTO> backtest(long from, long to, String userEmail) {
+        if (userEmail == null && !allUsersAllowed) {
+            throw new IllegalArgumentException("❌ 사용자 인증 정보 없음 (X-Auth-User 헤더가 필요합니다)");
+        }
+        if (from >= to) {
+            throw new IllegalArgumentException("❌ from은 to보다 이전이어야 합니다.");
+        }
+        List<TargetPrice> targets = userEmail != null
+                ? targetPriceRepository.findByIdUserEmail(userEmail)
+                : targetPriceRepository.findAll();
+
+        TargetPriceIndex index = new TargetPriceIndex();
+        index.rebuild(targets);
+
+        // userEmail:symbol -> 결과 (사용자+종목당 규칙 하나)
+        Map<String, BacktestAlertDTO> results = new HashMap<>();
+        long start = System.currentTimeMillis();
+        long scanned;
+        try {
+            scanned = new TickJournalReader(Paths.get(journalDir)).read(from, to,
+                    (symbol, price, changeRate, volume, sourceTimestamp, ingestTimestamp) -> {
+                        if (!index.hasTargets(symbol)) return;
+                        long tickTime = sourceTimestamp > 0 ? sourceTimestamp : ingestTimestamp;
+                        index.match(symbol, price, (user, targetPrice, condition) ->
+                                record(results, user, symbol, targetPrice, condition, tickTime, price));
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("틱 저널 읽기 실패: " + journalDir, e);
+        }
+
+        List<BacktestAlertDTO> fired = new ArrayList<>(results.values());
+        fired.sort(Comparator.comparingLong(result -> result.getFirings().get(0).getTimestamp()));
+        log.info("🔁 목표 가격 백테스트 완료: 틱 {}개, 규칙 {}개 중 {}개 도달 ({}ms)",
+                scanned, targets.size(), fired.size(), System.currentTimeMillis() - start);
+        return fired;
+    }
+
+    private static void record(Map<String, BacktestAlertDTO> results, String userEmail, String symbol,
+                               double targetPrice, TargetPriceCondition condition, long tickTime, double price) {
+        BacktestAlertDTO result = results.computeIfAbsent(userEmail + ":" + symbol,
+                k -> new BacktestAlertDTO(userEmail, symbol, targetPrice, condition, 0, new ArrayList<>()));
+        result.setMatchedTicks(result.getMatchedTicks() + 1);
+
+        // 실시간 경로와 같이 마지막 알림 후 24시간 동안은 다시 보내지 않음
+        List<BacktestAlertDTO.Firing> firings = result.getFirings();
+        if (firings.isEmpty()
+                || tickTime - firings.get(firings.size() - 1).getTimestamp() >= TargetPriceAlertService.ALERT_SUPPRESS_MILLIS) {
+            firings.add(new BacktestAlertDTO.Firing(tickTime, price));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.entity.TargetPrice;
+import com.example.msaasset.entity.TargetPriceCondition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 목표 가격 인덱스 (메모리)
+ * - 종목마다 ABOVE / BELOW 임계값을 오름차순 배열로 보관
+ * - 틱마다 이진 탐색 + 구간 스캔으로 도달한 목표만 찾음 (O(log n + k), Redis 조회 없음)
+ * - 쓰기(설정/삭제/동기화)는 드물기 때문에 종목 단위 copy-on-write, 읽기는 락 없이 처리
+ */
+@Slf4j
+@Component
+public class TargetPriceIndex {
+
+    // 종목 심볼 -> 해당 종목의 목표 가격 스냅샷
+    private final Map<String, SymbolTargets> targetsBySymbol = new ConcurrentHashMap<>();
+
+    // 목표 도달 시 호출되는 콜백
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(String userEmail, double targetPrice, TargetPriceCondition condition);
+    }
+
+    /**
+     * DB 목표 가격 전체로 인덱스 재구성
+     */
+    public synchronized void rebuild(Collection<TargetPrice> targetPrices) {
+        Map<String, List<TargetPrice>> grouped = new HashMap<>();
+        for (TargetPrice target : targetPrices) {
+            if (target.getId() == null || target.getCondition() == null) continue;
+            grouped.computeIfAbsent(target.getId().getSymbol(), k -> new ArrayList<>()).add(target);
+        }
+
+        Map<String, SymbolTargets> rebuilt = new HashMap<>();
+        grouped.forEach((symbol, targets) -> {
+            List<Entry> above = new ArrayList<>();
+            List<Entry> below = new ArrayList<>();
+            for (TargetPrice target : targets) {
+                Entry entry = new Entry(target.getId().getUserEmail(), target.getTargetPrice());
+                if (target.getCondition() == TargetPriceCondition.ABOVE) {
+                    above.add(entry);
+                } else {
+                    below.add(entry);
+                }
+            }
+            rebuilt.put(symbol, SymbolTargets.of(above, below));
+        });
+
+        targetsBySymbol.keySet().retainAll(rebuilt.keySet());
+        targetsBySymbol.putAll(rebuilt);
+        log.info("✅ 목표 가격 인덱스 재구성 완료: {}개 종목, {}개 목표", rebuilt.size(), targetPrices.size());
+    }
+
+    /**
+     * 목표 가격 추가/변경 (사용자+종목당 하나만 유지)
+     */
+    public synchronized void put(String userEmail, String symbol, double targetPrice, TargetPriceCondition condition) {
+        SymbolTargets current = targetsBySymbol.getOrDefault(symbol, SymbolTargets.EMPTY);
+        List<Entry> above = current.entries(TargetPriceCondition.ABOVE, userEmail);
+        List<Entry> below = current.entries(TargetPriceCondition.BELOW, userEmail);
+
+        Entry entry = new Entry(userEmail, targetPrice);
+        if (condition == TargetPriceCondition.ABOVE) {
+            above.add(entry);
+        } else {
+            below.add(entry);
+        }
+        targetsBySymbol.put(symbol, SymbolTargets.of(above, below));
+    }
+
+    /**
+     * 목표 가격 삭제
+     */
+    public synchronized void remove(String userEmail, String symbol) {
+        SymbolTargets current = targetsBySymbol.get(symbol);
+        if (current == null) return;
+
+        List<Entry> above = current.entries(TargetPriceCondition.ABOVE, userEmail);
+        List<Entry> below = current.entries(TargetPriceCondition.BELOW, userEmail);
+        if (above.isEmpty() && below.isEmpty()) {
+            targetsBySymbol.remove(symbol);
+        } else {
+            targetsBySymbol.put(symbol, SymbolTargets.of(above, below));
+        }
+    }
+
+    /**
+     * 현재가로 도달한 목표 가격을 찾아 handler 호출
+     * @return 도달한 목표 수
+     */
+    public int match(String symbol, double price, MatchHandler handler) {
+        SymbolTargets targets = targetsBySymbol.get(symbol);
+        if (targets == null) return 0;
+
+        // ABOVE: price >= threshold -> 오름차순 배열의 앞쪽 구간 [0, upper)
+        int upper = upperBound(targets.aboveThresholds, price);
+        for (int i = 0; i < upper; i++) {
+            handler.onMatch(targets.aboveUsers[i], targets.aboveThresholds[i], TargetPriceCondition.ABOVE);
+        }
+
+        // BELOW: price <= threshold -> 오름차순 배열의 뒤쪽 구간 [lower, n)
+        int lower = lowerBound(targets.belowThresholds, price);
+        for (int i = lower; i < targets.belowThresholds.length; i++) {
+            handler.onMatch(targets.belowUsers[i], targets.belowThresholds[i], TargetPriceCondition.BELOW);
+        }
+
+        return upper + (targets.belowThresholds.length - lower);
+    }
+
+    public boolean hasTargets(String symbol) {
+        return targetsBySymbol.containsKey(symbol);
+    }
+
+    // 종목에 걸린 목표 가격 수
+    public int count(String symbol) {
+        SymbolTargets targets = targetsBySymbol.get(symbol);
+        return targets != null ? targets.aboveThresholds.length + targets.belowThresholds.length : 0;
+    }
+
+    public Set<String> symbols() {
+        return Collections.unmodifiableSet(targetsBySymbol.keySet());
+    }
+
+    // threshold <= value 인 원소 개수
+    private static int upperBound(double[] thresholds, double value) {
+        int low = 0, high = thresholds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // threshold < value 인 원소 개수
+    private static int lowerBound(double[] thresholds, double value) {
+        int low = 0, high = thresholds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(String userEmail, double targetPrice) {
+    }
+
+    // 종목 단위 불변 스냅샷 (임계값 오름차순 + 사용자 병렬 배열)
+    private static final class SymbolTargets {
+        static final SymbolTargets EMPTY = new SymbolTargets(new double[0], new String[0], new double[0], new String[0]);
+
+        final double[] aboveThresholds;
+        final String[] aboveUsers;
+        final double[] belowThresholds;
+        final String[] belowUsers;
+
+        private SymbolTargets(double[] aboveThresholds, String[] aboveUsers, double[] belowThresholds, String[] belowUsers) {
+            this.aboveThresholds = aboveThresholds;
+            this.aboveUsers = aboveUsers;
+            this.belowThresholds = belowThresholds;
+            this.belowUsers = belowUsers;
+        }
+
+        static SymbolTargets of(List<Entry> above, List<Entry> below) {
+            above.sort(Comparator.comparingDouble(Entry::targetPrice));
+            below.sort(Comparator.comparingDouble(Entry::targetPrice));
+
+            double[] aboveThresholds = new double[above.size()];
+            String[] aboveUsers = new String[above.size()];
+            for (int i = 0; i < above.size(); i++) {
+                aboveThresholds[i] = above.get(i).targetPrice();
+                aboveUsers[i] = above.get(i).userEmail();
+            }
+
+            double[] belowThresholds = new double[below.size()];
+            String[] belowUsers = new String[below.size()];
+            for (int i = 0; i < below.size(); i++) {
+                belowThresholds[i] = below.get(i).targetPrice();
+                belowUsers[i] = below.get(i).userEmail();
+            }
+            return new SymbolTargets(aboveThresholds, aboveUsers, belowThresholds, belowUsers);
+        }
+
+        // 지정 사용자를 제외한 조건별 엔트리 목록 (수정용 복사본)
+        List<Entry> entries(TargetPriceCondition condition, String excludedUser) {
+            double[] thresholds = condition == TargetPriceCondition.ABOVE ? aboveThresholds : belowThresholds;
+            String[] users = condition == TargetPriceCondition.ABOVE ? aboveUsers : belowUsers;
+
+            List<Entry> entries = new ArrayList<>(thresholds.length + 1);
+            for (int i = 0; i < thresholds.length; i++) {
+                if (!users[i].equals(excludedUser)) {
+                    entries.add(new Entry(users[i], thresholds[i]));
+                }
+            }
+            return entries;
+        }
+    }
+}
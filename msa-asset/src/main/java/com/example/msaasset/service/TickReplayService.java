@@ -0,0 +1,182 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.client.KisWebSocketClient;
+import com.example.msaasset.client.UpbitClient;
+import com.example.msaasset.config.AssetRole;
+import com.example.msaasset.dto.ReplayStatusDTO;
+import com.example.msaasset.journal.TickJournalReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Paths;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 틱 리플레이 (부하 테스트용)
+ * - 틱 저널 구간을 읽어 업비트/KIS 실시간 수신과 같은 경로(UpbitClient / KisWebSocketClient)로 다시 흘려보냄
+ *   -> 저장, 목표가 매칭, WebSocket 전송까지 실제 코드 그대로 측정
+ * - 리플레이 틱의 목표가/급등락 알림은 Kafka로 보내지 않고 ReplayAlertSink에서 개수만 셈 (실제 사용자 알림 없음)
+ * - 기록된 수신 간격 기준 1배속 / N배속 / 최대 속도(speed=0)
+ * - asset.replay.enabled=true + asset.upstream.enabled=false 인스턴스에서만 실행 (실시간 시세와 섞이지 않도록)
+ *   시세 저장에 Redis를 실제로 쓰므로 로컬/테스트 환경에서 실행, 다시 기록되지 않도록 asset.journal.enabled=false 권장
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickReplayService {
+
+    private final UpbitClient upbitClient;
+    private final KisWebSocketClient kisWebSocketClient;
+    private final AssetRole assetRole;
+    private final ReplayAlertSink replayAlertSink;
+
+    @Value("${asset.replay.enabled:false}")
+    private boolean enabled;
+
+    @Value("${asset.replay.journal-dir:${asset.journal.dir:./data/journal}}")
+    private String journalDir;
+
+    private volatile Run current;
+
+    /**
+     * 리플레이 시작 (별도 스레드, 한 번에 하나만)
+     * @param speed 배속, 0이면 대기 없이 최대 속도
+     */
+    public synchronized ReplayStatusDTO start(long from, long to, double speed) {
+        if (!enabled) {
+            throw new IllegalStateException("❌ 리플레이 비활성화 상태입니다 (asset.replay.enabled=true 필요)");
+        }
+        if (assetRole.connectsUpstream()) {
+            throw new IllegalStateException("❌ 실시간 수집 중인 인스턴스에서는 리플레이할 수 없습니다 (asset.upstream.enabled=false 필요)");
+        }
+        if (from >= to || speed < 0) {
+            throw new IllegalArgumentException("❌ 리플레이 구간/배속이 올바르지 않습니다.");
+        }
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("❌ 이미 리플레이가 실행 중입니다.");
+        }
+
+        replayAlertSink.reset();
+        Run run = new Run(from, to, speed, replayAlertSink.targetAlerts(), replayAlertSink.surgeAlerts());
+        current = run;
+        Thread thread = new Thread(() -> execute(run), "tick-replay");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("▶️ 틱 리플레이 시작: {} ~ {} (배속: {})", from, to, speed == 0 ? "max" : speed);
+        return status(run);
+    }
+
+    public ReplayStatusDTO status() {
+        Run run = current;
+        return run != null ? status(run) : new ReplayStatusDTO("IDLE", 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, null);
+    }
+
+    public ReplayStatusDTO cancel() {
+        Run run = current;
+        if (run != null) {
+            run.cancelled = true;
+        }
+        return status();
+    }
+
+    private void execute(Run run) {
+        try {
+            new TickJournalReader(Paths.get(journalDir)).read(run.from, run.to,
+                    (symbol, price, changeRate, volume, sourceTimestamp, ingestTimestamp) -> {
+                        if (run.cancelled) throw new CancellationException();
+                        run.pace(ingestTimestamp);
+                        if (dispatch(symbol, price, changeRate, volume, sourceTimestamp)) {
+                            run.dispatched++;
+                        } else {
+                            run.skipped++;
+                        }
+                        run.cursor = ingestTimestamp;
+                    });
+            run.finish("DONE", null);
+        } catch (CancellationException e) {
+            run.finish("CANCELLED", null);
+        } catch (Exception e) {
+            log.error("❌ 틱 리플레이 실패", e);
+            run.finish("FAILED", e.getMessage());
+        }
+        log.info("⏹️ 틱 리플레이 종료: {}", status(run));
+    }
+
+    private ReplayStatusDTO status(Run run) {
+        return run.status(replayAlertSink.targetAlerts(), replayAlertSink.surgeAlerts());
+    }
+
+    // 업비트 마켓 코드(KRW-BTC 등)는 업비트 경로, 나머지는 KIS 경로
+    private boolean dispatch(String symbol, double price, double changeRate, double volume, long sourceTimestamp) {
+        if (symbol.indexOf('-') >= 0) {
+            return upbitClient.replayTick(symbol, price, changeRate, volume, sourceTimestamp);
+        }
+        kisWebSocketClient.replayTick(symbol, price, changeRate, volume, sourceTimestamp);
+        return true;
+    }
+
+    // 리플레이 한 번의 진행 상태 (카운터는 리플레이 스레드만 갱신)
+    private static final class Run {
+        final long from;
+        final long to;
+        final double speed;
+        final long startedNanos = System.nanoTime();
+
+        volatile long dispatched;
+        volatile long skipped;
+        volatile long cursor;
+        volatile boolean cancelled;
+        volatile String state = "RUNNING";
+        volatile String error;
+        volatile long finishedNanos;
+
+        // 시작 시점의 ReplayAlertSink 누적값 (이번 리플레이 분만 보고)
+        final long targetAlertsAtStart;
+        final long surgeAlertsAtStart;
+
+        private long firstTickTime = -1;
+
+        Run(long from, long to, double speed, long targetAlertsAtStart, long surgeAlertsAtStart) {
+            this.from = from;
+            this.to = to;
+            this.speed = speed;
+            this.targetAlertsAtStart = targetAlertsAtStart;
+            this.surgeAlertsAtStart = surgeAlertsAtStart;
+        }
+
+        boolean isRunning() {
+            return "RUNNING".equals(state);
+        }
+
+        // 기록된 첫 틱 기준 경과 시간 / 배속 만큼 될 때까지 대기
+        void pace(long tickTime) {
+            if (speed <= 0) return;
+            if (firstTickTime < 0) {
+                firstTickTime = tickTime;
+                return;
+            }
+            long targetNanos = startedNanos + (long) ((tickTime - firstTickTime) * 1_000_000L / speed);
+            long waitNanos = targetNanos - System.nanoTime();
+            if (waitNanos > 1_000_000L) {
+                LockSupport.parkNanos(waitNanos);
+            }
+        }
+
+        void finish(String state, String error) {
+            this.finishedNanos = System.nanoTime();
+            this.error = error;
+            this.state = state;
+        }
+
+        ReplayStatusDTO status(long targetAlerts, long surgeAlerts) {
+            long endNanos = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            long elapsedMillis = (endNanos - startedNanos) / 1_000_000L;
+            double ticksPerSecond = elapsedMillis > 0 ? dispatched * 1000.0 / elapsedMillis : 0;
+            return new ReplayStatusDTO(state, from, to, speed, dispatched, skipped, elapsedMillis, ticksPerSecond, cursor,
+                    targetAlerts - targetAlertsAtStart, surgeAlerts - surgeAlertsAtStart, error);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.dto.StockResponseDTO;
+import com.example.msaasset.entity.Stock;
+import com.example.msaasset.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 변동률 상위/하위 종목 인덱스 (메모리)
+ * - 시장(KRX / NASDAQ / 업비트 KRW)별로 변동률 정렬 집합 하나를 유지, 앞쪽이 급하락 / 뒤쪽이 급상승
+ * - 틱마다 변동률이 바뀐 종목만 제거 + 재삽입 (O(log n)), 1분마다 전체 테이블을 정렬하던 작업 대체
+ * - 조회는 정렬 집합 앞/뒤에서 K개만 읽음 (Redis/DB 조회 없음), K는 요청마다 지정
+ * - 종목명/시장 구분은 DB에서 주기적으로 읽어 메모리에 보관 (조회 경로 밖)
+ * - window 지정 시 거래소 일간 변동률 대신 PriceHistory의 최근 구간(1m/5m/1h) 변동률로 순위 계산
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopMoversIndex implements PriceTickListener {
+
+    private final StockRepository stockRepository;
+    private final LivePriceRegistry livePriceRegistry;
+    private final PriceHistory priceHistory;
+
+    @Value("${asset.top-movers.max-limit:100}")
+    private int maxLimit;
+
+    public enum Market {
+        KRX, NASDAQ, UPBIT_KRW;
+
+        // DB에 없는 종목은 심볼 형식으로 구분 (KRW-xxx: 업비트 원화, 숫자 6자리: 국내, 그 외 '-' 포함: 미지원 마켓)
+        static Market ofSymbol(String symbol) {
+            if (symbol.startsWith("KRW-")) return UPBIT_KRW;
+            if (symbol.indexOf('-') >= 0) return null;
+            if (symbol.length() == 6 && Character.isDigit(symbol.charAt(0))) return KRX;
+            return NASDAQ;
+        }
+    }
+
+    public enum Direction {
+        GAINERS, LOSERS
+    }
+
+    // 구간 변동률 창
+    public enum Window {
+        M1("1m", 60), M5("5m", 300), H1("1h", 3600);
+
+        private final String label;
+        private final int seconds;
+
+        Window(String label, int seconds) {
+            this.label = label;
+            this.seconds = seconds;
+        }
+
+        public static Window of(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label) || window.name().equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("❌ window는 1m, 5m, 1h 중 하나여야 합니다: " + label);
+        }
+    }
+
+    // 변동률 오름차순, 같으면 심볼 순
+    private static final Comparator<Mover> ORDER =
+            Comparator.comparingDouble(Mover::changeRate).thenComparing(Mover::symbol);
+
+    private final Map<Market, Ranking> rankings = createRankings();
+
+    // 종목 심볼 -> 종목명/시장 (DB 기준)
+    private volatile Map<String, SymbolInfo> symbolInfos = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refreshFromDatabase();
+    }
+
+    /**
+     * 종목명/시장 갱신 + 아직 실시간 틱이 없는 종목은 DB 저장 값으로 채움
+     * (재시작 직후나 edge 노드처럼 틱이 일부만 들어오는 경우 대비)
+     */
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    public void refreshFromDatabase() {
+        try {
+            List<Stock> stocks = stockRepository.findAll();
+            Map<String, SymbolInfo> infos = new HashMap<>(stocks.size() * 2);
+            int seeded = 0;
+            for (Stock stock : stocks) {
+                Market market = marketOf(stock);
+                if (market == null) continue;
+                infos.put(stock.getSymbol(), new SymbolInfo(market, stock.getKoreanName(), stock.getEnglishName()));
+
+                if (stock.getChangeRate() != null && livePriceRegistry.get(stock.getSymbol()) == null) {
+                    update(market, stock.getSymbol(), stock.getChangeRate(), stock.getPrice() != null ? stock.getPrice() : 0.0);
+                    seeded++;
+                }
+            }
+            symbolInfos = infos;
+            log.info("✅ 변동률 순위 종목 정보 갱신: {}개 종목 (DB 값 반영 {}개)", infos.size(), seeded);
+        } catch (Exception e) {
+            log.error("❌ 변동률 순위 종목 정보 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTick(String symbol, double price, double changeRate) {
+        SymbolInfo info = symbolInfos.get(symbol);
+        Market market = info != null ? info.market() : Market.ofSymbol(symbol);
+        if (market != null) {
+            update(market, symbol, changeRate, price);
+        }
+    }
+
+    private void update(Market market, String symbol, double changeRate, double price) {
+        if (Double.isNaN(changeRate)) return;
+        Ranking ranking = rankings.get(market);
+
+        // 변동률이 그대로면 순서도 그대로 (가격은 조회 시 LivePriceRegistry에서 읽음)
+        Mover previous = ranking.bySymbol.get(symbol);
+        if (previous != null && previous.changeRate() == changeRate) return;
+
+        Mover next = new Mover(symbol, changeRate, price);
+        synchronized (ranking) {
+            previous = ranking.bySymbol.put(symbol, next);
+            if (previous != null) {
+                ranking.sorted.remove(previous);
+            }
+            ranking.sorted.add(next);
+        }
+    }
+
+    /**
+     * 시장별 급상승(변동률 > 0) 또는 급하락(변동률 < 0) 상위 limit개
+     */
+    public List<StockResponseDTO> top(Market market, Direction direction, int limit) {
+        int k = clampLimit(limit);
+        Ranking ranking = rankings.get(market);
+        Iterator<Mover> iterator = direction == Direction.GAINERS
+                ? ranking.sorted.descendingIterator()
+                : ranking.sorted.iterator();
+
+        List<StockResponseDTO> result = new ArrayList<>(k);
+        while (result.size() < k && iterator.hasNext()) {
+            Mover mover = iterator.next();
+            boolean qualifies = direction == Direction.GAINERS ? mover.changeRate() > 0 : mover.changeRate() < 0;
+            if (!qualifies) break;
+            result.add(toResponse(mover, mover.changeRate()));
+        }
+        return result;
+    }
+
+    /**
+     * 시장별 최근 구간 급상승/급하락 상위 limit개
+     * - 변동률 단위는 시장의 일간 변동률과 맞춤 (업비트: 비율, KIS: %)
+     * - 구간 전체 이력이 없는 종목(수신 시작 직후 등)은 제외
+     * - 시장 종목 수만큼 선형 스캔 + 크기 limit 힙 (요청 시 계산)
+     */
+    public List<StockResponseDTO> top(Market market, Direction direction, Window window, int limit) {
+        int k = clampLimit(limit);
+        double scale = market == Market.UPBIT_KRW ? 1.0 : 100.0;
+        long nowSecond = System.currentTimeMillis() / 1000;
+
+        // 힙 루트가 현재 상위 k개 중 가장 약한 종목
+        Comparator<WindowMove> strength = direction == Direction.GAINERS
+                ? Comparator.comparingDouble(WindowMove::change)
+                : Comparator.comparingDouble(WindowMove::change).reversed();
+        PriorityQueue<WindowMove> heap = new PriorityQueue<>(k + 1, strength);
+
+        for (Mover mover : rankings.get(market).bySymbol.values()) {
+            double change = priceHistory.change(mover.symbol(), window.seconds, nowSecond);
+            if (Double.isNaN(change)) continue;
+            if (direction == Direction.GAINERS ? change <= 0 : change >= 0) continue;
+
+            heap.add(new WindowMove(mover, change * scale));
+            if (heap.size() > k) heap.poll();
+        }
+
+        List<WindowMove> moves = new ArrayList<>(heap);
+        moves.sort(strength.reversed());
+        List<StockResponseDTO> result = new ArrayList<>(moves.size());
+        for (WindowMove move : moves) {
+            result.add(toResponse(move.mover(), move.change()));
+        }
+        return result;
+    }
+
+    /**
+     * 여러 시장을 합쳐 변동률 절댓값(급등 + 급락) 상위 limit개 (기존 /top-movers 응답 형식)
+     * @param window null이면 일간 변동률
+     */
+    public List<StockResponseDTO> topAbsolute(int limit, Window window, Market... markets) {
+        int k = clampLimit(limit);
+        List<StockResponseDTO> candidates = new ArrayList<>();
+        for (Market market : markets) {
+            if (window == null) {
+                candidates.addAll(top(market, Direction.GAINERS, k));
+                candidates.addAll(top(market, Direction.LOSERS, k));
+            } else {
+                candidates.addAll(top(market, Direction.GAINERS, window, k));
+                candidates.addAll(top(market, Direction.LOSERS, window, k));
+            }
+        }
+        candidates.sort((a, b) -> Double.compare(Math.abs(b.getChangeRate()), Math.abs(a.getChangeRate())));
+        return candidates.size() > k ? new ArrayList<>(candidates.subList(0, k)) : candidates;
+    }
+
+    // 시장별 순위에 들어있는 종목 수
+    public int size(Market market) {
+        return rankings.get(market).bySymbol.size();
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    private StockResponseDTO toResponse(Mover mover, double changeRate) {
+        LivePriceRegistry.LivePrice live = livePriceRegistry.get(mover.symbol());
+        double price = live != null ? live.price() : mover.price();
+
+        SymbolInfo info = symbolInfos.get(mover.symbol());
+        String koreanName = info != null ? info.koreanName() : null;
+        String englishName = info != null ? info.englishName() : null;
+
+        // 한글 이름이 있으면 한글, 없으면 영어 이름, 둘 다 없으면 symbol 사용
+        String displayName = (koreanName != null && !koreanName.isEmpty()) ? koreanName
+                : (englishName != null && !englishName.isEmpty()) ? englishName
+                : mover.symbol();
+
+        return new StockResponseDTO(mover.symbol(), displayName, null, price, changeRate);
+    }
+
+    private static Map<Market, Ranking> createRankings() {
+        Map<Market, Ranking> rankings = new EnumMap<>(Market.class);
+        for (Market market : Market.values()) {
+            rankings.put(market, new Ranking());
+        }
+        return rankings;
+    }
+
+    private static Market marketOf(Stock stock) {
+        Integer categoryId = stock.getCategoryId();
+        if (categoryId != null && categoryId == 1) return Market.KRX;
+        if (categoryId != null && categoryId == 2) return Market.NASDAQ;
+        return Market.ofSymbol(stock.getSymbol());
+    }
+
+    private record Mover(String symbol, double changeRate, double price) {
+    }
+
+    private record WindowMove(Mover mover, double change) {
+    }
+
+    private record SymbolInfo(Market market, String koreanName, String englishName) {
+    }
+
+    // 시장 하나의 순위 (쓰기는 ranking 단위 락, 읽기는 락 없이 정렬 집합 순회)
+    private static final class Ranking {
+        final ConcurrentSkipListSet<Mover> sorted = new ConcurrentSkipListSet<>(ORDER);
+        final Map<String, Mover> bySymbol = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.msaasset.websocket;
+
+import org.springframework.web.socket.BinaryMessage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 바이너리 가격 프로토콜 인코더 (서브프로토콜 "asset-price-bin.v1", 세션당 하나)
+ *
+ * 프레임 = type(1바이트, 0x01) + varint(프레임 시각 ms) + varint(건수, 항상 5바이트) + 건수 x 엔트리
+ * 엔트리 = varint(종목 ID) + zigzag varint(가격 차이) + zigzag varint(변동률 차이) + zigzag varint(시각 - 프레임 시각)
+ * - 종목 ID: 구독 응답(symbolId)으로 알려준 세션 내 번호
+ * - 가격은 1e8, 변동률은 1e6 배 고정소수점 정수, 이 세션에 마지막으로 보낸 값과의 차이 (처음엔 0 기준)
+ * - 모든 정수는 LEB128 varint, 부호 있는 값은 zigzag 변환
+ *
+ * ID 발급은 핸들러 스레드, 인코딩은 세션 송신 작업(세션당 한 번에 하나)에서만 호출
+ */
+final class BinaryPriceEncoder {
+
+    static final String SUBPROTOCOL = "asset-price-bin.v1";
+
+    static final byte FRAME_PRICE_BATCH = 0x01;
+
+    private static final double PRICE_SCALE = 1e8;
+    private static final double RATE_SCALE = 1e6;
+
+    // 종목 심볼 -> 세션 내 종목 ID
+    private final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // 종목 ID별 마지막 전송 값 (고정소수점)
+    private long[] lastPrices = new long[16];
+    private long[] lastRates = new long[16];
+
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    /**
+     * 종목 ID 발급 (이미 있으면 기존 ID)
+     */
+    int assignId(String symbol) {
+        return symbolIds.computeIfAbsent(symbol, k -> nextId.getAndIncrement());
+    }
+
+    /**
+     * @return ID가 발급된 종목이 하나도 없으면 null
+     */
+    BinaryMessage encode(List<PriceUpdate> updates) {
+        long frameTime = System.currentTimeMillis();
+        position = 0;
+        writeByte(FRAME_PRICE_BATCH);
+        writeVarLong(frameTime);
+
+        // 건수는 엔트리를 다 쓴 뒤에 알 수 있으므로 5바이트 자리만 먼저 확보
+        int countPosition = position;
+        ensureCapacity(5);
+        position += 5;
+
+        int count = 0;
+        for (PriceUpdate update : updates) {
+            Integer id = symbolIds.get(update.symbol);
+            if (id == null) continue;
+            ensureSlots(id);
+
+            long price = Math.round(update.price * PRICE_SCALE);
+            long rate = Math.round(update.changeRate * RATE_SCALE);
+
+            writeVarLong(id);
+            writeVarLong(zigzag(price - lastPrices[id]));
+            writeVarLong(zigzag(rate - lastRates[id]));
+            writeVarLong(zigzag(update.timestamp - frameTime));
+
+            lastPrices[id] = price;
+            lastRates[id] = rate;
+            count++;
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        // 5바이트 고정 길이 varint (앞 4바이트는 연속 비트로 패딩)
+        for (int i = 0; i < 4; i++) {
+            buffer[countPosition + i] = (byte) ((count & 0x7F) | 0x80);
+            count >>>= 7;
+        }
+        buffer[countPosition + 4] = (byte) (count & 0x7F);
+
+        return new BinaryMessage(Arrays.copyOf(buffer, position));
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensureSlots(int id) {
+        if (id >= lastPrices.length) {
+            int size = Math.max(id + 1, lastPrices.length * 2);
+            lastPrices = Arrays.copyOf(lastPrices, size);
+            lastRates = Arrays.copyOf(lastRates, size);
+        }
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
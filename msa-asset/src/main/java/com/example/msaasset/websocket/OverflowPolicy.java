@@ -0,0 +1,11 @@
+package com.example.msaasset.websocket;
+
+/**
+ * 세션 송신 버퍼가 가득 찼을 때 처리 방식
+ */
+public enum OverflowPolicy {
+    // 가장 오래된 대기 종목 업데이트를 버리고 새 값 추가
+    DROP_OLDEST,
+    // 따라오지 못하는 세션으로 보고 연결 종료
+    DISCONNECT
+}
@@ -0,0 +1,46 @@
+package com.example.msaasset.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * 종목 가격 업데이트 한 건 (브로드캐스트 시 한 번 만들어 모든 세션 버퍼가 공유)
+ * - 단건 JSON 메시지는 처음 필요할 때 한 번만 직렬화해서 재사용
+ */
+final class PriceUpdate {
+
+    final String symbol;
+    final double price;
+    final double changeRate;
+    final long timestamp;
+
+    private volatile TextMessage textMessage;
+
+    PriceUpdate(String symbol, double price, double changeRate) {
+        this.symbol = symbol;
+        this.price = price;
+        this.changeRate = changeRate;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    // {"type":"price_update","symbol":..,"price":..,"changeRate":..,"timestamp":..}
+    TextMessage toTextMessage(ObjectMapper objectMapper) throws JsonProcessingException {
+        TextMessage message = textMessage;
+        if (message == null) {
+            ObjectNode node = objectMapper.createObjectNode().put("type", "price_update");
+            writeFields(node);
+            message = new TextMessage(objectMapper.writeValueAsString(node));
+            textMessage = message;
+        }
+        return message;
+    }
+
+    void writeFields(ObjectNode node) {
+        node.put("symbol", symbol)
+                .put("price", price)
+                .put("changeRate", changeRate)
+                .put("timestamp", timestamp);
+    }
+}
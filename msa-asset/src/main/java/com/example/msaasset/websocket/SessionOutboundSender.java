@@ -0,0 +1,91 @@
+package com.example.msaasset.websocket;
+
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 세션 송신 버퍼(SessionOutbox) 생성 + 공용 송신 스레드 풀 + 배치 모드 타이머
+ * - 브로드캐스트 스레드(시세 수신 스레드)는 버퍼에 넣기만 하고 바로 반환
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionOutboundSender {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final HotPathLogs hotPathLogs;
+
+    // 세션당 대기 가능한 종목 업데이트 수
+    @Value("${asset.ws.outbound.max-pending:256}")
+    private int maxPending;
+
+    @Value("${asset.ws.outbound.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${asset.ws.outbound.sender-threads:4}")
+    private int senderThreads;
+
+    // 배치 모드에서 클라이언트가 요청할 수 있는 전송 주기 범위
+    @Value("${asset.ws.outbound.batch-interval-min-ms:50}")
+    private long minBatchIntervalMs;
+
+    @Value("${asset.ws.outbound.batch-interval-max-ms:5000}")
+    private long maxBatchIntervalMs;
+
+    private HotPathLog hotLog;
+    private ExecutorService senderPool;
+    private ScheduledExecutorService batchTimer;
+
+    @PostConstruct
+    void start() {
+        hotLog = hotPathLogs.category("broadcast", "updates");
+        AtomicInteger threadIndex = new AtomicInteger();
+        senderPool = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ws-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("✅ WebSocket 송신 풀 시작 (스레드: {}, 세션당 대기 한도: {}, 초과 정책: {})",
+                senderThreads, maxPending, overflowPolicy);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (senderPool != null) {
+            senderPool.shutdownNow();
+        }
+        if (batchTimer != null) {
+            batchTimer.shutdownNow();
+        }
+    }
+
+    SessionOutbox open(WebSocketSession session) {
+        return new SessionOutbox(session, senderPool, batchTimer, objectMapper, maxPending, overflowPolicy, meterRegistry, hotLog);
+    }
+
+    // 요청 주기를 허용 범위로 보정 (0 이하는 배치 해제)
+    long clampBatchInterval(long requestedMs) {
+        if (requestedMs <= 0) return 0;
+        return Math.max(minBatchIntervalMs, Math.min(maxBatchIntervalMs, requestedMs));
+    }
+}
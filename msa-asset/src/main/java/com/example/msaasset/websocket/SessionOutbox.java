@@ -0,0 +1,318 @@
+package com.example.msaasset.websocket;
+
+import com.example.msaasset.logging.HotPathLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 세션 하나의 송신 버퍼
+ * - 가격 업데이트는 종목별 최신 값만 보관 (conflation), 응답 메시지는 순서대로 보관
+ * - 실제 전송은 송신 스레드 풀에서 세션당 한 번에 하나의 작업만 수행 (동시 sendMessage 방지)
+ * - 대기 종목 수가 한도를 넘으면 OverflowPolicy에 따라 오래된 값을 버리거나 연결 종료
+ * - 배치 모드: 업데이트마다 보내지 않고 주기마다 변경된 종목 전체를 price_batch 프레임 하나로 전송
+ * - 바이너리 서브프로토콜 세션은 JSON 대신 BinaryPriceEncoder 프레임으로 전송
+ *   (차분 인코딩이라 프레임 하나라도 전송에 실패하면 이후 값이 틀어지므로 연결 종료 -> 재연결 시 0 기준부터)
+ */
+@Slf4j
+final class SessionOutbox {
+
+    // 한 번의 전송 작업에서 보낼 최대 메시지 수 (다른 세션에 스레드 양보)
+    private static final int MAX_MESSAGES_PER_DRAIN = 64;
+
+    private final WebSocketSession session;
+    private final Executor senderPool;
+    private final ScheduledExecutorService batchTimer;
+    private final ObjectMapper objectMapper;
+    private final int maxPending;
+    private final OverflowPolicy overflowPolicy;
+    private final MeterRegistry meterRegistry;
+    // 전송 실패 로그는 세션별로 출력 간격 제한 (끊긴 세션이 메시지마다 오류를 남기지 않도록)
+    private final HotPathLog hotLog;
+
+    // 종목 심볼 -> 아직 못 보낸 최신 업데이트 (삽입 순서 = 오래된 순)
+    private final LinkedHashMap<String, PriceUpdate> pendingUpdates = new LinkedHashMap<>();
+    // 구독 응답/오류 등 병합하면 안 되는 메시지
+    private final ArrayDeque<WebSocketMessage<?>> pendingControl = new ArrayDeque<>();
+
+    // 핸드셰이크에서 바이너리 서브프로토콜을 고른 세션만 (그 외 null = JSON)
+    private final BinaryPriceEncoder binaryEncoder;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // 배치 전송 주기 (0이면 업데이트마다 전송)
+    private volatile long batchIntervalMs;
+    private ScheduledFuture<?> batchTask;
+
+    private final Counter droppedCounter;
+    private final Counter conflatedCounter;
+    private final Counter framesCounter;
+    private final List<Meter> meters = new ArrayList<>();
+
+    SessionOutbox(WebSocketSession session, Executor senderPool, ScheduledExecutorService batchTimer, ObjectMapper objectMapper,
+                  int maxPending, OverflowPolicy overflowPolicy, MeterRegistry meterRegistry, HotPathLog hotLog) {
+        this.session = session;
+        this.senderPool = senderPool;
+        this.batchTimer = batchTimer;
+        this.objectMapper = objectMapper;
+        this.maxPending = maxPending;
+        this.overflowPolicy = overflowPolicy;
+        this.meterRegistry = meterRegistry;
+        this.hotLog = hotLog;
+        this.binaryEncoder = BinaryPriceEncoder.SUBPROTOCOL.equals(session.getAcceptedProtocol()) ? new BinaryPriceEncoder() : null;
+
+        String sessionId = session.getId();
+        meters.add(Gauge.builder("ws.session.queue.depth", this, SessionOutbox::depth)
+                .description("세션 송신 버퍼 대기 메시지 수")
+                .tag("session", sessionId)
+                .register(meterRegistry));
+        droppedCounter = Counter.builder("ws.session.dropped")
+                .description("버퍼 초과로 버린 업데이트 수")
+                .tag("session", sessionId)
+                .register(meterRegistry);
+        conflatedCounter = Counter.builder("ws.session.conflated")
+                .description("전송 전에 새 값으로 덮어쓴 업데이트 수")
+                .tag("session", sessionId)
+                .register(meterRegistry);
+        framesCounter = Counter.builder("ws.session.frames")
+                .description("세션에 보낸 WebSocket 프레임 수")
+                .tag("session", sessionId)
+                .register(meterRegistry);
+        meters.add(droppedCounter);
+        meters.add(conflatedCounter);
+        meters.add(framesCounter);
+    }
+
+    /**
+     * 종목 업데이트 추가 - 같은 종목의 미전송 값은 새 값으로 교체
+     */
+    void offerUpdate(PriceUpdate update) {
+        if (closed) return;
+
+        boolean overflow = false;
+        synchronized (this) {
+            if (pendingUpdates.containsKey(update.symbol)) {
+                // 기존 위치 유지 (LinkedHashMap은 재삽입 시 순서 변경 없음)
+                pendingUpdates.put(update.symbol, update);
+                conflatedCounter.increment();
+            } else if (pendingUpdates.size() >= maxPending) {
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    Iterator<String> eldest = pendingUpdates.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    pendingUpdates.put(update.symbol, update);
+                    droppedCounter.increment();
+                } else {
+                    overflow = true;
+                }
+            } else {
+                pendingUpdates.put(update.symbol, update);
+            }
+        }
+
+        if (overflow) {
+            droppedCounter.increment();
+            disconnect();
+            return;
+        }
+        // 배치 모드에서는 타이머가 전송
+        if (batchIntervalMs == 0) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * 순서가 중요한 응답 메시지 추가 (병합/버림 없음)
+     */
+    void offerControl(WebSocketMessage<?> message) {
+        if (closed) return;
+        synchronized (this) {
+            pendingControl.add(message);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * 배치 전송 주기 설정 (0이면 배치 모드 해제)
+     */
+    synchronized void setBatchInterval(long intervalMs) {
+        if (batchTask != null) {
+            batchTask.cancel(false);
+            batchTask = null;
+        }
+        batchIntervalMs = intervalMs;
+        if (intervalMs > 0 && !closed) {
+            batchTask = batchTimer.scheduleAtFixedRate(() -> {
+                if (depth() > 0) scheduleDrain();
+            }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        } else if (depth() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * 바이너리 세션이면 종목 ID 발급, JSON 세션이면 -1
+     */
+    int assignSymbolId(String symbol) {
+        return binaryEncoder != null ? binaryEncoder.assignId(symbol) : -1;
+    }
+
+    long getBatchInterval() {
+        return batchIntervalMs;
+    }
+
+    synchronized int depth() {
+        return pendingUpdates.size() + pendingControl.size();
+    }
+
+    /**
+     * 세션 종료 시 호출 - 남은 메시지 폐기 + 세션 메트릭 제거
+     */
+    void close() {
+        closed = true;
+        synchronized (this) {
+            pendingUpdates.clear();
+            pendingControl.clear();
+            if (batchTask != null) {
+                batchTask.cancel(false);
+                batchTask = null;
+            }
+        }
+        meters.forEach(meterRegistry::remove);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                senderPool.execute(this::drain);
+            } catch (Exception e) {
+                draining.set(false);
+                hotLog.error("schedule", session.getId(), "❌ 송신 작업 등록 실패 ({}): {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            boolean batchMode = batchIntervalMs > 0;
+            List<WebSocketMessage<?>> control = new ArrayList<>();
+            List<PriceUpdate> updates = new ArrayList<>();
+            takeBatch(control, updates, batchMode);
+
+            for (WebSocketMessage<?> message : control) {
+                if (!send(message)) return;
+            }
+            if (binaryEncoder != null) {
+                // 바이너리는 모드와 무관하게 꺼낸 업데이트를 프레임 하나로
+                BinaryMessage frame = updates.isEmpty() ? null : binaryEncoder.encode(updates);
+                if (frame != null && !send(frame)) return;
+            } else if (batchMode) {
+                if (!updates.isEmpty() && !send(batchMessage(updates))) return;
+            } else {
+                for (PriceUpdate update : updates) {
+                    if (!send(update.toTextMessage(objectMapper))) return;
+                }
+            }
+        } catch (Exception e) {
+            hotLog.error("drain", session.getId(), "❌ 세션 {} 송신 처리 실패: {}", session.getId(), e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+
+        // 전송 중 새로 쌓인 메시지가 있으면 다시 예약 (배치 모드의 업데이트는 다음 주기에)
+        if (!closed && hasImmediateWork()) {
+            scheduleDrain();
+        }
+    }
+
+    // 전송 실패로 세션이 닫혔으면 false
+    private boolean send(WebSocketMessage<?> message) {
+        if (closed || !session.isOpen()) {
+            close();
+            return false;
+        }
+        try {
+            session.sendMessage(message);
+            framesCounter.increment();
+        } catch (IOException e) {
+            hotLog.error("send", session.getId(), "❌ 세션 {}에 메시지 전송 실패: {}", session.getId(), e.getMessage());
+            // 인코더의 마지막 전송 값은 이미 이 프레임 기준으로 바뀌어 있어 클라이언트와 어긋남
+            if (binaryEncoder != null) {
+                closeUnreliable();
+                return false;
+            }
+            if (!session.isOpen()) {
+                close();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // {"type":"price_batch","timestamp":..,"updates":[{"symbol":..,"price":..,"changeRate":..,"timestamp":..}, ...]}
+    private TextMessage batchMessage(List<PriceUpdate> updates) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode()
+                .put("type", "price_batch")
+                .put("timestamp", System.currentTimeMillis());
+        ArrayNode items = root.putArray("updates");
+        for (PriceUpdate update : updates) {
+            update.writeFields(items.addObject());
+        }
+        return new TextMessage(objectMapper.writeValueAsString(root));
+    }
+
+    private synchronized boolean hasImmediateWork() {
+        return !pendingControl.isEmpty() || (batchIntervalMs == 0 && !pendingUpdates.isEmpty());
+    }
+
+    private synchronized void takeBatch(List<WebSocketMessage<?>> control, List<PriceUpdate> updates, boolean batchMode) {
+        while (!pendingControl.isEmpty() && control.size() < MAX_MESSAGES_PER_DRAIN) {
+            control.add(pendingControl.poll());
+        }
+        // 배치 모드는 대기 중인 종목 전체를 한 프레임으로
+        int limit = batchMode ? Integer.MAX_VALUE : MAX_MESSAGES_PER_DRAIN;
+        Iterator<Map.Entry<String, PriceUpdate>> iterator = pendingUpdates.entrySet().iterator();
+        while (iterator.hasNext() && updates.size() < limit) {
+            updates.add(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    private void disconnect() {
+        log.warn("⚠️ 세션 {} 송신 버퍼 초과 (대기 {}개) - 연결 종료", session.getId(), maxPending);
+        closeUnreliable();
+    }
+
+    private void closeUnreliable() {
+        close();
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.error("❌ 세션 {} 종료 실패: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.msaasset.websocket;
 
+import com.example.msaasset.jfr.BroadcastFanoutEvent;
+import com.example.msaasset.logging.HotPathLog;
+import com.example.msaasset.logging.HotPathLogs;
+import com.example.msaasset.service.LivePriceRegistry;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,11 +21,15 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -24,6 +37,10 @@ import java.util.concurrent.CopyOnWriteArraySet;
 public class StockPriceWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper;
+    private final LivePriceRegistry livePriceRegistry;
+    private final SessionOutboundSender outboundSender;
+    private final MeterRegistry meterRegistry;
+    private final HotPathLogs hotPathLogs;
 
     // 모든 활성 세션 관리 (세션 ID -> 세션 객체)
     private static final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
@@ -34,11 +51,40 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
     // 세션별 구독 종목 관리 (세션 ID -> 구독 종목 집합)
     private static final Map<String, Set<String>> sessionSubscriptions = new ConcurrentHashMap<>();
 
+    // 세션별 송신 버퍼 (세션 ID -> 버퍼), 모든 전송은 버퍼를 거침
+    private static final Map<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+
+    private final List<SymbolSubscriptionListener> subscriptionListeners = new CopyOnWriteArrayList<>();
+
+    // 구독자가 있는 종목별 구독 세션 수 게이지 (종목 심볼 -> 게이지), 구독/해제 때만 갱신
+    private final Map<String, Gauge> subscriberGauges = new ConcurrentHashMap<>();
+    private Timer fanoutTimer;
+    private HotPathLog hotLog;
+
+    @PostConstruct
+    void init() {
+        hotLog = hotPathLogs.category("broadcast", "updates");
+        Gauge.builder("ws.sessions", sessions, Map::size)
+                .description("연결된 WebSocket 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("ws.subscribed.symbols", subscriptions, Map::size)
+                .description("구독자가 있는 종목 수")
+                .register(meterRegistry);
+        fanoutTimer = Timer.builder("ws.broadcast.fanout")
+                .description("틱 한 건을 구독 세션 송신 버퍼에 넣기까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         String sessionId = session.getId();
         sessions.put(sessionId, session);
         sessionSubscriptions.put(sessionId, ConcurrentHashMap.newKeySet());
+        outboxes.put(sessionId, outboundSender.open(session));
         log.info("✅ 새 WebSocket 연결 성립: {}", sessionId);
     }
 
@@ -55,6 +101,10 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
         // 세션 제거
         sessions.remove(sessionId);
         sessionSubscriptions.remove(sessionId);
+        SessionOutbox outbox = outboxes.remove(sessionId);
+        if (outbox != null) {
+            outbox.close();
+        }
 
         log.info("🚪 WebSocket 연결 종료: {}, 사유: {}", sessionId, status.getReason());
     }
@@ -68,6 +118,12 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
             String type = jsonMessage.has("type") ? jsonMessage.get("type").asText() : "";
             String symbol = jsonMessage.has("symbol") ? jsonMessage.get("symbol").asText() : "";
 
+            // 전송 방식 설정: {"type":"config","batchIntervalMs":250} (0이면 기본 단건 전송)
+            if ("config".equalsIgnoreCase(type)) {
+                configureSession(session, jsonMessage);
+                return;
+            }
+
             if (symbol.isEmpty()) {
                 sendErrorMessage(session, "심볼이 없습니다.");
                 return;
@@ -75,7 +131,8 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
 
             if ("subscribe".equalsIgnoreCase(type)) {
                 subscribeSession(sessionId, symbol);
-                sendSuccessMessage(session, "구독 성공: " + symbol);
+                sendSubscribeSuccess(session, symbol);
+                sendCurrentPrice(session, symbol);
                 log.info("📌 구독 등록: {} -> {}", sessionId, symbol);
             } else if ("unsubscribe".equalsIgnoreCase(type)) {
                 unsubscribeSession(sessionId, symbol);
@@ -97,45 +154,142 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
 
     // 세션을 특정 종목에 구독 등록
     private void subscribeSession(String sessionId, String symbol) {
-        // 종목에 세션 추가
-        subscriptions.computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        // 종목에 세션 추가 (첫 구독자 여부를 원자적으로 판단)
+        boolean[] first = {false};
+        subscriptions.compute(symbol, (key, subscribers) -> {
+            if (subscribers == null) {
+                subscribers = ConcurrentHashMap.newKeySet();
+                first[0] = true;
+            }
+            subscribers.add(sessionId);
+            return subscribers;
+        });
 
         // 세션에 종목 추가
         sessionSubscriptions.computeIfAbsent(sessionId, k -> ConcurrentHashMap.newKeySet()).add(symbol);
+
+        if (first[0]) {
+            subscriptionListeners.forEach(listener -> listener.onFirstSubscriber(symbol));
+        }
+        syncSubscriberGauge(symbol);
     }
 
     // 세션의 특정 종목 구독 해제
     private void unsubscribeSession(String sessionId, String symbol) {
-        // 종목에서 세션 제거
-        if (subscriptions.containsKey(symbol)) {
-            subscriptions.get(symbol).remove(sessionId);
-            if (subscriptions.get(symbol).isEmpty()) {
-                subscriptions.remove(symbol);
+        // 종목에서 세션 제거 (마지막 구독자면 종목 제거)
+        boolean[] last = {false};
+        subscriptions.computeIfPresent(symbol, (key, subscribers) -> {
+            subscribers.remove(sessionId);
+            if (subscribers.isEmpty()) {
+                last[0] = true;
+                return null;
             }
-        }
+            return subscribers;
+        });
 
         // 세션에서 종목 제거
         if (sessionSubscriptions.containsKey(sessionId)) {
             sessionSubscriptions.get(sessionId).remove(symbol);
         }
+
+        if (last[0]) {
+            subscriptionListeners.forEach(listener -> listener.onLastSubscriberGone(symbol));
+        }
+        syncSubscriberGauge(symbol);
+    }
+
+    // 현재 구독 상태에 맞춰 종목 게이지 등록/제거 (동시 구독/해제가 엇갈려도 마지막 호출이 실제 상태를 반영)
+    private void syncSubscriberGauge(String symbol) {
+        synchronized (subscriberGauges) {
+            if (subscriptions.containsKey(symbol)) {
+                subscriberGauges.computeIfAbsent(symbol, key -> Gauge.builder("ws.subscribers", subscriptions,
+                                map -> map.getOrDefault(key, Set.of()).size())
+                        .description("종목별 구독 세션 수")
+                        .tag("symbol", key)
+                        .register(meterRegistry));
+            } else {
+                Gauge gauge = subscriberGauges.remove(symbol);
+                if (gauge != null) {
+                    meterRegistry.remove(gauge);
+                }
+            }
+        }
+    }
+
+    // 종목 구독자 0 <-> 1 변화 알림 등록 (edge 노드 시세 버스 구독 등)
+    public void addSubscriptionListener(SymbolSubscriptionListener listener) {
+        subscriptionListeners.add(listener);
     }
 
     // 성공 메시지 전송
     private void sendSuccessMessage(WebSocketSession session, String message) throws IOException {
         MessageResponse response = new MessageResponse("success", message);
-        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        sendControl(session, new TextMessage(objectMapper.writeValueAsString(response)));
+    }
+
+    // 구독 성공 응답 - 바이너리 세션이면 가격 프레임에서 쓸 종목 ID 포함
+    private void sendSubscribeSuccess(WebSocketSession session, String symbol) throws IOException {
+        MessageResponse response = new MessageResponse("success", "구독 성공: " + symbol);
+        SessionOutbox outbox = outboxes.get(session.getId());
+        int symbolId = outbox != null ? outbox.assignSymbolId(symbol) : -1;
+        if (symbolId >= 0) {
+            response.symbol = symbol;
+            response.symbolId = symbolId;
+        }
+        sendControl(session, new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
     // 오류 메시지 전송
     private void sendErrorMessage(WebSocketSession session, String message) throws IOException {
         MessageResponse response = new MessageResponse("error", message);
-        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        sendControl(session, new TextMessage(objectMapper.writeValueAsString(response)));
+    }
+
+    // 구독 직후 현재가 1회 전송 (다음 틱까지 기다리지 않도록)
+    private void sendCurrentPrice(WebSocketSession session, String symbol) throws IOException {
+        LivePriceRegistry.LivePrice current = livePriceRegistry.get(symbol);
+        if (current != null) {
+            SessionOutbox outbox = outboxes.get(session.getId());
+            if (outbox != null) {
+                outbox.offerUpdate(new PriceUpdate(symbol, current.price(), current.changeRate()));
+            }
+        }
+    }
+
+    // 배치 모드 설정 - 주기마다 변경된 종목을 price_batch 프레임 하나로 받음
+    private void configureSession(WebSocketSession session, JsonNode config) throws IOException {
+        SessionOutbox outbox = outboxes.get(session.getId());
+        if (outbox == null) {
+            sendErrorMessage(session, "세션 정보가 없습니다.");
+            return;
+        }
+
+        long requested = config.path("batchIntervalMs").asLong(0);
+        long interval = outboundSender.clampBatchInterval(requested);
+        outbox.setBatchInterval(interval);
+
+        if (interval > 0) {
+            sendSuccessMessage(session, "배치 모드: " + interval + "ms");
+        } else {
+            sendSuccessMessage(session, "단건 전송 모드");
+        }
+        log.info("⚙️ 세션 전송 방식 설정: {} -> 배치 주기 {}ms", session.getId(), interval);
+    }
+
+    // 응답 메시지도 송신 버퍼를 거쳐 전송 (같은 세션 동시 전송 방지)
+    private void sendControl(WebSocketSession session, TextMessage message) throws IOException {
+        SessionOutbox outbox = outboxes.get(session.getId());
+        if (outbox != null) {
+            outbox.offerControl(message);
+        } else {
+            session.sendMessage(message);
+        }
     }
 
     // 실시간 가격 업데이트 브로드캐스트 - 종목별로 구독자에게만 전송
     public void broadcastStockPriceUpdate(String symbol, double price, double changeRate) {
         if (symbol == null || symbol.isEmpty()) {
-            log.warn("⚠️ 빈 심볼로 브로드캐스트 시도");
+            hotLog.warn("empty_symbol", null, "⚠️ 빈 심볼로 브로드캐스트 시도");
             return;
         }
 
@@ -145,44 +299,64 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
+        long startedAt = System.nanoTime();
+        BroadcastFanoutEvent event = new BroadcastFanoutEvent();
+        event.begin();
+        int queuedCount = 0;
         try {
-            StockPriceUpdate update = new StockPriceUpdate(symbol, price, changeRate);
-            String jsonMessage = objectMapper.writeValueAsString(update);
-            TextMessage textMessage = new TextMessage(jsonMessage);
+            // JSON 직렬화는 단건 전송 세션이 처음 보낼 때 한 번만 수행
+            PriceUpdate update = new PriceUpdate(symbol, price, changeRate);
 
-            int sentCount = 0;
+            // 세션별 송신 버퍼에 넣기만 하고 반환 (느린 세션이 다른 세션/수신 스레드를 막지 않음)
             for (String sessionId : subscribers) {
                 WebSocketSession session = sessions.get(sessionId);
-                if (session != null && session.isOpen()) {
-                    try {
-                        session.sendMessage(textMessage);
-                        sentCount++;
-                    } catch (IOException e) {
-                        log.error("❌ 세션 {}에 메시지 전송 실패:", sessionId, e);
-                        // 세션이 오류 상태면 구독 해제 고려
-                        if (!session.isOpen()) {
-                            unsubscribeSession(sessionId, symbol);
-                        }
-                    }
+                SessionOutbox outbox = outboxes.get(sessionId);
+                if (session != null && session.isOpen() && outbox != null) {
+                    outbox.offerUpdate(update);
+                    queuedCount++;
                 } else {
                     // 세션이 없거나 닫힌 경우 구독 해제
                     unsubscribeSession(sessionId, symbol);
                 }
             }
 
-            if (sentCount > 0) {
-                log.debug("📡 {} 종목 가격 업데이트 브로드캐스트: {}원, {}%, 수신자: {}/{}",
-                        symbol, price, changeRate, sentCount, subscribers.size());
+            hotLog.event();
+            if (queuedCount > 0 && hotLog.sample()) {
+                hotLog.logSample("📡 {} 종목 가격 업데이트 브로드캐스트: {}원, {}%, 수신자: {}/{}",
+                        symbol, price, changeRate, queuedCount, subscribers.size());
             }
         } catch (Exception e) {
-            log.error("❌ 브로드캐스트 중 오류 ({}): {}", symbol, e.getMessage());
+            hotLog.error("broadcast", symbol, "❌ 브로드캐스트 중 오류 ({}): {}", symbol, e.getMessage());
+        } finally {
+            fanoutTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.symbol = symbol;
+                event.subscribers = subscribers.size();
+                event.queued = queuedCount;
+                event.commit();
+            }
         }
     }
 
+    // 종목별 현재 구독 세션 수 (KIS 실시간 슬롯 배분 등에 사용)
+    public int getSubscriberCount(String symbol) {
+        Set<String> subscribers = subscriptions.get(symbol);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    // 구독자가 있는 종목 목록
+    public Set<String> getSubscribedSymbols() {
+        return subscriptions.keySet();
+    }
+
     // 응답 메시지 클래스
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private static class MessageResponse {
         public String status;
         public String message;
+        public String symbol;
+        public Integer symbolId;
 
         public MessageResponse(String status, String message) {
             this.status = status;
@@ -190,22 +364,6 @@ public class StockPriceWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    // 가격 업데이트 메시지 클래스
-    private static class StockPriceUpdate {
-        public String type = "price_update";
-        public String symbol;
-        public double price;
-        public double changeRate;
-        public long timestamp;
-
-        public StockPriceUpdate(String symbol, double price, double changeRate) {
-            this.symbol = symbol;
-            this.price = price;
-            this.changeRate = changeRate;
-            this.timestamp = System.currentTimeMillis();
-        }
-    }
-
     @Scheduled(fixedRate = 60000) // 1분마다 실행
     public void manageWebSocketConnections() {
         boolean domesticMarketOpen = isDomesticMarketOpen();
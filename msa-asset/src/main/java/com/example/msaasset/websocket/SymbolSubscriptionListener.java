@@ -0,0 +1,11 @@
+package com.example.msaasset.websocket;
+
+/**
+ * 종목 구독자 수가 0 -> 1, 1 -> 0 으로 바뀔 때 호출 (edge 노드의 시세 버스 구독 관리 등)
+ */
+public interface SymbolSubscriptionListener {
+
+    void onFirstSubscriber(String symbol);
+
+    void onLastSubscriberGone(String symbol);
+}
@@ -18,9 +18,13 @@ public class WebSocketConfig implements WebSocketConfigurer {
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Sec-WebSocket-Protocol로 바이너리 프로토콜을 요청한 클라이언트만 바이너리, 그 외는 기존 JSON
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+        handshakeHandler.setSupportedProtocols(BinaryPriceEncoder.SUBPROTOCOL);
+
         registry.addHandler(stockPriceWebSocketHandler, "/ws/stocks")
                 .setAllowedOrigins("*") // CORS 설정, 필요에 따라 제한
                 .addInterceptors(new HttpSessionHandshakeInterceptor())
-                .setHandshakeHandler(new DefaultHandshakeHandler());
+                .setHandshakeHandler(handshakeHandler);
     }
 }
\ No newline at end of file
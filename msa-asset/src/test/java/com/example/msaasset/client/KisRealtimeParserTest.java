@@ -0,0 +1,89 @@
+package com.example.msaasset.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KIS 실시간 체결 시각: 국내 STCK_CNTG_HOUR + 현재 KST 날짜, 해외 KYMD/KHMS, 형식 오류는 0
+ */
+class KisRealtimeParserTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KisRealtimeParser parser = new KisRealtimeParser();
+
+    @Test
+    void domesticTradeTimeUsesCurrentKstDate() {
+        long now = kst(2025, 3, 14, 9, 33, 56);
+        assertEquals(List.of(kst(2025, 3, 14, 9, 33, 54)), domestic("093354", now));
+
+        // 자정 직후 도착한 전날 23:59:59 체결
+        assertEquals(List.of(kst(2025, 3, 14, 23, 59, 59)), domestic("235959", kst(2025, 3, 15, 0, 0, 2)));
+
+        // 시각 형식이 아니면 0 (레코드는 그대로 전달)
+        assertEquals(List.of(0L), domestic("0933xx", now));
+        assertEquals(List.of(0L), domestic("256000", now));
+        assertEquals(List.of(0L), domestic("", now));
+    }
+
+    @Test
+    void foreignTradeTimeUsesKstDateAndTime() {
+        List<Long> times = new ArrayList<>();
+        String frame = "0|HDFSCNT0|002|"
+                + foreignRecord("20250301", "131502") + "^" + foreignRecord("20250302", "000001");
+        assertEquals(2, parser.parse(frame, (trId, symbol, price, high, low, changeRate, volume, exchangeTimestamp) -> {
+            assertEquals("AAPL", symbol);
+            assertEquals(181.35, price);
+            times.add(exchangeTimestamp);
+        }));
+        assertEquals(List.of(kst(2025, 3, 1, 13, 15, 2), kst(2025, 3, 2, 0, 0, 1)), times);
+
+        // JSON 수신 경로
+        assertEquals(kst(2025, 3, 1, 13, 15, 2), parser.foreignTimestamp("20250301", "131502"));
+        assertEquals(0L, parser.foreignTimestamp("20250230", "131502"));
+        assertEquals(0L, parser.foreignTimestamp("", "131502"));
+        assertEquals(0L, parser.foreignTimestamp("20250301", null));
+    }
+
+    private List<Long> domestic(String tradeTime, long now) {
+        List<Long> times = new ArrayList<>();
+        String[] fields = new String[KisRealtimeParser.DOMESTIC_FIELD_COUNT];
+        Arrays.fill(fields, "0");
+        fields[0] = "005930";
+        fields[1] = tradeTime;
+        fields[2] = "71900";
+        fields[5] = "-0.14";
+        fields[8] = "72400";
+        fields[9] = "71700";
+        fields[13] = "3052507";
+        parser.parse("0|H0STCNT0|001|" + String.join("^", fields),
+                (trId, symbol, price, high, low, changeRate, volume, exchangeTimestamp) -> times.add(exchangeTimestamp), now);
+        return times;
+    }
+
+    private static String foreignRecord(String kymd, String khms) {
+        String[] fields = new String[KisRealtimeParser.FOREIGN_FIELD_COUNT];
+        Arrays.fill(fields, "0");
+        fields[0] = "DNASAAPL";
+        fields[1] = "AAPL";
+        fields[6] = kymd;
+        fields[7] = khms;
+        fields[9] = "182.5";
+        fields[10] = "179.8";
+        fields[11] = "181.35";
+        fields[14] = "0.69";
+        fields[20] = "51234567";
+        return String.join("^", fields);
+    }
+
+    private static long kst(int year, int month, int day, int hour, int minute, int second) {
+        return LocalDateTime.of(year, month, day, hour, minute, second).atZone(KST).toInstant().toEpochMilli();
+    }
+}
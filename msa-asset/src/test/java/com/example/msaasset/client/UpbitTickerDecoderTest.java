@@ -0,0 +1,126 @@
+package com.example.msaasset.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 업비트 ticker 디코더 정확성 + 처리량/할당량 비교 (기존 방식 vs 스트리밍 디코더)
+ */
+class UpbitTickerDecoderTest {
+
+    private static final String TICKER_FRAME = "{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"opening_price\":141830000.0,"
+            + "\"high_price\":142900000.0,\"low_price\":141000000.0,\"trade_price\":142335000.0,"
+            + "\"prev_closing_price\":141830000.00000000,\"acc_trade_price\":98234521234.12345,"
+            + "\"change\":\"RISE\",\"change_price\":505000.00000000,\"signed_change_price\":505000.0,"
+            + "\"change_rate\":0.0035606008,\"signed_change_rate\":0.0035606008,\"ask_bid\":\"BID\","
+            + "\"trade_volume\":0.00021,\"acc_trade_volume\":692.61290133,\"trade_date\":\"20250301\","
+            + "\"trade_time\":\"051502\",\"trade_timestamp\":1740806102120,\"acc_ask_volume\":350.1,"
+            + "\"acc_bid_volume\":342.5,\"highest_52_week_price\":163325000.0,\"highest_52_week_date\":\"2025-01-20\","
+            + "\"lowest_52_week_price\":72100000.0,\"lowest_52_week_date\":\"2024-03-05\",\"market_state\":\"ACTIVE\","
+            + "\"is_trading_suspended\":false,\"delisting_date\":null,\"market_warning\":\"NONE\","
+            + "\"timestamp\":1740806102160,\"acc_trade_price_24h\":204511938393.05,\"acc_trade_volume_24h\":1440.9,"
+            + "\"stream_type\":\"REALTIME\"}";
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decodesTickerFields() throws Exception {
+        UpbitTickerDecoder decoder = new UpbitTickerDecoder();
+        UpbitTicker ticker = new UpbitTicker();
+
+        assertTrue(decoder.decode(frame(), ticker));
+        assertEquals("KRW-BTC", ticker.getCode());
+        assertEquals(142335000.0, ticker.getTradePrice());
+        assertEquals(0.0035606008, ticker.getSignedChangeRate());
+        assertEquals(692.61290133, ticker.getAccTradeVolume());
+        assertEquals(1740806102160L, ticker.getTimestamp());
+    }
+
+    @Test
+    void ignoresNonTickerFrames() throws Exception {
+        UpbitTickerDecoder decoder = new UpbitTickerDecoder();
+        UpbitTicker ticker = new UpbitTicker();
+
+        ByteBuffer status = ByteBuffer.wrap("{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8));
+        assertFalse(decoder.decode(status, ticker));
+    }
+
+    @Test
+    void throughputAndAllocationPerTick() throws Exception {
+        UpbitTickerDecoder decoder = new UpbitTickerDecoder();
+        UpbitTicker ticker = new UpbitTicker();
+
+        Result before = measure("before (UTF-8 decode + readTree x2)", () -> legacyDecode(frame()));
+        Result after = measure("after  (streaming decoder)", () -> {
+            decoder.decode(frame(), ticker);
+            return ticker.getTradePrice();
+        });
+
+        System.out.println(before);
+        System.out.println(after);
+
+        assertTrue(after.bytesPerTick < before.bytesPerTick,
+                "스트리밍 디코더의 틱당 할당량이 기존 방식보다 적어야 함");
+    }
+
+    // 기존 UpbitClient.onMessage + handleMessage 경로 재현
+    private double legacyDecode(ByteBuffer message) throws Exception {
+        String decodedMessage = StandardCharsets.UTF_8.decode(message).toString();
+        JsonNode first = objectMapper.readTree(decodedMessage);
+        JsonNode data = objectMapper.readTree(decodedMessage);
+
+        String symbol = data.has("code") ? data.get("code").asText() : "UNKNOWN";
+        double tradePrice = data.has("trade_price") ? Double.parseDouble(data.get("trade_price").asText()) : 0.0;
+        double changeRate = data.has("signed_change_rate") ? Double.parseDouble(data.get("signed_change_rate").asText()) : 0.0;
+        return tradePrice + changeRate + symbol.length() + first.size();
+    }
+
+    private static ByteBuffer frame() {
+        return ByteBuffer.wrap(FRAME_BYTES);
+    }
+
+    private static final byte[] FRAME_BYTES = TICKER_FRAME.getBytes(StandardCharsets.UTF_8);
+
+    private Result measure(String name, DecodeCall call) throws Exception {
+        double sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += call.run();
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += call.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue(sink != 0);
+        return new Result(name, ITERATIONS * 1_000_000_000.0 / elapsed, (double) allocated / ITERATIONS);
+    }
+
+    @FunctionalInterface
+    private interface DecodeCall {
+        double run() throws Exception;
+    }
+
+    private record Result(String name, double ticksPerSecond, double bytesPerTick) {
+        @Override
+        public String toString() {
+            return String.format("%s: %,.0f ticks/sec, %,.1f bytes/tick", name, ticksPerSecond, bytesPerTick);
+        }
+    }
+}
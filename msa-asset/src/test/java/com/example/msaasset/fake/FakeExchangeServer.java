@@ -0,0 +1,178 @@
+package com.example.msaasset.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 부하 측정용 가짜 거래소 (업비트 + KIS)
+ * - 업비트 WebSocket / KIS 실시간 WebSocket: 구독한 종목에 설정한 속도로 합성 틱 전송
+ * - REST (포트 하나): 업비트 /v1/market/all, /v1/ticker + KIS 토큰/접속키 발급, 국내 inquire-price, 해외 price
+ * - 주기적으로 초당 전송 틱 수 / backlogged(상대가 못 받아 건너뛴 틱) 출력
+ *
+ * 실행: ./gradlew fakeExchange --args='--symbols=500 --upbit-rate=20000 --kis-rate=5000'
+ * msa-asset 쪽 설정은 README "가짜 거래소로 처리량 측정" 참고
+ */
+public final class FakeExchangeServer {
+
+    private final Map<String, String> options;
+    private final SyntheticTicks ticks = new SyntheticTicks();
+
+    private FakeUpbitSocket upbitSocket;
+    private FakeKisSocket kisSocket;
+    private HttpServer httpServer;
+
+    FakeExchangeServer(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        FakeExchangeServer server = new FakeExchangeServer(parseOptions(args));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "fake-exchange-shutdown"));
+        new CountDownLatch(1).await();
+    }
+
+    void start() throws IOException {
+        int symbols = option("symbols", 200);
+        int maxQueued = option("max-queued", 10_000);
+
+        upbitSocket = new FakeUpbitSocket(option("upbit-port", 18091), ticks, option("upbit-rate", 1_000), maxQueued);
+        kisSocket = new FakeKisSocket(option("kis-port", 18092), ticks, option("kis-rate", 1_000), maxQueued,
+                option("kis-batch", 1));
+        upbitSocket.start();
+        kisSocket.start();
+
+        httpServer = HttpServer.create(new InetSocketAddress(option("http-port", 18090)), 0);
+        httpServer.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "fake-exchange-http");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        httpServer.createContext("/v1/market/all", exchange -> respond(exchange, marketAll(symbols)));
+        httpServer.createContext("/v1/ticker", exchange -> respond(exchange, upbitTickers(query(exchange).get("markets"))));
+        httpServer.createContext("/oauth2/tokenP", exchange -> respond(exchange,
+                "{\"access_token\":\"fake-access-token\",\"token_type\":\"Bearer\",\"expires_in\":86400}"));
+        httpServer.createContext("/oauth2/Approval", exchange -> respond(exchange,
+                "{\"approval_key\":\"fake-approval-key\"}"));
+        httpServer.createContext("/uapi/domestic-stock/v1/quotations/inquire-price", exchange -> respond(exchange,
+                SyntheticTicks.kisDomesticPrice(ticks.next(query(exchange).getOrDefault("FID_INPUT_ISCD", "000000")))));
+        httpServer.createContext("/uapi/overseas-price/v1/quotations/price", exchange -> respond(exchange,
+                SyntheticTicks.kisForeignPrice(ticks.next(query(exchange).getOrDefault("SYMB", "FAKE")))));
+        httpServer.start();
+        System.out.printf("✅ 가짜 거래소 REST 시작: http://localhost:%d (업비트 마켓 %d개)%n",
+                httpServer.getAddress().getPort(), symbols);
+
+        startReporter(option("report-seconds", 5));
+    }
+
+    void stop() {
+        try {
+            if (httpServer != null) httpServer.stop(0);
+            if (upbitSocket != null) upbitSocket.shutdown();
+            if (kisSocket != null) kisSocket.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 피드별 초당 전송 / 건너뜀 출력
+    private void startReporter(int seconds) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fake-exchange-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long[] last = new long[4];
+        reporter.scheduleAtFixedRate(() -> {
+            List<PacedFeedServer<?>> feeds = List.of(upbitSocket, kisSocket);
+            StringJoiner line = new StringJoiner(" | ", "📊 ", "");
+            for (int i = 0; i < feeds.size(); i++) {
+                PacedFeedServer<?> feed = feeds.get(i);
+                long sent = feed.sent();
+                long backlogged = feed.backlogged();
+                line.add(String.format("%s: %,d ticks/sec, backlogged %,d/sec, 구독 %d",
+                        feed.name(), (sent - last[i * 2]) / seconds, (backlogged - last[i * 2 + 1]) / seconds,
+                        feed.subscribedKeys()));
+                last[i * 2] = sent;
+                last[i * 2 + 1] = backlogged;
+            }
+            System.out.println(line);
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    private String marketAll(int symbols) {
+        StringJoiner markets = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < symbols; i++) {
+            String symbol = SyntheticTicks.upbitSymbol(i);
+            markets.add("{\"market\":\"" + symbol + "\",\"korean_name\":\"가짜코인" + i
+                    + "\",\"english_name\":\"Fake Coin " + i + "\"}");
+        }
+        return markets.toString();
+    }
+
+    private String upbitTickers(String markets) {
+        StringJoiner tickers = new StringJoiner(",", "[", "]");
+        if (markets != null) {
+            for (String market : markets.split(",")) {
+                if (!market.isBlank()) {
+                    tickers.add(SyntheticTicks.upbitRestTicker(ticks.next(market.trim())));
+                }
+            }
+        }
+        return tickers.toString();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private int option(String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    // --name=value 형식 인자
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.msaasset.fake;
+
+import com.example.msaasset.client.KisRealtimeParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.java_websocket.WebSocket;
+
+import java.util.List;
+
+/**
+ * 가짜 KIS 실시간 WebSocket (ws://ops.koreainvestment.com:21000 대역)
+ * - 요청: {"header":{"tr_type":"1|2",...},"body":{"input":{"tr_id":...,"tr_key":...}}}
+ * - 응답: 구독 결과 JSON 후 "0|TR_ID|건수|f1^f2^..." 파이프 프레임
+ * - batch > 1이면 같은 TR 체결을 한 프레임에 묶어 보냄 (KIS가 건수 2 이상으로 보내는 경우 재현)
+ */
+final class FakeKisSocket extends PacedFeedServer<FakeKisSocket.Subscription> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int batch;
+
+    FakeKisSocket(int port, SyntheticTicks ticks, int ticksPerSecond, int maxQueuedFrames, int batch) {
+        super("kis", port, ticks, ticksPerSecond, maxQueuedFrames);
+        this.batch = Math.max(1, batch);
+    }
+
+    @Override
+    protected void onRequest(WebSocket conn, String message) {
+        try {
+            JsonNode request = objectMapper.readTree(message);
+            String trType = request.path("header").path("tr_type").asText();
+            JsonNode input = request.path("body").path("input");
+            String trId = input.path("tr_id").asText();
+            String trKey = input.path("tr_key").asText();
+            if (trId.isEmpty() || trKey.isEmpty()) return;
+
+            // 해외는 DNAS 접두어를 떼고 종목 코드만 레코드에 씀
+            String symbol = KisRealtimeParser.TR_FOREIGN.equals(trId) && trKey.startsWith("DNAS")
+                    ? trKey.substring(4) : trKey;
+            Subscription subscription = new Subscription(trId, symbol);
+            boolean unsubscribe = "2".equals(trType);
+            if (unsubscribe) {
+                unsubscribe(conn, subscription);
+            } else {
+                subscribe(conn, subscription);
+            }
+            conn.send("{\"header\":{\"tr_id\":\"" + trId + "\",\"tr_key\":\"" + trKey + "\",\"encrypt\":\"N\"},"
+                    + "\"body\":{\"rt_cd\":\"0\",\"msg_cd\":\"OPSP0000\",\"msg1\":\""
+                    + (unsubscribe ? "UNSUBSCRIBE SUCCESS" : "SUBSCRIBE SUCCESS") + "\"}}");
+        } catch (Exception e) {
+            System.out.printf("⚠️ [kis] 알 수 없는 요청 무시: %s%n", message);
+        }
+    }
+
+    @Override
+    protected int emit(WebSocket conn, List<Subscription> keys, int cursor, int count) {
+        int sent = 0;
+        while (sent < count) {
+            String trId = keys.get((cursor + 1) % keys.size()).trId();
+            StringBuilder records = new StringBuilder(256 * batch);
+            int recordCount = 0;
+            while (recordCount < batch && sent < count) {
+                Subscription next = keys.get((cursor + 1) % keys.size());
+                if (!next.trId().equals(trId)) break;
+                cursor = (cursor + 1) % keys.size();
+                SyntheticTicks.Snapshot tick = ticks.next(next.symbol());
+                if (KisRealtimeParser.TR_DOMESTIC.equals(trId)) {
+                    SyntheticTicks.appendDomesticRecord(records, tick);
+                } else {
+                    SyntheticTicks.appendForeignRecord(records, tick);
+                }
+                recordCount++;
+                sent++;
+            }
+            conn.send("0|" + trId + "|" + String.format("%03d", recordCount) + "|" + records);
+        }
+        return cursor;
+    }
+
+    record Subscription(String trId, String symbol) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.msaasset.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.java_websocket.WebSocket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 가짜 업비트 WebSocket (wss://api.upbit.com/websocket/v1 대역)
+ * - 요청: [{"ticket":...},{"type":"ticker","codes":[...]}] (텍스트/바이너리 모두)
+ * - 응답: ticker JSON을 바이너리 프레임으로 전송, 구독은 요청마다 누적
+ */
+final class FakeUpbitSocket extends PacedFeedServer<String> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    FakeUpbitSocket(int port, SyntheticTicks ticks, int ticksPerSecond, int maxQueuedFrames) {
+        super("upbit", port, ticks, ticksPerSecond, maxQueuedFrames);
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, ByteBuffer message) {
+        onRequest(conn, StandardCharsets.UTF_8.decode(message).toString());
+    }
+
+    @Override
+    protected void onRequest(WebSocket conn, String message) {
+        try {
+            JsonNode request = objectMapper.readTree(message);
+            if (!request.isArray()) return;
+            for (JsonNode field : request) {
+                if (!"ticker".equals(field.path("type").asText())) continue;
+                for (JsonNode code : field.path("codes")) {
+                    subscribe(conn, code.asText());
+                }
+            }
+        } catch (Exception e) {
+            // PING 등 JSON이 아닌 요청은 업비트처럼 상태만 응답
+            conn.send("{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    protected int emit(WebSocket conn, List<String> keys, int cursor, int count) {
+        for (int i = 0; i < count; i++) {
+            cursor = (cursor + 1) % keys.size();
+            conn.send(SyntheticTicks.upbitTicker(ticks.next(keys.get(cursor))));
+        }
+        return cursor;
+    }
+}
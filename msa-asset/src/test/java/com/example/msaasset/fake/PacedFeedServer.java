@@ -0,0 +1,179 @@
+package com.example.msaasset.fake;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 구독한 종목에 정해진 속도로 틱을 밀어 주는 가짜 시세 WebSocket 서버 (업비트 / KIS 공통 부분)
+ * - 전송 속도는 연결당 초당 틱 수, 구독 종목을 돌아가며 한 틱씩
+ * - 상대가 못 받아서 송신 큐가 max-queued 프레임을 넘으면 그만큼은 보내지 않고 backlogged로 셈
+ *   -> backlogged가 0으로 유지되는 최대 속도가 msa-asset이 버티는 틱 처리량
+ *
+ * @param <K> 구독 키 (업비트: 마켓 코드, KIS: TR + 종목)
+ */
+abstract class PacedFeedServer<K> extends WebSocketServer {
+
+    // 한 번에 몰아서 보낼 최대 틱 수 (송신 스레드가 밀렸다가 따라잡을 때 폭주 방지)
+    private static final int MAX_BURST = 1_000;
+
+    protected final SyntheticTicks ticks;
+    private final String name;
+    private final int ticksPerSecond;
+    private final int maxQueuedFrames;
+
+    private final Map<WebSocket, Subscriber<K>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong backlogged = new AtomicLong();
+    private volatile boolean running;
+
+    PacedFeedServer(String name, int port, SyntheticTicks ticks, int ticksPerSecond, int maxQueuedFrames) {
+        super(new InetSocketAddress(port));
+        this.name = name;
+        this.ticks = ticks;
+        this.ticksPerSecond = ticksPerSecond;
+        this.maxQueuedFrames = maxQueuedFrames;
+        setReuseAddr(true);
+    }
+
+    /**
+     * 구독/해제 등 클라이언트 요청 처리
+     */
+    protected abstract void onRequest(WebSocket conn, String message);
+
+    /**
+     * keys를 cursor부터 돌아가며 count 틱 전송
+     * @return 다음 cursor
+     */
+    protected abstract int emit(WebSocket conn, List<K> keys, int cursor, int count);
+
+    @Override
+    public void onStart() {
+        running = true;
+        Thread emitter = new Thread(this::emitLoop, name + "-emitter");
+        emitter.setDaemon(true);
+        emitter.start();
+        System.out.printf("✅ 가짜 %s 시세 서버 시작: ws://localhost:%d (연결당 %,d ticks/sec)%n",
+                name, getPort(), ticksPerSecond);
+    }
+
+    @Override
+    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        subscribers.put(conn, new Subscriber<>());
+        System.out.printf("🔌 [%s] 연결: %s%s%n", name, conn.getRemoteSocketAddress(), handshake.getResourceDescriptor());
+    }
+
+    @Override
+    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        subscribers.remove(conn);
+        System.out.printf("🔌 [%s] 연결 종료: %s (%d)%n", name, conn.getRemoteSocketAddress(), code);
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, String message) {
+        onRequest(conn, message);
+    }
+
+    @Override
+    public void onError(WebSocket conn, Exception ex) {
+        System.out.printf("❌ [%s] 오류: %s%n", name, ex.getMessage());
+    }
+
+    void shutdown() throws InterruptedException {
+        running = false;
+        stop(1_000);
+    }
+
+    protected void subscribe(WebSocket conn, K key) {
+        Subscriber<K> subscriber = subscribers.get(conn);
+        if (subscriber != null) subscriber.add(key);
+    }
+
+    protected void unsubscribe(WebSocket conn, K key) {
+        Subscriber<K> subscriber = subscribers.get(conn);
+        if (subscriber != null) subscriber.remove(key);
+    }
+
+    String name() {
+        return name;
+    }
+
+    long sent() {
+        return sent.get();
+    }
+
+    long backlogged() {
+        return backlogged.get();
+    }
+
+    int subscribedKeys() {
+        int total = 0;
+        for (Subscriber<K> subscriber : subscribers.values()) {
+            total += subscriber.keys.size();
+        }
+        return total;
+    }
+
+    // 경과 시간 x 속도만큼 밀린 틱을 모든 연결에 보냄
+    private void emitLoop() {
+        long startNanos = System.nanoTime();
+        long due = 0;
+        while (running) {
+            long target = (System.nanoTime() - startNanos) * ticksPerSecond / 1_000_000_000L;
+            int budget = (int) Math.min(target - due, MAX_BURST);
+            if (budget <= 0) {
+                LockSupport.parkNanos(100_000L);
+                continue;
+            }
+            due += budget;
+
+            for (Map.Entry<WebSocket, Subscriber<K>> entry : subscribers.entrySet()) {
+                WebSocket conn = entry.getKey();
+                Subscriber<K> subscriber = entry.getValue();
+                List<K> keys = subscriber.keys;
+                if (keys.isEmpty() || !conn.isOpen()) continue;
+                if (queuedFrames(conn) > maxQueuedFrames) {
+                    backlogged.addAndGet(budget);
+                    continue;
+                }
+                try {
+                    subscriber.cursor = emit(conn, keys, subscriber.cursor, budget);
+                    sent.addAndGet(budget);
+                } catch (RuntimeException e) {
+                    // 전송 중 연결이 닫힌 경우 등, 다음 주기에 정리됨
+                    backlogged.addAndGet(budget);
+                }
+            }
+        }
+    }
+
+    private static int queuedFrames(WebSocket conn) {
+        return conn instanceof WebSocketImpl impl ? impl.outQueue.size() : 0;
+    }
+
+    // 연결 하나의 구독 목록 (목록은 통째로 교체, 송신 스레드는 락 없이 읽음)
+    private static final class Subscriber<K> {
+        private final Set<K> keySet = new LinkedHashSet<>();
+        volatile List<K> keys = List.of();
+        int cursor;
+
+        synchronized void add(K key) {
+            if (keySet.add(key)) keys = new ArrayList<>(keySet);
+        }
+
+        synchronized void remove(K key) {
+            if (keySet.remove(key)) keys = new ArrayList<>(keySet);
+        }
+    }
+}
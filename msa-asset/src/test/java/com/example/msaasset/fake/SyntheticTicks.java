@@ -0,0 +1,176 @@
+package com.example.msaasset.fake;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가짜 거래소용 합성 시세
+ * - 종목별 랜덤 워크 가격 + 누적 거래량, 등락률은 첫 가격(전일 종가 역할) 기준
+ * - 업비트 ticker JSON / KIS 실시간 체결 파이프 레코드 / KIS REST 응답 형식으로 만들어 줌
+ * - 종목 상태 갱신은 종목 단위 synchronized (송신 스레드와 REST 스레드가 같이 써도 됨)
+ */
+final class SyntheticTicks {
+
+    // 가짜 업비트 마켓 코드 접두어 (KRW-FK0000, KRW-FK0001, ...)
+    static final String UPBIT_PREFIX = "KRW-FK";
+
+    // KIS 체결 일자/시각 필드 (한국 시간)
+    private static final DateTimeFormatter KIS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneId.of("Asia/Seoul"));
+    private static final DateTimeFormatter KIS_TIME = DateTimeFormatter.ofPattern("HHmmss").withZone(ZoneId.of("Asia/Seoul"));
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    static String upbitSymbol(int index) {
+        return String.format("%s%04d", UPBIT_PREFIX, index);
+    }
+
+    /**
+     * 종목 하나를 한 틱 진행시키고 현재 상태 반환 (반환값은 호출 스레드에서 바로 읽을 것)
+     */
+    Snapshot next(String symbol) {
+        State state = states.computeIfAbsent(symbol, State::new);
+        synchronized (state) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            state.price = Math.max(state.base * 0.5, state.price * (1 + random.nextGaussian() * 0.0005));
+            state.high = Math.max(state.high, state.price);
+            state.low = Math.min(state.low, state.price);
+            state.volume += 1 + random.nextInt(100);
+            return new Snapshot(symbol, round(state.price), round(state.high), round(state.low),
+                    state.price / state.base - 1, state.volume, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 업비트 WebSocket ticker 프레임 (바이너리로 보내는 UTF-8 JSON)
+     */
+    static byte[] upbitTicker(Snapshot tick) {
+        return upbitTickerJson("code", tick).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 업비트 REST /ticker 응답 원소 (WebSocket과 달리 종목 키가 market)
+     */
+    static String upbitRestTicker(Snapshot tick) {
+        return upbitTickerJson("market", tick);
+    }
+
+    private static String upbitTickerJson(String symbolKey, Snapshot tick) {
+        return "{\"type\":\"ticker\",\"" + symbolKey + "\":\"" + tick.symbol() + "\""
+                + ",\"opening_price\":" + tick.low()
+                + ",\"high_price\":" + tick.high()
+                + ",\"low_price\":" + tick.low()
+                + ",\"trade_price\":" + tick.price()
+                + ",\"change\":\"" + (tick.changeRate() > 0 ? "RISE" : tick.changeRate() < 0 ? "FALL" : "EVEN") + "\""
+                + ",\"signed_change_rate\":" + tick.changeRate()
+                + ",\"trade_volume\":1.0"
+                + ",\"acc_trade_volume\":" + tick.volume()
+                + ",\"timestamp\":" + tick.timestamp()
+                + ",\"stream_type\":\"REALTIME\"}";
+    }
+
+    /**
+     * KIS 국내 실시간 체결(H0STCNT0) 레코드 한 건 (46필드, 파서가 읽는 위치만 채움)
+     */
+    static void appendDomesticRecord(StringBuilder out, Snapshot tick) {
+        String[] fields = emptyFields(46);
+        fields[0] = tick.symbol();
+        fields[1] = KIS_TIME.format(Instant.ofEpochMilli(tick.timestamp()));
+        fields[2] = Long.toString((long) tick.price());
+        fields[5] = percent(tick.changeRate());
+        fields[8] = Long.toString((long) tick.high());
+        fields[9] = Long.toString((long) tick.low());
+        fields[13] = Long.toString((long) tick.volume());
+        appendFields(out, fields);
+    }
+
+    /**
+     * KIS 해외 실시간 지연체결(HDFSCNT0) 레코드 한 건 (26필드)
+     */
+    static void appendForeignRecord(StringBuilder out, Snapshot tick) {
+        String[] fields = emptyFields(26);
+        fields[0] = "DNAS" + tick.symbol();
+        fields[1] = tick.symbol();
+        fields[6] = KIS_DATE.format(Instant.ofEpochMilli(tick.timestamp()));
+        fields[7] = KIS_TIME.format(Instant.ofEpochMilli(tick.timestamp()));
+        fields[9] = Double.toString(tick.high());
+        fields[10] = Double.toString(tick.low());
+        fields[11] = Double.toString(tick.price());
+        fields[14] = percent(tick.changeRate());
+        fields[20] = Long.toString((long) tick.volume());
+        appendFields(out, fields);
+    }
+
+    /**
+     * KIS REST 국내 현재가(inquire-price) 응답
+     */
+    static String kisDomesticPrice(Snapshot tick) {
+        return "{\"rt_cd\":\"0\",\"msg_cd\":\"MCA00000\",\"msg1\":\"정상처리 되었습니다.\",\"output\":{"
+                + "\"stck_prpr\":\"" + (long) tick.price() + "\""
+                + ",\"stck_hgpr\":\"" + (long) tick.high() + "\""
+                + ",\"stck_lwpr\":\"" + (long) tick.low() + "\""
+                + ",\"acml_vol\":\"" + (long) tick.volume() + "\""
+                + ",\"prdy_ctrt\":\"" + percent(tick.changeRate()) + "\"}}";
+    }
+
+    /**
+     * KIS REST 해외 현재체결가(price) 응답
+     */
+    static String kisForeignPrice(Snapshot tick) {
+        return "{\"rt_cd\":\"0\",\"msg_cd\":\"MCA00000\",\"msg1\":\"정상처리 되었습니다.\",\"output\":{"
+                + "\"last\":\"" + tick.price() + "\""
+                + ",\"tvol\":\"" + (long) tick.volume() + "\""
+                + ",\"rate\":\"" + percent(tick.changeRate()) + "\""
+                + ",\"tamt\":\"" + (long) (tick.price() * tick.volume()) + "\"}}";
+    }
+
+    // KIS 등락률은 퍼센트 (업비트는 비율)
+    private static String percent(double changeRate) {
+        return String.format(Locale.ROOT, "%.2f", changeRate * 100);
+    }
+
+    private static double round(double price) {
+        return Math.round(price * 100) / 100.0;
+    }
+
+    private static String[] emptyFields(int count) {
+        String[] fields = new String[count];
+        Arrays.fill(fields, "0");
+        return fields;
+    }
+
+    private static void appendFields(StringBuilder out, String[] fields) {
+        for (String field : fields) {
+            if (out.length() > 0 && out.charAt(out.length() - 1) != '|') {
+                out.append('^');
+            }
+            out.append(field);
+        }
+    }
+
+    record Snapshot(String symbol, double price, double high, double low,
+                    double changeRate, double volume, long timestamp) {
+    }
+
+    // 종목별 랜덤 워크 상태 (시작가는 심볼 해시로 고정, 실행마다 같은 가격대)
+    private static final class State {
+        final double base;
+        double price;
+        double high;
+        double low;
+        double volume;
+
+        State(String symbol) {
+            this.base = 1_000 + Math.floorMod(symbol.hashCode(), 100_000);
+            this.price = base;
+            this.high = base;
+            this.low = base;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.msaasset.fake;
+
+import com.example.msaasset.client.KisRealtimeParser;
+import com.example.msaasset.client.UpbitTicker;
+import com.example.msaasset.client.UpbitTickerDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가짜 거래소가 만드는 프레임을 실제 수신 경로의 디코더/파서가 그대로 읽는지 확인
+ */
+class SyntheticTicksTest {
+
+    private final SyntheticTicks ticks = new SyntheticTicks();
+
+    @Test
+    void upbitTickerFrameDecodes() throws Exception {
+        SyntheticTicks.Snapshot tick = ticks.next("KRW-FK0001");
+        UpbitTicker ticker = new UpbitTicker();
+
+        assertTrue(new UpbitTickerDecoder().decode(ByteBuffer.wrap(SyntheticTicks.upbitTicker(tick)), ticker));
+        assertEquals("KRW-FK0001", ticker.getCode());
+        assertEquals(tick.price(), ticker.getTradePrice());
+        assertEquals(tick.changeRate(), ticker.getSignedChangeRate());
+        assertEquals(tick.volume(), ticker.getAccTradeVolume());
+        assertEquals(tick.timestamp(), ticker.getTimestamp());
+    }
+
+    @Test
+    void kisPipeFramesParse() {
+        StringBuilder domestic = new StringBuilder();
+        SyntheticTicks.appendDomesticRecord(domestic, ticks.next("005930"));
+        SyntheticTicks.appendDomesticRecord(domestic, ticks.next("000660"));
+        StringBuilder foreign = new StringBuilder();
+        SyntheticTicks.appendForeignRecord(foreign, ticks.next("AAPL"));
+
+        KisRealtimeParser parser = new KisRealtimeParser();
+        List<String> symbols = new ArrayList<>();
+        KisRealtimeParser.RecordHandler handler = (trId, symbol, price, high, low, changeRate, volume, exchangeTimestamp) -> {
+            assertTrue(price > 0 && high >= low && volume > 0);
+            // 체결 시각(KST, 초 단위)이 가짜 틱 시각과 같은 초
+            assertTrue(Math.abs(System.currentTimeMillis() - exchangeTimestamp) < 10_000, "exchangeTimestamp " + exchangeTimestamp);
+            symbols.add(trId + ":" + symbol);
+        };
+
+        assertEquals(2, parser.parse("0|H0STCNT0|002|" + domestic, handler));
+        assertEquals(1, parser.parse("0|HDFSCNT0|001|" + foreign, handler));
+        assertEquals(List.of("H0STCNT0:005930", "H0STCNT0:000660", "HDFSCNT0:AAPL"), symbols);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.msaasset.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 샤드 링 버퍼: 순서 유지, 가득 차면 거절, 꺼낸 자리 재사용
+ */
+class TickRingTest {
+
+    @Test
+    void drainsInOfferOrderAndRejectsWhenFull() {
+        TickRing ring = new TickRing(4);
+        Tick tick = new Tick();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(tick.set(TickSource.UPBIT_WS, "KRW-BTC", 100.0 + i, 0.01, Double.NaN, i), i % 2 == 0));
+        }
+        assertFalse(ring.offer(tick.set(TickSource.UPBIT_WS, "KRW-BTC", 200.0, 0.01, Double.NaN, 9), true));
+        assertEquals(4, ring.size());
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(3, ring.drain((t, live) -> drained.add(t.price() + ":" + live), 3));
+        assertEquals(List.of("100.0:true", "101.0:false", "102.0:true"), drained);
+        assertEquals(1, ring.size());
+
+        // 꺼낸 자리에 다시 넣을 수 있고, 넣은 뒤 원본 틱을 바꿔도 슬롯 값은 그대로
+        assertTrue(ring.offer(tick.set(TickSource.KIS_WS, "005930", 71_200.0, 1.5, 10.0, 0L), true));
+        tick.set(TickSource.KIS_WS, "005930", 0.0, 0.0, 0.0, 0L);
+        drained.clear();
+        assertEquals(2, ring.drain((t, live) -> drained.add(t.symbol() + ":" + t.price()), 10));
+        assertEquals(List.of("KRW-BTC:103.0", "005930:71200.0"), drained);
+        assertTrue(ring.isEmpty());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.msaasset.feed;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 공통 틱: 고정소수점 가격 왕복 변환, 피드별 변동률 단위 통일
+ */
+class TickTest {
+
+    @Test
+    void fixedPriceRoundTripsFeedPrices() {
+        double[] prices = {142_335_000.0, 71_200.0, 0.0001234, 1.30681748, 44_514_619.59, 213.4567, 31_394_860_969.0};
+        Tick tick = new Tick();
+        for (double price : prices) {
+            assertEquals(price, tick.set(TickSource.UPBIT_WS, "KRW-BTC", price, 0.01, Double.NaN, 0L).price());
+        }
+        assertEquals(14_233_500_000_000_000L, Tick.toFixed(142_335_000.0));
+    }
+
+    @Test
+    void changePercentIsFeedIndependent() {
+        Tick tick = new Tick();
+        // 업비트는 비율(0.0512), KIS는 퍼센트(-5.1)
+        assertEquals(5.12, tick.set(TickSource.UPBIT_WS, "KRW-BTC", 1.0, 0.0512, Double.NaN, 0L).changePercent(), 1e-9);
+        assertEquals(-5.1, tick.set(TickSource.KIS_REST, "005930", 1.0, -5.1, Double.NaN, 0L).changePercent(), 1e-9);
+    }
+
+    @Test
+    void replayFlagIsResetOnReuse() {
+        Tick tick = new Tick().set(TickSource.KIS_WS, "005930", 71_200.0, 1.0, 10.0, 0L).asReplay();
+        assertEquals("replay", tick.sourceTag());
+        assertEquals("kis-ws", tick.set(TickSource.KIS_WS, "005930", 71_300.0, 1.1, 11.0, 0L).sourceTag());
+        assertFalse(tick.isReplay());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.msaasset.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 틱 저널: 기록 후 읽기, 크기 기준 세그먼트 넘김, 구간 읽기, 여러 샤드 스레드 동시 기록, 재시작 시 임시 세그먼트 복구
+ */
+class TickJournalTest {
+
+    // 세그먼트당 레코드 4개
+    private static final long SMALL_SEGMENT = TickJournalFormat.HEADER_BYTES + 4L * TickJournalFormat.RECORD_BYTES;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesRollsBySizeAndReadsRange() throws Exception {
+        TickJournal journal = journal(SMALL_SEGMENT);
+        long before = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            journal.append(i % 2 == 0 ? "KRW-BTC" : "005930", 100.0 + i, 0.01 * i, i == 0 ? Double.NaN : 10.0 * i, 1_000L + i);
+        }
+        Thread.sleep(5);
+        long middle = System.currentTimeMillis();
+        for (int i = 5; i < 10; i++) {
+            journal.append(i % 2 == 0 ? "KRW-BTC" : "005930", 100.0 + i, 0.01 * i, 10.0 * i, 1_000L + i);
+        }
+        long after = System.currentTimeMillis();
+        journal.stop();
+
+        TickJournalReader reader = new TickJournalReader(dir);
+        // 4 + 4 + 2, 예비 세그먼트(next-*.tmp)는 종료 시 삭제
+        assertEquals(3, reader.segments().size());
+        assertEquals(0, countFiles(TickJournalFormat.SPARE_PREFIX));
+
+        List<double[]> records = new ArrayList<>();
+        List<String> symbols = new ArrayList<>();
+        assertEquals(10, reader.read(before, after + 1, (symbol, price, changeRate, volume, sourceTimestamp, ingestTimestamp) -> {
+            symbols.add(symbol);
+            records.add(new double[]{price, changeRate, volume, sourceTimestamp});
+        }));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 2 == 0 ? "KRW-BTC" : "005930", symbols.get(i));
+            assertEquals(100.0 + i, records.get(i)[0]);
+            assertEquals(0.01 * i, records.get(i)[1], 1e-9);
+            assertEquals(1_000.0 + i, records.get(i)[3]);
+        }
+        assertTrue(Double.isNaN(records.get(0)[2]));
+
+        // 수신 시각 [from, to) 구간만
+        assertEquals(5, reader.read(0, middle, (s, p, c, v, st, it) -> assertTrue(p < 105.0)));
+        assertEquals(5, reader.read(middle, Long.MAX_VALUE, (s, p, c, v, st, it) -> assertTrue(p >= 105.0)));
+        assertEquals(0, reader.read(after + 1, Long.MAX_VALUE, (s, p, c, v, st, it) -> fail()));
+    }
+
+    @Test
+    void concurrentWritersKeepEveryRecord() throws Exception {
+        TickJournal journal = journal(TickJournalFormat.HEADER_BYTES + 100L * TickJournalFormat.RECORD_BYTES);
+        int threads = 4;
+        int perThread = 500;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int shard = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    journal.append("SYM-" + shard, shard * 10_000 + i, 0.0, Double.NaN, 0L);
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        journal.stop();
+
+        // 세그먼트를 넘기는 동안에도 빠지거나 겹친 칸 없이 전부 기록
+        Set<Double> prices = new HashSet<>();
+        long read = new TickJournalReader(dir).read(0, Long.MAX_VALUE, (symbol, price, changeRate, volume, sourceTimestamp, ingestTimestamp) -> {
+            assertEquals("SYM-" + (int) (price / 10_000), symbol);
+            prices.add(price);
+        });
+        assertEquals(threads * perThread, read);
+        assertEquals(threads * perThread, prices.size());
+        assertTrue(new TickJournalReader(dir).segments().size() >= threads * perThread / 100);
+    }
+
+    @Test
+    void recoversSparesOnRestart() throws Exception {
+        TickJournal journal = journal(SMALL_SEGMENT);
+        for (int i = 0; i < 3; i++) {
+            journal.append("KRW-BTC", 100.0 + i, 0.0, Double.NaN, 0L);
+        }
+        journal.stop();
+
+        // 비정상 종료 흉내: 기록 중이던 세그먼트가 이름 변경 전(next-*.tmp), 기록 안 한 예비 세그먼트도 남음
+        Path written = new TickJournalReader(dir).segments().get(0);
+        Path started = dir.resolve(TickJournalFormat.spareName(42));
+        Path unused = dir.resolve(TickJournalFormat.spareName(43));
+        Files.move(written, started);
+        Files.copy(started, unused);
+        try (FileChannel channel = FileChannel.open(unused, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), 16); // createdAt = 0
+        }
+        assertTrue(new TickJournalReader(dir).segments().isEmpty());
+
+        TickJournal restarted = journal(SMALL_SEGMENT);
+        restarted.stop();
+
+        assertFalse(Files.exists(started));
+        assertFalse(Files.exists(unused));
+        assertTrue(Files.exists(written));
+        assertEquals(3, new TickJournalReader(dir).read(0, Long.MAX_VALUE, (s, p, c, v, st, it) -> { }));
+    }
+
+    private TickJournal journal(long segmentBytes) {
+        TickJournal journal = new TickJournal(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", segmentBytes);
+        ReflectionTestUtils.setField(journal, "rollIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(journal, "retentionHours", 24L);
+        ReflectionTestUtils.setField(journal, "forceIntervalMs", 1000L);
+        journal.start();
+        return journal;
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
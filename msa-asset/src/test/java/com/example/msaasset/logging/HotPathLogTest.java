@@ -0,0 +1,52 @@
+package com.example.msaasset.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 틱 경로 로그: 종류별 집계, 같은 키 출력 제한, 요약 줄 형식
+ */
+class HotPathLogTest {
+
+    @Test
+    void summarizesEventsAndKindsThenResets() {
+        HotPathLog hotLog = new HotPathLog("upbit", "ticks", 0, 60_000);
+        for (int i = 0; i < 48_200; i++) {
+            hotLog.event();
+        }
+        hotLog.error("parse", null, "parse error {}", 1);
+        hotLog.error("parse", null, "parse error {}", 2);
+        hotLog.error("parse", null, "parse error {}", 3);
+
+        assertEquals("upbit: 48.2k ticks/10s, parse 3 (생략 2)", hotLog.drainSummary(10_000));
+        assertNull(hotLog.drainSummary(10_000));
+    }
+
+    @Test
+    void limitsOutputPerKindAndKey() {
+        HotPathLog hotLog = new HotPathLog("kis", "ticks", 0, 60_000);
+        hotLog.warn("anomaly", "005930", "first");
+        hotLog.warn("anomaly", "005930", "suppressed");
+        hotLog.warn("anomaly", "000660", "other symbol");
+        hotLog.warn("kafka", "005930", "other kind");
+
+        // 4건 모두 집계, 출력은 키마다 첫 번째만
+        assertEquals("kis: 0 ticks/10s, anomaly 3, kafka 1 (생략 1)", hotLog.drainSummary(10_000));
+    }
+
+    @Test
+    void samplingDisabledWhenRateIsZero() {
+        HotPathLog hotLog = new HotPathLog("broadcast", "updates", 0, 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(hotLog.sample());
+        }
+    }
+
+    @Test
+    void formatsLargeCounts() {
+        assertEquals("9999", HotPathLog.formatCount(9_999));
+        assertEquals("48.2k", HotPathLog.formatCount(48_200));
+        assertEquals("12.5M", HotPathLog.formatCount(12_500_000));
+    }
+}
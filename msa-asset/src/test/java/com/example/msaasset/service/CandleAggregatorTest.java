@@ -0,0 +1,111 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.dto.CandleDTO;
+import com.example.msaasset.entity.CandleInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 캔들 집계: KST 구간 정렬, 구간 넘김/주기 마감, 누적 거래량 초기화 시 거래량 차이
+ */
+class CandleAggregatorTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 2024-03-15 10:00 KST (정시, 1m/5m/1h 구간 시작이 같음)
+    private static final long T0 = LocalDateTime.of(2024, 3, 15, 10, 0).atZone(KST).toInstant().toEpochMilli();
+
+    @Test
+    void openTimeAlignsToKst() {
+        long midnight = LocalDateTime.of(2024, 3, 15, 0, 0).atZone(KST).toInstant().toEpochMilli();
+
+        // 1d는 KST 자정 기준 (UTC 자정 아님)
+        assertEquals(midnight, CandleInterval.D1.openTimeOf(midnight));
+        assertEquals(midnight, CandleInterval.D1.openTimeOf(T0 + 13 * 3_600_000L + 59 * 60_000L));
+        assertEquals(midnight - 86_400_000L, CandleInterval.D1.openTimeOf(midnight - 1));
+
+        assertEquals(T0, CandleInterval.H1.openTimeOf(T0 + 3_599_999L));
+        assertEquals(T0 + 3_600_000L, CandleInterval.H1.openTimeOf(T0 + 3_600_000L));
+        assertEquals(T0 + 300_000L, CandleInterval.M5.openTimeOf(T0 + 599_999L));
+        assertEquals(T0 + 60_000L, CandleInterval.M1.openTimeOf(T0 + 60_001L));
+        // epoch 이전 시각도 내림
+        assertEquals(-9 * 3_600_000L, CandleInterval.D1.openTimeOf(-1));
+    }
+
+    @Test
+    void rollsOverAndClosesExpiredCandles() {
+        CandleAggregator.SymbolCandles candles = new CandleAggregator.SymbolCandles("KRW-BTC");
+        Queue<CandleAggregator.ClosedCandle> sink = new ArrayDeque<>();
+
+        candles.onTick(T0 + 1_000, 100.0, 10.0, sink);
+        candles.onTick(T0 + 30_000, 110.0, 15.0, sink);
+        candles.onTick(T0 + 59_999, 90.0, 16.0, sink);
+        assertTrue(sink.isEmpty());
+
+        // 다음 분 첫 틱에 1m만 마감 (5m, 1h, 1d는 진행 중)
+        candles.onTick(T0 + 60_000, 95.0, 20.0, sink);
+        assertEquals(1, sink.size());
+        assertCandle(sink.poll(), CandleInterval.M1, T0, 100.0, 110.0, 90.0, 90.0, 6.0);
+        assertEquals(new CandleDTO(T0 + 60_000, 95.0, 95.0, 95.0, 95.0, 4.0, false),
+                candles.snapshot(CandleInterval.M1, T0 + 60_000));
+
+        // 틱이 끊겨도 구간 종료 시각이 지나면 마감
+        candles.closeExpired(T0 + 119_999, sink);
+        assertTrue(sink.isEmpty());
+        candles.closeExpired(T0 + 120_000, sink);
+        assertCandle(sink.poll(), CandleInterval.M1, T0 + 60_000, 95.0, 95.0, 95.0, 95.0, 4.0);
+        assertNull(candles.snapshot(CandleInterval.M1, T0 + 120_000));
+        assertTrue(sink.isEmpty());
+
+        candles.closeExpired(T0 + 300_000, sink);
+        assertCandle(sink.poll(), CandleInterval.M5, T0, 100.0, 110.0, 90.0, 95.0, 10.0);
+        assertTrue(sink.isEmpty());
+
+        // 마감 뒤 첫 틱은 새 캔들 시작, 거래량은 직전 누적값 기준 차이
+        candles.onTick(T0 + 400_000, 97.0, 21.0, sink);
+        assertEquals(new CandleDTO(T0 + 300_000, 97.0, 97.0, 97.0, 97.0, 1.0, false),
+                candles.snapshot(CandleInterval.M5, T0 + 400_000));
+        // 진행 중 1h 캔들 (마감 없이 계속 누적)
+        assertEquals(new CandleDTO(T0, 100.0, 110.0, 90.0, 97.0, 11.0, false),
+                candles.snapshot(CandleInterval.H1, T0 + 400_000));
+
+        candles.closeAll(sink);
+        assertEquals(4, sink.size());
+    }
+
+    @Test
+    void volumeRestartsWhenCumulativeVolumeResets() {
+        CandleAggregator.SymbolCandles candles = new CandleAggregator.SymbolCandles("005930");
+        Queue<CandleAggregator.ClosedCandle> sink = new ArrayDeque<>();
+
+        candles.onTick(T0, 100.0, 1_000.0, sink);
+        candles.onTick(T0 + 1_000, 100.0, 1_005.0, sink);
+        // 누적값이 줄면 일 초기화: 현재 값(3)이 그대로 구간 거래량
+        candles.onTick(T0 + 2_000, 100.0, 3.0, sink);
+        candles.onTick(T0 + 3_000, 100.0, 4.0, sink);
+        // 거래량 없는 틱(NaN)은 0으로 보고 직전 누적값 유지
+        candles.onTick(T0 + 4_000, 100.0, Double.NaN, sink);
+        candles.onTick(T0 + 5_000, 100.0, 6.0, sink);
+
+        assertEquals(5.0 + 3.0 + 1.0 + 2.0, candles.snapshot(CandleInterval.M1, T0 + 5_000).getVolume(), 1e-9);
+    }
+
+    private static void assertCandle(CandleAggregator.ClosedCandle candle, CandleInterval interval, long openTime,
+                                     double open, double high, double low, double close, double volume) {
+        assertNotNull(candle);
+        assertEquals("KRW-BTC", candle.symbol());
+        assertEquals(interval, candle.interval());
+        assertEquals(openTime, candle.openTime());
+        assertEquals(open, candle.open());
+        assertEquals(high, candle.high());
+        assertEquals(low, candle.low());
+        assertEquals(close, candle.close());
+        assertEquals(volume, candle.volume(), 1e-9);
+    }
+}
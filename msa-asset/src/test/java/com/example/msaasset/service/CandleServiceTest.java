@@ -0,0 +1,79 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.config.AssetRole;
+import com.example.msaasset.dto.CandleDTO;
+import com.example.msaasset.dto.CandlePageDTO;
+import com.example.msaasset.entity.Candle;
+import com.example.msaasset.entity.CandleInterval;
+import com.example.msaasset.entity.CandleKey;
+import com.example.msaasset.repository.CandleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 캔들 조회: 재시작 전 저장된 부분 캔들과 진행 중인 캔들 병합, 마지막 페이지에만 진행 중 캔들
+ */
+class CandleServiceTest {
+
+    private static final String SYMBOL = "KRW-BTC";
+
+    private final CandleRepository candleRepository = mock(CandleRepository.class);
+    private final CandleAggregator candleAggregator = mock(CandleAggregator.class);
+
+    private CandleService service(String role) {
+        CandleService service = new CandleService(candleRepository, candleAggregator, new AssetRole(role, true));
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        return service;
+    }
+
+    @Test
+    void mergesSavedPartialCandleWithOpenCandle() {
+        long openTime = CandleInterval.M1.openTimeOf(System.currentTimeMillis());
+        long previous = openTime - 60_000;
+        when(candleRepository.findPage(eq(SYMBOL), eq("1m"), anyLong(), anyLong(), any())).thenReturn(List.of(
+                row(previous, 90.0, 95.0, 89.0, 94.0, 7.0),
+                row(openTime, 94.0, 99.0, 93.0, 98.0, 3.0)));
+        when(candleAggregator.openCandle(SYMBOL, CandleInterval.M1))
+                .thenReturn(new CandleDTO(openTime, 97.0, 101.0, 92.0, 100.0, 2.0, false));
+
+        CandlePageDTO page = service(AssetRole.INGEST).getCandles(SYMBOL, "1m", null, null, 5);
+
+        // 시가는 저장 값, 고가/저가는 양쪽 극값, 종가는 메모리 값, 거래량은 합
+        assertEquals(List.of(
+                new CandleDTO(previous, 90.0, 95.0, 89.0, 94.0, 7.0, true),
+                new CandleDTO(openTime, 94.0, 101.0, 92.0, 100.0, 5.0, false)), page.getCandles());
+        assertNull(page.getNextFrom());
+    }
+
+    @Test
+    void appendsOpenCandleOnlyOnLastPage() {
+        long openTime = CandleInterval.M1.openTimeOf(System.currentTimeMillis());
+        CandleDTO open = new CandleDTO(openTime, 97.0, 101.0, 92.0, 100.0, 2.0, false);
+        when(candleAggregator.openCandle(SYMBOL, CandleInterval.M1)).thenReturn(open);
+
+        when(candleRepository.findPage(eq(SYMBOL), eq("1m"), anyLong(), anyLong(), any()))
+                .thenReturn(List.of(row(openTime - 60_000, 90.0, 95.0, 89.0, 94.0, 7.0)));
+        CandlePageDTO last = service(AssetRole.INGEST).getCandles(SYMBOL, "1m", null, null, 5);
+        assertEquals(2, last.getCandles().size());
+        assertEquals(open, last.getCandles().get(1));
+
+        // 페이지가 꽉 차면 다음 페이지 시작점만 주고 진행 중 캔들은 붙이지 않음
+        CandlePageDTO full = service(AssetRole.INGEST).getCandles(SYMBOL, "1m", null, null, 1);
+        assertEquals(1, full.getCandles().size());
+        assertEquals(openTime - 60_000 + 1, full.getNextFrom());
+
+        // edge에는 진행 중 캔들이 없음
+        CandlePageDTO edge = service(AssetRole.EDGE).getCandles(SYMBOL, "1m", null, null, 5);
+        assertEquals(1, edge.getCandles().size());
+    }
+
+    private static Candle row(long openTime, double open, double high, double low, double close, double volume) {
+        return new Candle(new CandleKey(SYMBOL, "1m", openTime), open, high, low, close, volume);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.msaasset.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가격 이력 링: 빈 초 채움, 링보다 긴 공백, 시계 역행, 이력 시작 전 구간과 NaN 규칙
+ */
+class PriceHistoryTest {
+
+    private static final String SYMBOL = "KRW-BTC";
+    private static final long T = 1_700_000_000L;
+
+    // 보관 10초 (링 11칸)
+    private static PriceHistory history() {
+        PriceHistory history = new PriceHistory(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(history, "retentionSeconds", 10);
+        ReflectionTestUtils.setField(history, "maxSymbols", 2);
+        return history;
+    }
+
+    @Test
+    void fillsSilentSecondsWithPreviousPrice() {
+        PriceHistory history = history();
+        history.record(SYMBOL, 100.0, T);
+        history.record(SYMBOL, 110.0, T + 5);
+
+        assertEquals(0.1, history.change(SYMBOL, 5, T + 5), 1e-9);
+        // T+1..T+4는 직전 가격(100)으로 채워짐
+        assertEquals(0.1, history.change(SYMBOL, 2, T + 5), 1e-9);
+        assertEquals(0.0, history.change(SYMBOL, 2, T + 3), 1e-9);
+        // 마지막 틱 이후는 마지막 가격 유지
+        assertEquals(0.0, history.change(SYMBOL, 3, T + 9), 1e-9);
+    }
+
+    @Test
+    void gapLongerThanRingKeepsOnlyCarriedPrice() {
+        PriceHistory history = history();
+        history.record(SYMBOL, 100.0, T);
+        history.record(SYMBOL, 105.0, T + 1);
+        history.record(SYMBOL, 200.0, T + 50);
+
+        // 링 한 바퀴 이상 비었으면 T+40..T+49 전부 직전 가격(105), 그 전 이력은 없음
+        assertEquals(200.0 / 105.0 - 1.0, history.change(SYMBOL, 10, T + 50), 1e-6);
+        assertEquals(200.0 / 105.0 - 1.0, history.change(SYMBOL, 1, T + 50), 1e-6);
+        assertEquals(0.0, history.change(SYMBOL, 5, T + 49), 1e-9);
+        // 이력 시작(T+40) 이전 구간은 NaN
+        assertTrue(Double.isNaN(history.change(SYMBOL, 10, T + 49)));
+    }
+
+    @Test
+    void ignoresTicksWhenClockMovesBackwards() {
+        PriceHistory history = history();
+        history.record(SYMBOL, 100.0, T);
+        history.record(SYMBOL, 120.0, T + 3);
+        history.record(SYMBOL, 50.0, T + 1);
+
+        assertEquals(0.2, history.change(SYMBOL, 3, T + 3), 1e-6);
+        assertEquals(0.0, history.change(SYMBOL, 1, T + 1), 1e-9);
+
+        // 같은 초의 틱은 마지막 가격으로 덮어씀
+        history.record(SYMBOL, 130.0, T + 3);
+        assertEquals(0.3, history.change(SYMBOL, 3, T + 3), 1e-6);
+    }
+
+    @Test
+    void returnsNaNWhenHistoryDoesNotCoverWindow() {
+        PriceHistory history = history();
+        assertTrue(Double.isNaN(history.change(SYMBOL, 1, T)));
+
+        history.record(SYMBOL, 100.0, T);
+        history.record(SYMBOL, 101.0, T + 2);
+
+        // 구간 시작이 첫 기록보다 앞섬
+        assertTrue(Double.isNaN(history.change(SYMBOL, 3, T + 2)));
+        assertEquals(0.01, history.change(SYMBOL, 2, T + 2), 1e-6);
+        // 보관 초를 넘거나 0 이하인 구간
+        assertTrue(Double.isNaN(history.change(SYMBOL, 11, T + 20)));
+        assertTrue(Double.isNaN(history.change(SYMBOL, 0, T + 2)));
+        // 마지막 틱 이후 오래 지나도 마지막 가격 기준 (틱 없는 구간은 변동 0)
+        assertEquals(0.0, history.change(SYMBOL, 10, T + 12), 1e-9);
+    }
+
+    @Test
+    void skipsInvalidPricesAndSymbolsOverLimit() {
+        PriceHistory history = history();
+        history.record(SYMBOL, 0.0, T);
+        history.record(SYMBOL, Double.NaN, T);
+        assertEquals(0, history.size());
+
+        history.record(SYMBOL, 100.0, T);
+        history.record("KRW-ETH", 100.0, T);
+        history.record("KRW-XRP", 100.0, T);
+        assertEquals(2, history.size());
+        assertTrue(Double.isNaN(history.change("KRW-XRP", 1, T + 1)));
+    }
+}
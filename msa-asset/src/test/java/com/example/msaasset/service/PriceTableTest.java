@@ -0,0 +1,52 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.feed.SymbolIds;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 최신 시세 테이블: 값 조회, 거래량 유지, 만료, 페이지 확장 (힙 / off-heap 공통)
+ */
+class PriceTableTest {
+
+    @Test
+    void heapTable() {
+        verify(new PriceTable(new SymbolIds(), false));
+    }
+
+    @Test
+    void offHeapTable() {
+        verify(new PriceTable(new SymbolIds(), true));
+    }
+
+    private static void verify(PriceTable table) {
+        assertNull(table.get("KRW-BTC"));
+        assertTrue(Double.isNaN(table.volume("KRW-BTC")));
+
+        table.update("KRW-BTC", 142_335_000.0, 0.0035, Double.NaN, 0);
+        PriceTable.Quote quote = table.get("KRW-BTC");
+        assertEquals(142_335_000.0, quote.price);
+        assertEquals(0.0035, quote.changeRate);
+        assertTrue(Double.isNaN(quote.volume));
+
+        // 거래량이 NaN인 틱은 이전 거래량 유지
+        table.update("KRW-BTC", 142_340_000.0, 0.0036, 1234.5, 0);
+        table.update("KRW-BTC", 142_345_000.0, 0.0037, Double.NaN, 0);
+        assertEquals(142_345_000.0, table.get("KRW-BTC").price);
+        assertEquals(1234.5, table.volume("KRW-BTC"));
+
+        // 만료된 값은 getFresh에서만 없는 것으로 봄
+        table.update(0, 71_200.0, 1.5, Double.NaN, 1_000L, 2_000L);
+        assertNotNull(table.get("KRW-BTC"));
+        assertNull(table.getFresh("KRW-BTC"));
+
+        // 첫 페이지를 넘는 종목
+        for (int i = 0; i < PriceTable.PAGE_SIZE + 10; i++) {
+            table.update("S" + i, i, 0.0, Double.NaN, 60_000L);
+        }
+        assertEquals(PriceTable.PAGE_SIZE + 9.0, table.getFresh("S" + (PriceTable.PAGE_SIZE + 9)).price);
+        assertEquals(PriceTable.PAGE_SIZE + 11, table.symbols().size());
+        assertEquals(1_000L, table.oldestUpdatedAt());
+    }
+}
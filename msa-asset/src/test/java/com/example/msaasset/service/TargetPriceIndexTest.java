@@ -0,0 +1,88 @@
+package com.example.msaasset.service;
+
+import com.example.msaasset.entity.TargetPriceCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 목표 가격 인덱스 매칭: 경계값(가격 == 목표), 같은 목표 가격 중복, 같은 사용자의 변경/삭제
+ */
+class TargetPriceIndexTest {
+
+    private static final String SYMBOL = "KRW-BTC";
+
+    @Test
+    void matchesAboveAndBelowAtThreshold() {
+        TargetPriceIndex index = new TargetPriceIndex();
+        index.put("a@x", SYMBOL, 100.0, TargetPriceCondition.ABOVE);
+        index.put("b@x", SYMBOL, 90.0, TargetPriceCondition.BELOW);
+
+        // ABOVE는 price >= 목표, BELOW는 price <= 목표
+        assertEquals(List.of("a@x"), match(index, 100.0));
+        assertEquals(List.of(), match(index, 99.99));
+        assertEquals(List.of("b@x"), match(index, 90.0));
+        assertEquals(List.of(), match(index, 90.01));
+        assertEquals(List.of("a@x"), match(index, 1_000.0));
+        assertEquals(List.of("b@x"), match(index, 0.5));
+    }
+
+    @Test
+    void matchesEveryDuplicateThreshold() {
+        TargetPriceIndex index = new TargetPriceIndex();
+        index.put("a@x", SYMBOL, 100.0, TargetPriceCondition.ABOVE);
+        index.put("b@x", SYMBOL, 100.0, TargetPriceCondition.ABOVE);
+        index.put("c@x", SYMBOL, 110.0, TargetPriceCondition.ABOVE);
+        index.put("d@x", SYMBOL, 80.0, TargetPriceCondition.BELOW);
+        index.put("e@x", SYMBOL, 80.0, TargetPriceCondition.BELOW);
+        index.put("f@x", SYMBOL, 70.0, TargetPriceCondition.BELOW);
+
+        assertEquals(List.of(), match(index, 99.0));
+        assertEquals(List.of("a@x", "b@x"), sorted(match(index, 100.0)));
+        assertEquals(List.of("a@x", "b@x", "c@x"), sorted(match(index, 110.0)));
+        assertEquals(List.of("d@x", "e@x"), sorted(match(index, 80.0)));
+        assertEquals(List.of("d@x", "e@x", "f@x"), sorted(match(index, 70.0)));
+        assertEquals(6, index.count(SYMBOL));
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletesSameUser() {
+        TargetPriceIndex index = new TargetPriceIndex();
+        index.put("a@x", SYMBOL, 100.0, TargetPriceCondition.ABOVE);
+        index.put("b@x", SYMBOL, 120.0, TargetPriceCondition.ABOVE);
+
+        // 같은 사용자+종목은 하나만 유지 (조건이 바뀌어도)
+        index.put("a@x", SYMBOL, 105.0, TargetPriceCondition.ABOVE);
+        assertEquals(2, index.count(SYMBOL));
+        assertEquals(List.of(), match(index, 104.0));
+        assertEquals(List.of("a@x"), match(index, 105.0));
+
+        index.put("a@x", SYMBOL, 95.0, TargetPriceCondition.BELOW);
+        assertEquals(2, index.count(SYMBOL));
+        assertEquals(List.of("a@x"), match(index, 95.0));
+        assertEquals(List.of("b@x"), match(index, 130.0));
+
+        index.remove("a@x", SYMBOL);
+        assertEquals(List.of(), match(index, 95.0));
+        assertEquals(1, index.count(SYMBOL));
+
+        index.remove("b@x", SYMBOL);
+        assertFalse(index.hasTargets(SYMBOL));
+        assertEquals(0, index.match(SYMBOL, 130.0, (user, target, condition) -> fail()));
+    }
+
+    private static List<String> match(TargetPriceIndex index, double price) {
+        List<String> users = new ArrayList<>();
+        int matched = index.match(SYMBOL, price, (user, target, condition) -> users.add(user));
+        assertEquals(users.size(), matched);
+        return users;
+    }
+
+    private static List<String> sorted(List<String> users) {
+        users.sort(null);
+        return users;
+    }
+}
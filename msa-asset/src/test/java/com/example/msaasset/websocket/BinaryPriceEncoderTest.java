@@ -0,0 +1,122 @@
+package com.example.msaasset.websocket;
+
+import com.example.msaasset.logging.HotPathLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 바이너리 가격 프레임: varint/zigzag 왕복 디코딩, 전송 실패 시 세션 종료 (차분 기준 어긋남 방지)
+ */
+class BinaryPriceEncoderTest {
+
+    @Test
+    void framesDecodeBackToPrices() {
+        BinaryPriceEncoder encoder = new BinaryPriceEncoder();
+        int btc = encoder.assignId("KRW-BTC");
+        int samsung = encoder.assignId("005930");
+        Decoder decoder = new Decoder();
+
+        // 첫 프레임은 0 기준, 이후는 직전 값 기준 차분 (하락/음수 변동률 포함)
+        double[][] frames = {
+                {142_335_000.0, 0.0035606, 71_200.0, 1.25},
+                {142_330_000.5, -0.0012, 71_200.0, 1.25},
+                {0.00012345, -0.5, 1_000_000.0, -29.9},
+        };
+        for (double[] values : frames) {
+            BinaryMessage frame = encoder.encode(List.of(
+                    new PriceUpdate("KRW-BTC", values[0], values[1]),
+                    new PriceUpdate("005930", values[2], values[3]),
+                    new PriceUpdate("NOT-SUBSCRIBED", 1.0, 0.0)));
+            assertEquals(2, decoder.decode(frame.getPayload()));
+            assertEquals(values[0], decoder.prices.get(btc), 1e-8);
+            assertEquals(values[1], decoder.rates.get(btc), 1e-6);
+            assertEquals(values[2], decoder.prices.get(samsung), 1e-8);
+            assertEquals(values[3], decoder.rates.get(samsung), 1e-6);
+        }
+
+        assertNull(encoder.encode(List.of(new PriceUpdate("NOT-SUBSCRIBED", 1.0, 0.0))));
+    }
+
+    @Test
+    void zigzagMapsSignedToUnsigned() {
+        assertEquals(0, BinaryPriceEncoder.zigzag(0));
+        assertEquals(1, BinaryPriceEncoder.zigzag(-1));
+        assertEquals(2, BinaryPriceEncoder.zigzag(1));
+        assertEquals(-1L, BinaryPriceEncoder.zigzag(Long.MIN_VALUE));
+        assertEquals(-2L, BinaryPriceEncoder.zigzag(Long.MAX_VALUE));
+    }
+
+    @Test
+    void binarySessionClosesWhenFrameSendFails() throws IOException {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.getAcceptedProtocol()).thenReturn(BinaryPriceEncoder.SUBPROTOCOL);
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new IOException("broken pipe")).when(session).sendMessage(any(WebSocketMessage.class));
+
+        SessionOutbox outbox = new SessionOutbox(session, Runnable::run, null, new ObjectMapper(), 16,
+                OverflowPolicy.DROP_OLDEST, new SimpleMeterRegistry(), new HotPathLog("broadcast", "updates", 0, 10_000));
+        outbox.assignSymbolId("KRW-BTC");
+        outbox.offerUpdate(new PriceUpdate("KRW-BTC", 142_335_000.0, 0.0035));
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        // 닫힌 뒤의 업데이트는 보내지 않음 (어긋난 차분이 나가지 않도록)
+        outbox.offerUpdate(new PriceUpdate("KRW-BTC", 142_340_000.0, 0.0036));
+        verify(session, times(1)).sendMessage(any(WebSocketMessage.class));
+    }
+
+    // 클라이언트 쪽 디코더 (프로토콜 문서 그대로)
+    private static final class Decoder {
+        final Map<Integer, Double> prices = new HashMap<>();
+        final Map<Integer, Double> rates = new HashMap<>();
+        private final Map<Integer, Long> lastPrices = new HashMap<>();
+        private final Map<Integer, Long> lastRates = new HashMap<>();
+
+        int decode(ByteBuffer frame) {
+            assertEquals(BinaryPriceEncoder.FRAME_PRICE_BATCH, frame.get());
+            long frameTime = readVarLong(frame);
+            int count = (int) readVarLong(frame);
+            for (int i = 0; i < count; i++) {
+                int id = (int) readVarLong(frame);
+                long price = lastPrices.getOrDefault(id, 0L) + unzigzag(readVarLong(frame));
+                long rate = lastRates.getOrDefault(id, 0L) + unzigzag(readVarLong(frame));
+                long timestamp = frameTime + unzigzag(readVarLong(frame));
+                assertTrue(Math.abs(timestamp - frameTime) < 60_000);
+                lastPrices.put(id, price);
+                lastRates.put(id, rate);
+                prices.put(id, price / 1e8);
+                rates.put(id, rate / 1e6);
+            }
+            assertFalse(frame.hasRemaining());
+            return count;
+        }
+
+        private static long readVarLong(ByteBuffer buffer) {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.msasbalert.entity.PriceAlertHistory;
 import org.example.msasbalert.repository.PriceAlertHistoryRepository;
+import org.example.msasbalert.service.AlertLatencyMetrics;
 import org.example.msasbalert.websocket.NotificationWebSocketHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -21,9 +22,11 @@ public class NotificationKafkaConsumer {
     private final PriceAlertHistoryRepository priceAlertHistoryRepository;
     private final ObjectMapper objectMapper;
     private final NotificationWebSocketHandler notificationWebSocketHandler;
+    private final AlertLatencyMetrics latencyMetrics;
 
     @KafkaListener(topics = "target-price-alert", groupId = "notification-group")
     public void consumeTargetPriceAlert(String message) {
+        long receiveTimestamp = System.currentTimeMillis();
         try {
             JsonNode eventData = objectMapper.readTree(message);
             String userEmail = eventData.get("userEmail").asText();
@@ -38,8 +41,14 @@ public class NotificationKafkaConsumer {
             //  목표 가격 도달 내역을 DB에 저장
             PriceAlertHistory alertHistory = new PriceAlertHistory(userEmail, symbol, targetPrice, currentPrice, condition, triggeredAt);
             priceAlertHistoryRepository.save(alertHistory);
+            long saveTimestamp = System.currentTimeMillis();
             log.info("✅ 목표 가격 도달 내역 저장 완료: {}", alertHistory);
 
+            // msa-asset이 찍은 구간별 시각 (주기 점검(StockService) 경로 이벤트에는 없음)
+            JsonNode upstreamTrace = eventData.path("trace");
+            latencyMetrics.record(AlertLatencyMetrics.Stage.PRODUCE_TO_RECEIVE, upstreamTrace.path("produceTs").asLong(0), receiveTimestamp);
+            latencyMetrics.record(AlertLatencyMetrics.Stage.RECEIVE_TO_SAVE, receiveTimestamp, saveTimestamp);
+
             //  WebSocket으로 JSON 형식의 사용자 알림 전송
             ObjectMapper objectMapper = new ObjectMapper();
             ObjectNode jsonMessage = objectMapper.createObjectNode();
@@ -50,8 +59,23 @@ public class NotificationKafkaConsumer {
             jsonMessage.put("condition", condition);
             jsonMessage.put("timestamp", triggeredAt.getTime());
 
+            // 구간별 시각 + 이 서비스의 수신/저장/전송 시각 (브라우저가 마지막 구간 계산용으로 받음)
+            ObjectNode trace = jsonMessage.putObject("trace");
+            if (upstreamTrace.isObject()) {
+                trace.setAll((ObjectNode) upstreamTrace);
+            }
+            long sendTimestamp = System.currentTimeMillis();
+            trace.put("receiveTs", receiveTimestamp)
+                    .put("saveTs", saveTimestamp)
+                    .put("sendTs", sendTimestamp);
+
             String jsonString = objectMapper.writeValueAsString(jsonMessage);
-            notificationWebSocketHandler.sendMessage(userEmail, jsonString);
+            if (notificationWebSocketHandler.sendMessage(userEmail, jsonString)) {
+                long sentTimestamp = System.currentTimeMillis();
+                latencyMetrics.record(AlertLatencyMetrics.Stage.SAVE_TO_SEND, saveTimestamp, sentTimestamp);
+                latencyMetrics.record(AlertLatencyMetrics.Stage.INGEST_TO_SEND, upstreamTrace.path("ingestTs").asLong(0), sentTimestamp);
+                latencyMetrics.record(AlertLatencyMetrics.Stage.EXCHANGE_TO_SEND, upstreamTrace.path("exchangeTs").asLong(0), sentTimestamp);
+            }
 
             log.info("📡 WebSocket 알림 JSON 전송: {}", jsonString);  // 확인용 로그
 
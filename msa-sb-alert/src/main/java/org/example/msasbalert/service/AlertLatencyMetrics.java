@@ -0,0 +1,61 @@
+package org.example.msasbalert.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목표가 알림 구간별 지연 히스토그램 (alert.latency, stage 태그)
+ * - msa-asset이 이벤트 trace에 찍은 시각(거래소/수신/매칭/Kafka 전송)에 이어 수신/저장/WebSocket 전송 구간 기록
+ * - 서버 간 구간은 벽시계 기준이라 시계 차이로 음수가 나오면 버림
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertLatencyMetrics {
+
+    public enum Stage {
+        PRODUCE_TO_RECEIVE("produce_to_receive"), // msa-asset Kafka 전송 -> 컨슈머 수신
+        RECEIVE_TO_SAVE("receive_to_save"),       // 수신 -> 알림 내역 DB 저장
+        SAVE_TO_SEND("save_to_send"),             // 저장 -> WebSocket 전송 완료
+        INGEST_TO_SEND("ingest_to_send"),         // msa-asset 틱 수신 -> WebSocket 전송 완료 (전 구간)
+        EXCHANGE_TO_SEND("exchange_to_send");     // 거래소 체결 -> WebSocket 전송 완료 (체결 시각이 있는 틱만)
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    @PostConstruct
+    void register() {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("alert.latency")
+                    .description("틱 수신부터 사용자 알림까지 구간별 지연")
+                    .tag("stage", stage.tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * from, to: epoch ms (0이면 해당 시각 없음 -> 기록 안 함)
+     */
+    public void record(Stage stage, long from, long to) {
+        if (from <= 0 || to <= 0 || to < from) return;
+        timers.get(stage).record(to - from, TimeUnit.MILLISECONDS);
+    }
+}
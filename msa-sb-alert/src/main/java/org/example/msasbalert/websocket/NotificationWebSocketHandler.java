@@ -31,8 +31,8 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         log.info("❌ WebSocket 연결 종료");
     }
 
-    // 특정 사용자에게 알림 전송
-    public void sendMessage(String userEmail, String message) {
+    // 특정 사용자에게 알림 전송, 전송했으면 true
+    public boolean sendMessage(String userEmail, String message) {
         if (sessions.containsKey(userEmail)) {
             try {
                 WebSocketSession session = sessions.get(userEmail);
@@ -40,12 +40,14 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
                     session.sendMessage(new TextMessage(message));
                     log.info("📡 WebSocket 알림 전송 완료: {}", message);
                 }
+                return true;
             } catch (IOException e) {
                 log.error("❌ WebSocket 메시지 전송 실패", e);
             }
         } else {
             log.warn("⚠️ WebSocket 세션 없음: {}", userEmail);
         }
+        return false;
     }
 
 }